@@ -0,0 +1,94 @@
+package com.bookmanagement.bitmap;
+
+import com.bookmanagement.event.BookChangedEvent;
+import com.bookmanagement.event.BooksImportedEvent;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.specification.BookFilter;
+import com.bookmanagement.utils.BookChunkLoader;
+import com.bookmanagement.utils.BookIndexSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Secondary index from author and category ids to book ids, answering membership filters
+ * by bitmap intersection instead of joining book_categories.
+ * Until the first rebuild completes it answers nothing and listings fall back to SQL.
+ */
+@Component
+@Slf4j
+public class BookBitmapIndex extends BookIndexSupport {
+
+    private final BookRepository bookRepository;
+    private final BookChunkLoader bookChunkLoader;
+    private final int maxInlinedIds;
+
+    private volatile MembershipBitmaps bitmaps = new MembershipBitmaps();
+    private volatile boolean ready;
+
+    public BookBitmapIndex(BookRepository bookRepository,
+                           BookChunkLoader bookChunkLoader,
+                           @Value("${catalogue.bitmap.max-inlined-ids:2000}") int maxInlinedIds) {
+        this.bookRepository = bookRepository;
+        this.bookChunkLoader = bookChunkLoader;
+        this.maxInlinedIds = maxInlinedIds;
+    }
+
+    /**
+     * Ids of the books matching the author and category part of the filter,
+     * or empty when the filter has none or the index is not built yet
+     */
+    public Optional<Roaring64Bitmap> resolve(BookFilter filter) {
+        if (!ready || !filter.hasMembershipFilter()) {
+            return Optional.empty();
+        }
+        return Optional.of(bitmaps.resolve(filter.authorIds(), filter.categoryIds(), filter.categoryMatch()));
+    }
+
+    /**
+     * Largest id set worth inlining into a SQL IN list; larger sets are left to the database joins
+     */
+    public int maxInlinedIds() {
+        return maxInlinedIds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        rebuildWith(() -> {
+            MembershipBitmaps rebuilt = new MembershipBitmaps();
+            bookChunkLoader.forEachChunk(BookMembership::of, rebuilt::upsertAll);
+            bitmaps = rebuilt;
+            ready = true;
+        });
+        log.info("Bitmap index rebuilt with {} books ({} bytes) in {} ms",
+                bitmaps.size(), bitmaps.sizeInBytes(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        // ratings do not change authors or categories
+        if (event.type() != BookChangedEvent.ChangeType.RATING_CHANGED) {
+            bookChanged(event.bookId());
+        }
+    }
+
+    @EventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        rebuild();
+    }
+
+    @Override
+    protected void refresh(Long bookId) {
+        bookRepository.findByIdWithDetails(bookId).ifPresentOrElse(
+                book -> bitmaps.upsert(BookMembership.of(book)),
+                () -> bitmaps.remove(bookId)
+        );
+    }
+}
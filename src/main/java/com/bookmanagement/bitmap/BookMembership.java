@@ -0,0 +1,22 @@
+package com.bookmanagement.bitmap;
+
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.entity.Category;
+
+/**
+ * The author and categories of one book, as held by the bitmap index
+ */
+public record BookMembership(
+        long bookId,
+        long authorId,
+        long[] categoryIds
+) {
+
+    public static BookMembership of(Book book) {
+        return new BookMembership(
+                book.getId(),
+                book.getAuthor().getId(),
+                book.getCategories().stream().mapToLong(Category::getId).toArray()
+        );
+    }
+}
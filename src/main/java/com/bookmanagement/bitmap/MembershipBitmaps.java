@@ -0,0 +1,237 @@
+package com.bookmanagement.bitmap;
+
+import com.bookmanagement.enums.MatchMode;
+import org.roaringbitmap.longlong.PeekableLongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed bitmaps of book ids per author and per category.
+ * Reads share a lock and return bitmaps owned by the caller; writes are incremental and exclusive.
+ */
+public class MembershipBitmaps {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Roaring64Bitmap> byAuthor = new HashMap<>();
+    private final Map<Long, Roaring64Bitmap> byCategory = new HashMap<>();
+    private final Map<Long, BookMembership> memberships = new HashMap<>();
+
+    /**
+     * Adds the book, replacing any previous author and categories of it
+     */
+    public void upsert(BookMembership membership) {
+        lock.writeLock().lock();
+        try {
+            removeMembership(membership.bookId());
+            addMembership(membership);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsertAll(List<BookMembership> batch) {
+        lock.writeLock().lock();
+        try {
+            for (BookMembership membership : batch) {
+                removeMembership(membership.bookId());
+                addMembership(membership);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeMembership(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return memberships.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the books by any of the authors (when given) and in any or all of the categories (when given)
+     */
+    public Roaring64Bitmap resolve(Collection<Long> authorIds, Collection<Long> categoryIds, MatchMode categoryMatch) {
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap result = null;
+            if (!authorIds.isEmpty()) {
+                result = union(byAuthor, authorIds);
+            }
+            if (!categoryIds.isEmpty()) {
+                Roaring64Bitmap categories = categoryMatch == MatchMode.ALL
+                        ? intersection(byCategory, categoryIds)
+                        : union(byCategory, categoryIds);
+                result = result == null ? categories : Roaring64Bitmap.and(result, categories);
+            }
+            return result != null ? result : new Roaring64Bitmap();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Books per author among {@code base} (all books when null), for the authors that have any
+     */
+    public Map<Long, Long> countByAuthor(Roaring64Bitmap base) {
+        lock.readLock().lock();
+        try {
+            return countWithin(byAuthor, base);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Books per category among {@code base} (all books when null), for the categories that have any
+     */
+    public Map<Long, Long> countByCategory(Roaring64Bitmap base) {
+        lock.readLock().lock();
+        try {
+            return countWithin(byCategory, base);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap held by the bitmaps themselves
+     */
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Roaring64Bitmap bitmap : byAuthor.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            for (Roaring64Bitmap bitmap : byCategory.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads one page of ids in id order, optionally starting after a keyset position
+     */
+    public static List<Long> page(Roaring64Bitmap ids, boolean ascending, Long afterId, long offset, int limit) {
+        List<Long> page = new ArrayList<>(limit);
+        long cardinality = ids.getLongCardinality();
+        if (limit <= 0 || cardinality == 0) {
+            return page;
+        }
+
+        PeekableLongIterator iterator;
+        long skip = 0;
+        if (afterId != null) {
+            if (!ascending && afterId <= 1) {
+                return page;
+            }
+            iterator = ascending ? ids.getLongIteratorFrom(afterId + 1) : ids.getReverseLongIteratorFrom(afterId - 1);
+            skip = offset;
+        } else if (offset >= cardinality) {
+            return page;
+        } else {
+            // select() jumps straight to the offset instead of walking the bitmap
+            iterator = ascending
+                    ? ids.getLongIteratorFrom(ids.select(offset))
+                    : ids.getReverseLongIteratorFrom(ids.select(cardinality - 1 - offset));
+        }
+
+        for (; skip > 0 && iterator.hasNext(); skip--) {
+            iterator.next();
+        }
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    private void addMembership(BookMembership membership) {
+        memberships.put(membership.bookId(), membership);
+        byAuthor.computeIfAbsent(membership.authorId(), id -> new Roaring64Bitmap()).addLong(membership.bookId());
+        for (long categoryId : membership.categoryIds()) {
+            byCategory.computeIfAbsent(categoryId, id -> new Roaring64Bitmap()).addLong(membership.bookId());
+        }
+    }
+
+    private void removeMembership(long bookId) {
+        BookMembership previous = memberships.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        removeFrom(byAuthor, previous.authorId(), bookId);
+        for (long categoryId : previous.categoryIds()) {
+            removeFrom(byCategory, categoryId, bookId);
+        }
+    }
+
+    private static void removeFrom(Map<Long, Roaring64Bitmap> bitmaps, long key, long bookId) {
+        Roaring64Bitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.removeLong(bookId);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Cardinality of each bitmap intersected with {@code base}; sorted by key, zero counts left out
+     */
+    public static <K extends Comparable<K>> Map<K, Long> countWithin(Map<K, Roaring64Bitmap> bitmaps,
+                                                                    Roaring64Bitmap base) {
+        Map<K, Long> counts = new TreeMap<>();
+        bitmaps.forEach((key, bitmap) -> {
+            long count = base == null ? bitmap.getLongCardinality() : Roaring64Bitmap.andCardinality(base, bitmap);
+            if (count > 0) {
+                counts.put(key, count);
+            }
+        });
+        return counts;
+    }
+
+    private static Roaring64Bitmap union(Map<Long, Roaring64Bitmap> bitmaps, Collection<Long> keys) {
+        Roaring64Bitmap result = new Roaring64Bitmap();
+        for (Long key : keys) {
+            Roaring64Bitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private static Roaring64Bitmap intersection(Map<Long, Roaring64Bitmap> bitmaps, Collection<Long> keys) {
+        Roaring64Bitmap result = null;
+        for (Long key : keys) {
+            Roaring64Bitmap bitmap = bitmaps.get(key);
+            if (bitmap == null) {
+                return new Roaring64Bitmap();
+            }
+            result = result == null ? bitmap.clone() : Roaring64Bitmap.and(result, bitmap);
+        }
+        return result != null ? result : new Roaring64Bitmap();
+    }
+}
@@ -0,0 +1,81 @@
+package com.bookmanagement.cache;
+
+import com.bookmanagement.event.BookChangedEvent;
+import com.bookmanagement.event.BooksImportedEvent;
+import com.bookmanagement.specification.BookFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches book listing totals per normalized filter set.
+ * A book write does not drop entries, it only makes them stale: stale totals can still be
+ * served as estimates, while exact totals are recounted.
+ */
+@Component
+@Slf4j
+public class BookCountCache {
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<BookFilter, Entry> entries;
+
+    public BookCountCache(@Value("${catalogue.count-cache.max-entries:1000}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BookFilter, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public record CachedCount(long total, boolean fresh) {
+    }
+
+    private record Entry(long total, long generation) {
+    }
+
+    public synchronized Optional<CachedCount> get(BookFilter filter) {
+        Entry entry = entries.get(filter);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new CachedCount(entry.total(), entry.generation() == generation.get()));
+    }
+
+    /**
+     * Current generation, to be read before counting and passed back to {@link #put}
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a total counted at the given generation; a write that happened meanwhile leaves it stale
+     */
+    public synchronized void put(BookFilter filter, long total, long countedAt) {
+        entries.put(filter, new Entry(total, countedAt));
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        log.debug("Book {} {}: marking cached totals stale", event.bookId(), event.type());
+        invalidate();
+    }
+
+    @EventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        log.debug("Import {} added {} books: marking cached totals stale", event.jobId(), event.imported());
+        invalidate();
+    }
+}
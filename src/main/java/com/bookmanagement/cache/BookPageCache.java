@@ -0,0 +1,244 @@
+package com.bookmanagement.cache;
+
+import com.bookmanagement.dto.BookPaginationDTO;
+import com.bookmanagement.event.BookChangedEvent;
+import com.bookmanagement.event.BooksImportedEvent;
+import com.bookmanagement.facet.FacetedBook;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.specification.BookFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Caches whole offset listing pages per normalized filter set and page request.
+ * The cache is bounded by the number of cached rows and evicts least recently used pages.
+ * A new book only evicts the pages whose filters could include it, and a rating change only the pages that hold
+ * the book or that filter by rating; other writes cannot tell which filters the book matched before,
+ * so they clear everything.
+ */
+@Component
+@Slf4j
+public class BookPageCache {
+
+    private final BookRepository bookRepository;
+    private final long maxWeight;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long writes;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long evictions;
+
+    public BookPageCache(BookRepository bookRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${catalogue.page-cache.max-weight:10000}") long maxWeight) {
+        this.bookRepository = bookRepository;
+        this.maxWeight = maxWeight;
+        new Metrics(this).bindTo(meterRegistry);
+    }
+
+    private record Key(BookFilter filter, Pageable pageable) {
+    }
+
+    private record Entry(Page<BookPaginationDTO> page, long[] bookIds) {
+
+        long weight() {
+            // one unit for the page itself, so empty pages still count
+            return bookIds.length + 1L;
+        }
+
+        boolean contains(long bookId) {
+            for (long id : bookIds) {
+                if (id == bookId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public synchronized Optional<Page<BookPaginationDTO>> get(BookFilter filter, Pageable pageable) {
+        Entry entry = entries.get(new Key(filter, pageable));
+        if (entry == null) {
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(entry.page());
+    }
+
+    /**
+     * Write counter, to be read before loading a page and passed back to {@link #put}
+     */
+    public synchronized long writes() {
+        return writes;
+    }
+
+    /**
+     * Stores a page loaded when the write counter was at the given value; a write that happened meanwhile drops it
+     */
+    public synchronized void put(BookFilter filter, Pageable pageable, Page<BookPaginationDTO> page, long loadedAt) {
+        if (loadedAt != writes || maxWeight <= 0) {
+            return;
+        }
+        Entry entry = new Entry(page, page.getContent().stream().mapToLong(BookPaginationDTO::getId).toArray());
+        if (entry.weight() > maxWeight) {
+            return;
+        }
+
+        Entry previous = entries.put(new Key(filter, pageable), entry);
+        if (previous != null) {
+            weight -= previous.weight();
+        }
+        weight += entry.weight();
+        puts++;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= eldest.next().weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void invalidate() {
+        writes++;
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public record Stats(long hits, long misses, long puts, long evictions) {
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, puts, evictions);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        Optional<FacetedBook> book = switch (event.type()) {
+            case CREATED, RATING_CHANGED -> bookRepository.findByIdWithDetails(event.bookId()).map(FacetedBook::of);
+            case UPDATED, DELETED -> Optional.empty();
+        };
+        if (book.isEmpty()) {
+            log.debug("Book {} {}: clearing cached pages", event.bookId(), event.type());
+            invalidate();
+            return;
+        }
+
+        int evicted = evictIf(event.bookId(), couldInclude(book.get(), event.type()));
+        log.debug("Book {} {}: evicted {} cached pages", event.bookId(), event.type(), evicted);
+    }
+
+    @EventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        log.debug("Import {} added {} books: clearing cached pages", event.jobId(), event.imported());
+        invalidate();
+    }
+
+    /**
+     * A new book is in a listing only if it matches the whole filter.
+     * A rating change can only change a listing it is not already on if it moves the book into a rating range;
+     * pages holding the book are evicted regardless. Listings cannot be sorted by rating.
+     */
+    private static Predicate<Key> couldInclude(FacetedBook book, BookChangedEvent.ChangeType type) {
+        Predicate<BookFilter> membership = filter -> book.matchesAuthor(filter)
+                && book.matchesCategory(filter)
+                && book.matchesPublished(filter);
+        if (type == BookChangedEvent.ChangeType.CREATED) {
+            return key -> membership.and(book::matchesRating).test(key.filter());
+        }
+        return key -> filtersByRating(key.filter()) && membership.test(key.filter());
+    }
+
+    private static boolean filtersByRating(BookFilter filter) {
+        return filter.ratingMin() != null || filter.ratingMax() != null;
+    }
+
+    private synchronized int evictIf(long bookId, Predicate<Key> couldInclude) {
+        writes++;
+        int evicted = 0;
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            if (entry.getValue().contains(bookId) || couldInclude.test(entry.getKey())) {
+                weight -= entry.getValue().weight();
+                iterator.remove();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Publishes the standard cache meters (cache.gets, cache.puts, cache.evictions, cache.size) plus the cached row count
+     */
+    private static final class Metrics extends CacheMeterBinder<BookPageCache> {
+
+        Metrics(BookPageCache cache) {
+            super(cache, "bookPages", Tags.empty());
+        }
+
+        @Override
+        protected Long size() {
+            BookPageCache cache = getCache();
+            return cache != null ? (long) cache.size() : null;
+        }
+
+        @Override
+        protected long hitCount() {
+            BookPageCache cache = getCache();
+            return cache != null ? cache.stats().hits() : 0;
+        }
+
+        @Override
+        protected Long missCount() {
+            BookPageCache cache = getCache();
+            return cache != null ? cache.stats().misses() : null;
+        }
+
+        @Override
+        protected Long evictionCount() {
+            BookPageCache cache = getCache();
+            return cache != null ? cache.stats().evictions() : null;
+        }
+
+        @Override
+        protected long putCount() {
+            BookPageCache cache = getCache();
+            return cache != null ? cache.stats().puts() : 0;
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            registry.gauge("cache.weight", getTagsWithCacheName(), this, metrics -> {
+                BookPageCache cache = metrics.getCache();
+                return cache != null ? cache.weight() : 0;
+            });
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.bookmanagement.columnar;
+
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.entity.Category;
+
+import java.time.LocalDate;
+
+/**
+ * The listing fields of one book, as loaded into the columnar catalogue
+ */
+public record CatalogueRow(
+        long bookId,
+        double rating,
+        LocalDate publishedDate,
+        long authorId,
+        long[] categoryIds
+) {
+
+    public static CatalogueRow of(Book book) {
+        return new CatalogueRow(
+                book.getId(),
+                book.getRating(),
+                book.getPublishedDate(),
+                book.getAuthor().getId(),
+                book.getCategories().stream().mapToLong(Category::getId).toArray()
+        );
+    }
+}
@@ -0,0 +1,117 @@
+package com.bookmanagement.columnar;
+
+import com.bookmanagement.columnar.ColumnarCatalogue.ScanResult;
+import com.bookmanagement.event.BookChangedEvent;
+import com.bookmanagement.event.BooksImportedEvent;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.specification.BookFilter;
+import com.bookmanagement.utils.BookChunkLoader;
+import com.bookmanagement.utils.BookCursor;
+import com.bookmanagement.utils.BookIndexSupport;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Optional listing engine that filters and sorts books over an in-memory columnar copy
+ * of the catalogue instead of querying the database; only the resulting page is loaded.
+ * Disabled unless catalogue.columnar.enabled is set, and until its first rebuild completes.
+ * Publishes the heap held by the columns as the catalogue.columnar.footprint gauge.
+ */
+@Component
+@Slf4j
+public class ColumnarBookEngine extends BookIndexSupport {
+
+    private final BookRepository bookRepository;
+    private final BookChunkLoader bookChunkLoader;
+    private final boolean enabled;
+    private final int parallelThreshold;
+
+    private volatile ColumnarCatalogue catalogue;
+
+    public ColumnarBookEngine(BookRepository bookRepository,
+                              BookChunkLoader bookChunkLoader,
+                              MeterRegistry meterRegistry,
+                              @Value("${catalogue.columnar.enabled:false}") boolean enabled,
+                              @Value("${catalogue.columnar.parallel-threshold:100000}") int parallelThreshold) {
+        this.bookRepository = bookRepository;
+        this.bookChunkLoader = bookChunkLoader;
+        this.enabled = enabled;
+        this.parallelThreshold = parallelThreshold;
+        Gauge.builder("catalogue.columnar.footprint", this, ColumnarBookEngine::footprintBytes)
+                .baseUnit("bytes")
+                .description("Heap held by the columnar catalogue")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Scans for one page of ids and the exact total, or empty when the engine is off,
+     * not built yet, or cannot sort by the requested property
+     */
+    public Optional<ScanResult> scan(BookFilter filter, Sort sort, BookCursor cursor, long offset, int limit) {
+        ColumnarCatalogue current = catalogue;
+        Sort.Order order = sort.iterator().next();
+        if (current == null || !ColumnarCatalogue.SORTABLE.contains(order.getProperty())) {
+            return Optional.empty();
+        }
+        return Optional.of(current.scan(filter, order.getProperty(), order.isAscending(), cursor, offset, limit));
+    }
+
+    /**
+     * Heap held by the columns, or 0 when the engine is off
+     */
+    public long footprintBytes() {
+        ColumnarCatalogue current = catalogue;
+        return current != null ? current.footprintBytes() : 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        rebuildWith(() -> {
+            List<CatalogueRow> rows = Collections.synchronizedList(new ArrayList<>());
+            bookChunkLoader.forEachChunk(CatalogueRow::of, rows::addAll);
+            catalogue = ColumnarCatalogue.of(rows, parallelThreshold);
+        });
+        log.info("Columnar catalogue rebuilt with {} books ({} KiB) in {} ms",
+                catalogue.size(), catalogue.footprintBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (enabled) {
+            bookChanged(event.bookId());
+        }
+    }
+
+    @EventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        rebuild();
+    }
+
+    @Override
+    protected void refresh(Long bookId) {
+        ColumnarCatalogue current = catalogue;
+        if (current == null) {
+            return;
+        }
+        bookRepository.findByIdWithDetails(bookId).ifPresentOrElse(
+                book -> current.upsert(CatalogueRow.of(book)),
+                () -> current.remove(bookId)
+        );
+    }
+}
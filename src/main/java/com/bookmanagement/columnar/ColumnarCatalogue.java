@@ -0,0 +1,503 @@
+package com.bookmanagement.columnar;
+
+import com.bookmanagement.enums.MatchMode;
+import com.bookmanagement.specification.BookFilter;
+import com.bookmanagement.utils.BookCursor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * The listing fields of every book as primitive column arrays, one slot per book.
+ * Slots are kept in id order, so the slot number doubles as the id tie-breaker when sorting.
+ * Deleted books leave a dead slot behind until enough of them pile up to compact.
+ * Ratings are held as floats, so a rating within float precision of a bound may be
+ * classified differently than by the database.
+ * Reads share a lock; writes are incremental and exclusive.
+ */
+public class ColumnarCatalogue {
+
+    /**
+     * Sort properties that have a column; other orders are left to the database
+     */
+    public static final List<String> SORTABLE = List.of("id", "publishedDate");
+
+    static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int SCAN_CHUNK = 16_384;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    public record ScanResult(List<Long> ids, long total) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int parallelThreshold;
+
+    private int size;
+    private int dead;
+    private long[] ids;
+    private float[] ratings;
+    private int[] publishedDays;
+    private int[] authorOrdinals;
+    private int[] categoryStarts;
+    private int[] categoryCounts;
+    private boolean[] alive;
+
+    // category ordinals of every slot, back to back; updates append and leave garbage until compaction
+    private int[] categoryPool;
+    private int poolSize;
+    private int poolGarbage;
+
+    private final Map<Long, Integer> authorOrdinalsById = new HashMap<>();
+    private final Map<Long, Integer> categoryOrdinalsById = new HashMap<>();
+
+    public ColumnarCatalogue(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+        allocate(INITIAL_CAPACITY, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Builds a catalogue from rows in any order
+     */
+    public static ColumnarCatalogue of(List<CatalogueRow> rows, int parallelThreshold) {
+        ColumnarCatalogue catalogue = new ColumnarCatalogue(parallelThreshold);
+        List<CatalogueRow> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingLong(CatalogueRow::bookId));
+
+        int categories = sorted.stream().mapToInt(row -> row.categoryIds().length).sum();
+        catalogue.allocate(Math.max(sorted.size(), INITIAL_CAPACITY), Math.max(categories, INITIAL_CAPACITY));
+        for (CatalogueRow row : sorted) {
+            catalogue.write(catalogue.size++, row);
+        }
+        return catalogue;
+    }
+
+    public void upsert(CatalogueRow row) {
+        lock.writeLock().lock();
+        try {
+            int position = Arrays.binarySearch(ids, 0, size, row.bookId());
+            if (position >= 0) {
+                if (!alive[position]) {
+                    dead--;
+                }
+                poolGarbage += categoryCounts[position];
+                write(position, row);
+            } else {
+                insertAt(-position - 1, row);
+            }
+            compactIfWasteful();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            int position = Arrays.binarySearch(ids, 0, size, bookId);
+            if (position >= 0 && alive[position]) {
+                alive[position] = false;
+                dead++;
+                poolGarbage += categoryCounts[position];
+                compactIfWasteful();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size - dead;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Heap held by the column arrays and ordinal maps, including spare capacity
+     */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            long columns = (long) ids.length * (Long.BYTES + Float.BYTES + 4 * Integer.BYTES + 1);
+            long pool = (long) categoryPool.length * Integer.BYTES;
+            // a HashMap entry with boxed key and value is roughly 64 bytes
+            long ordinals = 64L * (authorOrdinalsById.size() + categoryOrdinalsById.size());
+            return columns + pool + ordinals;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Filters the whole catalogue and returns one page of ids with the total number of matches.
+     * The total ignores the cursor, like the listing's own count.
+     * Only the first {@code offset + limit} sort keys of each chunk are kept, so a page costs one pass over
+     * the columns plus a sort of a few keys per chunk, however many books match.
+     */
+    public ScanResult scan(BookFilter filter, String property, boolean ascending, BookCursor cursor, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Predicate predicate = compile(filter);
+            if (predicate == null) {
+                return new ScanResult(List.of(), 0);
+            }
+            boolean byDate = "publishedDate".equals(property);
+            long threshold = cursor != null ? threshold(cursor, byDate, ascending) : Long.MIN_VALUE;
+            int wanted = (int) Math.min(offset + limit, Integer.MAX_VALUE);
+
+            int chunks = (size + SCAN_CHUNK - 1) / SCAN_CHUNK;
+            IntStream ranges = IntStream.range(0, chunks);
+            if (size >= parallelThreshold) {
+                ranges = ranges.parallel();
+            }
+            long[][] partials = ranges
+                    .mapToObj(chunk -> {
+                        int from = chunk * SCAN_CHUNK;
+                        int to = Math.min(size, from + SCAN_CHUNK);
+                        return byDate
+                                ? scanByDate(predicate, from, to, ascending, threshold, wanted)
+                                : scanById(predicate, from, to, ascending, threshold, wanted);
+                    })
+                    .toArray(long[][]::new);
+
+            long total = 0;
+            int selected = 0;
+            for (long[] partial : partials) {
+                total += partial[0];
+                selected += partial.length - 1;
+            }
+            // id keys come out of each chunk in order, and the chunks follow each other in the walk direction
+            long[] keys = new long[selected];
+            int at = 0;
+            for (int i = 0; i < partials.length; i++) {
+                long[] partial = partials[ascending || byDate ? i : partials.length - 1 - i];
+                System.arraycopy(partial, 1, keys, at, partial.length - 1);
+                at += partial.length - 1;
+            }
+            if (byDate) {
+                Arrays.sort(keys);
+            }
+
+            List<Long> page = new ArrayList<>(limit);
+            for (long i = offset; i < keys.length && page.size() < limit; i++) {
+                page.add(ids[slotOf(keys[(int) i], ascending)]);
+            }
+            return new ScanResult(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scans one slot range in id order, walking the slots in the requested direction so the first
+     * {@code wanted} matches at or after the cursor are the ones kept.
+     * Element 0 of the result is the number of matches, the rest are the kept sort keys in order.
+     */
+    private long[] scanById(Predicate predicate, int from, int to, boolean ascending, long threshold, int wanted) {
+        long[] keys = new long[Math.min(wanted, to - from) + 1];
+        int selected = 0;
+        long matches = 0;
+        for (int i = from; i < to; i++) {
+            int slot = ascending ? i : to - 1 - (i - from);
+            if (matchesFilter(slot, predicate)) {
+                matches++;
+                if (selected < keys.length - 1) {
+                    long key = sortKey(slot, false, ascending);
+                    if (key >= threshold) {
+                        keys[++selected] = key;
+                    }
+                }
+            }
+        }
+        keys[0] = matches;
+        return Arrays.copyOf(keys, selected + 1);
+    }
+
+    /**
+     * Scans one slot range by date, keeping the {@code wanted} smallest sort keys at or after the cursor
+     * in a bounded max-heap. Element 0 of the result is the number of matches, the rest are the kept keys.
+     */
+    private long[] scanByDate(Predicate predicate, int from, int to, boolean ascending, long threshold, int wanted) {
+        long[] heap = new long[Math.min(wanted, to - from) + 1];
+        int capacity = heap.length - 1;
+        int selected = 0;
+        long matches = 0;
+        for (int slot = from; slot < to; slot++) {
+            if (matchesFilter(slot, predicate)) {
+                matches++;
+                long key = sortKey(slot, true, ascending);
+                if (key < threshold || capacity == 0) {
+                    continue;
+                }
+                if (selected < capacity) {
+                    siftUp(heap, ++selected, key);
+                } else if (key < heap[1]) {
+                    siftDown(heap, selected, key);
+                }
+            }
+        }
+        heap[0] = matches;
+        return Arrays.copyOf(heap, selected + 1);
+    }
+
+    /**
+     * Adds a key at the given 1-based position of a max-heap and moves it up into place
+     */
+    private static void siftUp(long[] heap, int position, long key) {
+        while (position > 1 && heap[position >> 1] < key) {
+            heap[position] = heap[position >> 1];
+            position >>= 1;
+        }
+        heap[position] = key;
+    }
+
+    /**
+     * Replaces the largest key of a max-heap of the given size and moves the new key down into place
+     */
+    private static void siftDown(long[] heap, int size, long key) {
+        int position = 1;
+        while (true) {
+            int child = position << 1;
+            if (child > size) {
+                break;
+            }
+            if (child < size && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (heap[child] <= key) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = key;
+    }
+
+    private boolean matchesFilter(int slot, Predicate predicate) {
+        // non-short-circuit operators keep the hot loop free of unpredictable branches
+        boolean match = alive[slot]
+                & ratings[slot] >= predicate.minRating & ratings[slot] <= predicate.maxRating
+                & publishedDays[slot] >= predicate.minDay & publishedDays[slot] <= predicate.maxDay
+                & (predicate.authors == null || predicate.authors[authorOrdinals[slot]]);
+        return match && (predicate.categories == null || matchesCategories(slot, predicate));
+    }
+
+    private boolean matchesCategories(int slot, Predicate predicate) {
+        int found = 0;
+        int end = categoryStarts[slot] + categoryCounts[slot];
+        for (int i = categoryStarts[slot]; i < end; i++) {
+            if (predicate.categories[categoryPool[i]]) {
+                found++;
+            }
+        }
+        return predicate.requiredCategories == 0 ? found > 0 : found == predicate.requiredCategories;
+    }
+
+    /**
+     * Sort key and slot packed in one long: the key in the high half, the slot in the low half,
+     * reversed for descending order so ties break on id in the same direction as the key
+     */
+    private long sortKey(int slot, boolean byDate, boolean ascending) {
+        int key = byDate ? dateKey(publishedDays[slot], ascending) : 0;
+        return pack(key, ascending ? slot : (long) Integer.MAX_VALUE - slot);
+    }
+
+    private static int dateKey(int day, boolean ascending) {
+        // nulls sort last in both directions
+        if (day == NO_DATE) {
+            return Integer.MAX_VALUE;
+        }
+        return ascending ? day : -day;
+    }
+
+    private static long pack(int key, long low) {
+        return ((long) key << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    private static int slotOf(long key, boolean ascending) {
+        int low = (int) key;
+        return ascending ? low : Integer.MAX_VALUE - low;
+    }
+
+    /**
+     * Smallest packed key that sorts after the cursor. The cursor's book may be gone,
+     * so its position is where its id would be.
+     */
+    private long threshold(BookCursor cursor, boolean byDate, boolean ascending) {
+        int key = 0;
+        if (byDate) {
+            key = cursor.value() == null ? Integer.MAX_VALUE : dateKey((int) ((LocalDate) cursor.value()).toEpochDay(), ascending);
+        }
+        int position = Arrays.binarySearch(ids, 0, size, cursor.id());
+        if (ascending) {
+            return pack(key, position >= 0 ? position + 1 : -position - 1);
+        }
+        int lastSlot = position >= 0 ? position - 1 : -position - 2;
+        return pack(key, (long) Integer.MAX_VALUE - lastSlot);
+    }
+
+    private record Predicate(float minRating, float maxRating, int minDay, int maxDay,
+                             boolean[] authors, boolean[] categories, int requiredCategories) {
+    }
+
+    /**
+     * Turns the filter into column bounds and ordinal masks; null when nothing can match
+     */
+    private Predicate compile(BookFilter filter) {
+        float minRating = filter.ratingMin() != null ? (float) filter.ratingMin().doubleValue() : Float.NEGATIVE_INFINITY;
+        float maxRating = filter.ratingMax() != null ? (float) filter.ratingMax().doubleValue() : Float.POSITIVE_INFINITY;
+
+        // a date bound never matches a book without a date
+        boolean dated = filter.publishedStart() != null || filter.publishedEnd() != null;
+        int minDay = filter.publishedStart() != null ? (int) filter.publishedStart().toEpochDay() : dated ? NO_DATE + 1 : NO_DATE;
+        int maxDay = filter.publishedEnd() != null ? (int) filter.publishedEnd().toEpochDay() : Integer.MAX_VALUE;
+
+        boolean[] authors = null;
+        if (!filter.authorIds().isEmpty()) {
+            authors = new boolean[authorOrdinalsById.size()];
+            boolean any = false;
+            for (Long authorId : filter.authorIds()) {
+                Integer ordinal = authorOrdinalsById.get(authorId);
+                if (ordinal != null) {
+                    authors[ordinal] = any = true;
+                }
+            }
+            if (!any) {
+                return null;
+            }
+        }
+
+        boolean[] categories = null;
+        int required = 0;
+        if (!filter.categoryIds().isEmpty()) {
+            boolean all = filter.categoryMatch() == MatchMode.ALL;
+            categories = new boolean[categoryOrdinalsById.size()];
+            boolean any = false;
+            for (Long categoryId : filter.categoryIds()) {
+                Integer ordinal = categoryOrdinalsById.get(categoryId);
+                if (ordinal != null) {
+                    categories[ordinal] = any = true;
+                } else if (all) {
+                    return null;
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            required = all ? filter.categoryIds().size() : 0;
+        }
+        return new Predicate(minRating, maxRating, minDay, maxDay, authors, categories, required);
+    }
+
+    private void write(int slot, CatalogueRow row) {
+        ids[slot] = row.bookId();
+        ratings[slot] = (float) row.rating();
+        publishedDays[slot] = row.publishedDate() != null ? (int) row.publishedDate().toEpochDay() : NO_DATE;
+        authorOrdinals[slot] = authorOrdinalsById.computeIfAbsent(row.authorId(), id -> authorOrdinalsById.size());
+        alive[slot] = true;
+
+        long[] categoryIds = row.categoryIds();
+        ensurePoolCapacity(poolSize + categoryIds.length);
+        categoryStarts[slot] = poolSize;
+        categoryCounts[slot] = categoryIds.length;
+        for (long categoryId : categoryIds) {
+            categoryPool[poolSize++] = categoryOrdinalsById.computeIfAbsent(categoryId, id -> categoryOrdinalsById.size());
+        }
+    }
+
+    /**
+     * Opens a slot in id order; new books normally have the highest id, so this is an append
+     */
+    private void insertAt(int slot, CatalogueRow row) {
+        if (size == ids.length) {
+            grow(size + (size >> 1));
+        }
+        int tail = size - slot;
+        if (tail > 0) {
+            System.arraycopy(ids, slot, ids, slot + 1, tail);
+            System.arraycopy(ratings, slot, ratings, slot + 1, tail);
+            System.arraycopy(publishedDays, slot, publishedDays, slot + 1, tail);
+            System.arraycopy(authorOrdinals, slot, authorOrdinals, slot + 1, tail);
+            System.arraycopy(categoryStarts, slot, categoryStarts, slot + 1, tail);
+            System.arraycopy(categoryCounts, slot, categoryCounts, slot + 1, tail);
+            System.arraycopy(alive, slot, alive, slot + 1, tail);
+        }
+        size++;
+        write(slot, row);
+    }
+
+    private void compactIfWasteful() {
+        boolean deadSlots = dead > INITIAL_CAPACITY && dead > size / 4;
+        boolean deadCategories = poolGarbage > INITIAL_CAPACITY && poolGarbage > poolSize / 2;
+        if (deadSlots || deadCategories) {
+            compact();
+        }
+    }
+
+    /**
+     * Drops dead slots and category garbage
+     */
+    private void compact() {
+        int[] pool = new int[Math.max(poolSize, INITIAL_CAPACITY)];
+        int pooled = 0;
+        int kept = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (!alive[slot]) {
+                continue;
+            }
+            ids[kept] = ids[slot];
+            ratings[kept] = ratings[slot];
+            publishedDays[kept] = publishedDays[slot];
+            authorOrdinals[kept] = authorOrdinals[slot];
+            alive[kept] = true;
+            System.arraycopy(categoryPool, categoryStarts[slot], pool, pooled, categoryCounts[slot]);
+            categoryStarts[kept] = pooled;
+            categoryCounts[kept] = categoryCounts[slot];
+            pooled += categoryCounts[slot];
+            kept++;
+        }
+        Arrays.fill(alive, kept, size, false);
+        categoryPool = pool;
+        poolSize = pooled;
+        poolGarbage = 0;
+        size = kept;
+        dead = 0;
+    }
+
+    private void allocate(int capacity, int poolCapacity) {
+        ids = new long[capacity];
+        ratings = new float[capacity];
+        publishedDays = new int[capacity];
+        authorOrdinals = new int[capacity];
+        categoryStarts = new int[capacity];
+        categoryCounts = new int[capacity];
+        alive = new boolean[capacity];
+        categoryPool = new int[poolCapacity];
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        ratings = Arrays.copyOf(ratings, capacity);
+        publishedDays = Arrays.copyOf(publishedDays, capacity);
+        authorOrdinals = Arrays.copyOf(authorOrdinals, capacity);
+        categoryStarts = Arrays.copyOf(categoryStarts, capacity);
+        categoryCounts = Arrays.copyOf(categoryCounts, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+    }
+
+    private void ensurePoolCapacity(int required) {
+        if (required > categoryPool.length) {
+            categoryPool = Arrays.copyOf(categoryPool, Math.max(required, categoryPool.length + (categoryPool.length >> 1)));
+        }
+    }
+}
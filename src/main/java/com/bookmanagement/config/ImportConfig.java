@@ -0,0 +1,25 @@
+package com.bookmanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImportConfig {
+
+    /**
+     * Runs bulk import jobs; a bounded queue keeps a burst of uploads from piling up unbounded work
+     */
+    @Bean
+    public ThreadPoolTaskExecutor bookImportExecutor(
+            @Value("${catalogue.import.concurrency:2}") int concurrency,
+            @Value("${catalogue.import.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("book-import-");
+        return executor;
+    }
+}
@@ -0,0 +1,83 @@
+package com.bookmanagement.config;
+
+import com.bookmanagement.ratelimit.RateLimitFilter;
+import com.bookmanagement.ratelimit.RateLimitKey;
+import com.bookmanagement.ratelimit.RateLimitPolicy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rate limit policies per endpoint group, most specific first: a request is counted against the first one
+ * it matches
+ */
+@Configuration
+public class RateLimitConfig {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    /**
+     * Every login attempt costs a BCrypt check, so attempts are limited per client address
+     */
+    @Bean
+    @Order(1)
+    public RateLimitPolicy loginRateLimit(
+            @Value("${application.security.rate-limit.login.capacity:10}") int capacity,
+            @Value("${application.security.rate-limit.login.period:PT1M}") Duration period) {
+        return new RateLimitPolicy("login", AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/auth/login"),
+                RateLimitKey.IP, capacity, period);
+    }
+
+    @Bean
+    @Order(2)
+    public RateLimitPolicy registrationRateLimit(
+            @Value("${application.security.rate-limit.registration.capacity:5}") int capacity,
+            @Value("${application.security.rate-limit.registration.period:PT10M}") Duration period) {
+        return new RateLimitPolicy("registration", AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/users"),
+                RateLimitKey.IP, capacity, period);
+    }
+
+    /**
+     * Every new review updates the book's rating, so reviews get a tighter limit than other writes
+     */
+    @Bean
+    @Order(3)
+    public RateLimitPolicy reviewRateLimit(
+            @Value("${application.security.rate-limit.reviews.capacity:10}") int capacity,
+            @Value("${application.security.rate-limit.reviews.period:PT1M}") Duration period) {
+        return new RateLimitPolicy("reviews",
+                AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/books/*/reviews"),
+                RateLimitKey.USER, capacity, period);
+    }
+
+    @Bean
+    @Order(4)
+    public RateLimitPolicy writeRateLimit(
+            @Value("${application.security.rate-limit.writes.capacity:60}") int capacity,
+            @Value("${application.security.rate-limit.writes.period:PT1M}") Duration period) {
+        RequestMatcher api = AntPathRequestMatcher.antMatcher("/api/**");
+        return new RateLimitPolicy("writes",
+                request -> WRITE_METHODS.contains(request.getMethod()) && api.matches(request),
+                RateLimitKey.USER, capacity, period);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(
+            List<RateLimitPolicy> policies,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${application.security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${application.security.rate-limit.max-keys:100000}") int maxKeys) {
+        return new RateLimitFilter(enabled ? policies : List.of(), maxKeys, objectMapper, meterRegistry);
+    }
+}
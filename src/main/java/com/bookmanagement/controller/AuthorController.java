@@ -4,8 +4,11 @@ import com.bookmanagement.annotation.AdminOnly;
 import com.bookmanagement.annotation.UserOrAdmin;
 import com.bookmanagement.dto.AllAuthorDTO;
 import com.bookmanagement.dto.AuthorDTO;
+import com.bookmanagement.dto.BookPaginationDTO;
+import com.bookmanagement.dto.GetAllAuthorParamsDTO;
 import com.bookmanagement.dto.NewAuthorDTO;
 import com.bookmanagement.service.AuthorService;
+import com.bookmanagement.utils.PagedResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,7 +17,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/authors")
@@ -27,20 +29,37 @@ public class AuthorController {
     
     @GetMapping
     @UserOrAdmin
-    @Operation(summary = "Get all authors")
-    public ResponseEntity<List<AllAuthorDTO>> getAllAuthors() {
-        List<AllAuthorDTO> authors = authorService.getAllAuthors();
+    @Operation(summary = "Get a page of authors by name with their book counts, optionally with their books")
+    public ResponseEntity<PagedResponse<AllAuthorDTO>> getAllAuthors(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String expand) {
+        PagedResponse<AllAuthorDTO> authors = authorService.getAllAuthors(
+                new GetAllAuthorParamsDTO(page, size, namePrefix, cursor, expand));
         return ResponseEntity.ok(authors);
     }
     
     @GetMapping("/{id}")
     @UserOrAdmin
-    @Operation(summary = "Get author by ID with books")
+    @Operation(summary = "Get author by ID with the first page of books and the book count")
     public ResponseEntity<AuthorDTO> getAuthorById(@PathVariable Long id) {
         AuthorDTO author = authorService.getAuthorById(id);
         return ResponseEntity.ok(author);
     }
     
+    @GetMapping("/{id}/books")
+    @UserOrAdmin
+    @Operation(summary = "Get a page of an author's books with keyset pagination")
+    public ResponseEntity<PagedResponse<BookPaginationDTO>> getAuthorBooks(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(authorService.getBooksByAuthorId(id, size, sortBy, cursor));
+    }
+    
     @PostMapping
     @AdminOnly
     @Operation(summary = "Create a new author (Admin only)")
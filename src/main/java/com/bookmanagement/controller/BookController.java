@@ -3,12 +3,20 @@ package com.bookmanagement.controller;
 import com.bookmanagement.annotation.AdminOnly;
 import com.bookmanagement.annotation.UserOrAdmin;
 import com.bookmanagement.dto.*;
+import com.bookmanagement.enums.LeaderboardType;
+import com.bookmanagement.enums.MatchMode;
+import com.bookmanagement.enums.PaginationMode;
+import com.bookmanagement.service.BookExportService;
+import com.bookmanagement.service.BookFacetService;
+import com.bookmanagement.service.BookLeaderboardService;
+import com.bookmanagement.service.BookSearchService;
 import com.bookmanagement.service.BookService;
 import com.bookmanagement.utils.PagedResponse;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -16,7 +24,9 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/books")
@@ -26,6 +36,10 @@ import java.time.LocalDate;
 public class BookController {
     
     private final BookService bookService;
+    private final BookSearchService bookSearchService;
+    private final BookFacetService bookFacetService;
+    private final BookExportService bookExportService;
+    private final BookLeaderboardService bookLeaderboardService;
     
     @GetMapping
     @UserOrAdmin
@@ -33,24 +47,39 @@ public class BookController {
     public ResponseEntity<PagedResponse<BookPaginationDTO>> getAllBooks(
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false) Integer size,
-            @RequestParam(required = false) Long authorId,
-            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) List<Long> authorId,
+            @RequestParam(required = false) List<Long> categoryId,
+            @RequestParam(required = false) MatchMode categoryMatch,
             @RequestParam(required = false) Double ratingMin,
             @RequestParam(required = false) Double ratingMax,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedStart,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedEnd,
-            @RequestParam(required = false) String sortBy) {
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) PaginationMode mode,
+            @RequestParam(required = false) String cursor) {
         
 
-         GetAllBookParamsDTO getAllBookParamsDTO = new GetAllBookParamsDTO( page,size,authorId,
-                                                                    categoryId,
+         GetAllBookParamsDTO getAllBookParamsDTO = new GetAllBookParamsDTO( page,size,null,
+                                                                    null,
                                                                     ratingMin,
                                                                     ratingMax,
                                                                     publishedStart,
                                                                     publishedEnd,
-                                                                    sortBy
+                                                                    sortBy,
+                                                                    cursor,
+                                                                    authorId,
+                                                                    categoryId,
+                                                                    categoryMatch
                                                             );
 
+        // a cursor only makes sense for keyset paging, so it implies that mode
+        if (mode == PaginationMode.KEYSET || cursor != null) {
+            return ResponseEntity.ok(bookService.getAllBooksByCursor(getAllBookParamsDTO));
+        }
+        if (mode == PaginationMode.SLICE) {
+            return ResponseEntity.ok(bookService.getAllBooksSlice(getAllBookParamsDTO));
+        }
+
         Page<BookPaginationDTO> books = bookService.getAllBooks(getAllBookParamsDTO);
         PagedResponse<BookPaginationDTO> response = new PagedResponse<>(
                 books.getContent(),
@@ -61,6 +90,93 @@ public class BookController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/facets")
+    @UserOrAdmin
+    @Operation(summary = "Count books per category, author, rating bucket and publication year")
+    public ResponseEntity<BookFacetsDTO> getBookFacets(
+            @RequestParam(required = false) List<Long> authorId,
+            @RequestParam(required = false) List<Long> categoryId,
+            @RequestParam(required = false) MatchMode categoryMatch,
+            @RequestParam(required = false) Double ratingMin,
+            @RequestParam(required = false) Double ratingMax,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedEnd) {
+        
+        // paging and sorting parameters of the listing do not change the counts
+        GetAllBookParamsDTO getAllBookParamsDTO = new GetAllBookParamsDTO(null, null, null,
+                                                                    null,
+                                                                    ratingMin,
+                                                                    ratingMax,
+                                                                    publishedStart,
+                                                                    publishedEnd,
+                                                                    null,
+                                                                    null,
+                                                                    authorId,
+                                                                    categoryId,
+                                                                    categoryMatch
+                                                            );
+        return ResponseEntity.ok(bookFacetService.getFacets(getAllBookParamsDTO));
+    }
+    
+    @GetMapping("/search")
+    @UserOrAdmin
+    @Operation(summary = "Full-text search over titles, author names and bios")
+    public ResponseEntity<List<BookSearchHitDTO>> searchBooks(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer size) {
+        List<BookSearchHitDTO> hits = bookSearchService.search(q, size);
+        return ResponseEntity.ok(hits);
+    }
+    
+    @GetMapping("/suggest")
+    @UserOrAdmin
+    @Operation(summary = "Autocomplete titles and ISBNs by prefix, best rated first")
+    public ResponseEntity<List<BookSuggestionDTO>> suggestBooks(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer size) {
+        List<BookSuggestionDTO> suggestions = bookSearchService.suggest(prefix, size);
+        return ResponseEntity.ok(suggestions);
+    }
+    
+    @GetMapping("/leaderboards/top-rated")
+    @UserOrAdmin
+    @Operation(summary = "Best rated books by Bayesian-weighted rating, overall or in one category")
+    public ResponseEntity<List<LeaderboardEntryDTO>> topRatedBooks(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(bookLeaderboardService.leaderboard(LeaderboardType.TOP_RATED, categoryId, size));
+    }
+    
+    @GetMapping("/leaderboards/most-reviewed")
+    @UserOrAdmin
+    @Operation(summary = "Books with the most reviews, overall or in one category")
+    public ResponseEntity<List<LeaderboardEntryDTO>> mostReviewedBooks(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(bookLeaderboardService.leaderboard(LeaderboardType.MOST_REVIEWED, categoryId, size));
+    }
+    
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @UserOrAdmin
+    @Operation(summary = "Stream every matching book as newline-delimited JSON")
+    public void exportBooks(
+            @RequestParam(required = false) List<Long> authorId,
+            @RequestParam(required = false) List<Long> categoryId,
+            @RequestParam(required = false) MatchMode categoryMatch,
+            @RequestParam(required = false) Double ratingMin,
+            @RequestParam(required = false) Double ratingMax,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publishedEnd,
+            HttpServletResponse response) throws IOException {
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(null, null, null, null,
+                ratingMin, ratingMax, publishedStart, publishedEnd, null, null,
+                authorId, categoryId, categoryMatch);
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        bookExportService.exportBooks(params, response.getOutputStream());
+    }
+    
     @GetMapping("/{id}")
     @UserOrAdmin
     @Operation(summary = "Get book by ID with full details")
@@ -69,6 +185,13 @@ public class BookController {
         return ResponseEntity.ok(book);
     }
     
+    @GetMapping("/{id}/rating-histogram")
+    @UserOrAdmin
+    @Operation(summary = "Get the number of reviews per star rating of a book")
+    public ResponseEntity<RatingHistogramDTO> getRatingHistogram(@PathVariable Long id) {
+        return ResponseEntity.ok(bookService.getRatingHistogram(id));
+    }
+    
     @PostMapping
     @AdminOnly
     @Operation(summary = "Create a new book (Admin only)")
@@ -0,0 +1,55 @@
+package com.bookmanagement.controller;
+
+import com.bookmanagement.annotation.AdminOnly;
+import com.bookmanagement.dto.ImportErrorDTO;
+import com.bookmanagement.dto.ImportJobDTO;
+import com.bookmanagement.enums.ImportFormat;
+import com.bookmanagement.service.BookImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/books/imports")
+@RequiredArgsConstructor
+@Tag(name = "Book Imports", description = "Bulk book import jobs")
+@SecurityRequirement(name = "Bearer Authentication")
+public class BookImportController {
+    
+    private final BookImportService bookImportService;
+    
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @AdminOnly
+    @Operation(summary = "Start a bulk import from a CSV or NDJSON file (Admin only)")
+    public ResponseEntity<ImportJobDTO> submitImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) ImportFormat format) {
+        ImportJobDTO job = bookImportService.submit(file, format);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/books/imports/" + job.getId()))
+                .body(job);
+    }
+    
+    @GetMapping("/{jobId}")
+    @AdminOnly
+    @Operation(summary = "Get the progress of an import job (Admin only)")
+    public ResponseEntity<ImportJobDTO> getImport(@PathVariable String jobId) {
+        ImportJobDTO job = bookImportService.getJob(jobId);
+        return ResponseEntity.ok(job);
+    }
+    
+    @GetMapping("/{jobId}/errors")
+    @AdminOnly
+    @Operation(summary = "Get the rejected records of an import job (Admin only)")
+    public ResponseEntity<List<ImportErrorDTO>> getImportErrors(@PathVariable String jobId) {
+        List<ImportErrorDTO> errors = bookImportService.getErrors(jobId);
+        return ResponseEntity.ok(errors);
+    }
+}
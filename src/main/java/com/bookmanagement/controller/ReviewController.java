@@ -4,18 +4,27 @@ import com.bookmanagement.annotation.UserOrAdmin;
 import com.bookmanagement.dto.NewReviewDTO;
 import com.bookmanagement.dto.ReviewDTO;
 import com.bookmanagement.dto.UpdateReviewDTO;
+import com.bookmanagement.dto.UserReviewDTO;
+import com.bookmanagement.enums.ReviewSort;
+import com.bookmanagement.exception.ResourceNotFoundException;
+import com.bookmanagement.service.ReviewExportService;
 import com.bookmanagement.service.ReviewService;
+import com.bookmanagement.utils.PagedResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 import org.hibernate.sql.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api")
@@ -25,6 +34,7 @@ import java.util.List;
 public class ReviewController {
     
     private final ReviewService reviewService;
+    private final ReviewExportService reviewExportService;
     
     @PostMapping("/books/{bookId}/reviews")
     @UserOrAdmin
@@ -38,12 +48,45 @@ public class ReviewController {
     
     @GetMapping("/books/{bookId}/reviews")
     @UserOrAdmin
-    @Operation(summary = "Get all reviews for a book")
-    public ResponseEntity<List<ReviewDTO>> getReviewsByBookId(@PathVariable Long bookId) {
-        List<ReviewDTO> reviews = reviewService.getReviewsByBookId(bookId);
+    @Operation(summary = "Get a page of reviews for a book, newest, highest or lowest rated first")
+    public ResponseEntity<PagedResponse<ReviewDTO>> getReviewsByBookId(
+            @PathVariable Long bookId,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) ReviewSort sort,
+            @RequestParam(required = false) String cursor) {
+        PagedResponse<ReviewDTO> reviews = reviewService.getReviewsByBookId(bookId, size, sort, cursor);
+        return ResponseEntity.ok(reviews);
+    }
+    
+    @GetMapping("/users/{userId}/reviews")
+    @UserOrAdmin
+    @Operation(summary = "Get a page of a user's reviews, newest first")
+    public ResponseEntity<PagedResponse<UserReviewDTO>> getReviewsByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        PagedResponse<UserReviewDTO> reviews = reviewService.getReviewsByUserId(userId, size, cursor);
         return ResponseEntity.ok(reviews);
     }
     
+    @GetMapping(value = "/users/{userId}/reviews/export", produces = "application/x-ndjson")
+    @UserOrAdmin
+    @Operation(summary = "Stream every review of your own user (any user for admins) as newline-delimited JSON, newest first")
+    public void exportReviewsByUserId(
+            @PathVariable Long userId,
+            @AuthenticationPrincipal UserDetails principal,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        try {
+            reviewExportService.exportReviewsByUserId(userId, principal, response.getOutputStream());
+        } catch (ResourceNotFoundException | AccessDeniedException ex) {
+            // thrown before the first row: drop the NDJSON content type so the error is rendered as JSON
+            response.reset();
+            throw ex;
+        }
+    }
+    
     @PutMapping("/reviews/{id}")
     @UserOrAdmin
     @Operation(summary = "Update a review")
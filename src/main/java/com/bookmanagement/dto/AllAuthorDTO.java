@@ -1,6 +1,8 @@
 package com.bookmanagement.dto;
 
 import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -21,5 +23,9 @@ public class AllAuthorDTO {
     
     private String bio;
     
+    private Long bookCount;
+    
+    // only filled when the listing is asked to expand books
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private Set<BookMinimalDTO> books;
 }
\ No newline at end of file
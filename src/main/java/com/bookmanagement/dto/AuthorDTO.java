@@ -1,7 +1,8 @@
 package com.bookmanagement.dto;
 
-import java.util.Set;
+import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -24,5 +25,12 @@ public class AuthorDTO {
     private String email;
     
     private String bio;
-    private Set<BookSummaryDTO> books;
+    
+    // the first page of books in id order; the rest is paged from /api/authors/{id}/books
+    private List<BookSummaryDTO> books;
+    
+    private Long bookCount;
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String booksNextCursor;
 }
\ No newline at end of file
@@ -20,5 +20,6 @@ public class BookDetailDTO {
     private AuthorDetailDTO author;
     private Set<CategoryDTO> categories;
     private Double rating;
+    private RatingHistogramDTO ratingHistogram;
     private Set<ReviewMinimalDTO> reviews;
 }
\ No newline at end of file
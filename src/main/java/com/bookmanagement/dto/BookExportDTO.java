@@ -0,0 +1,21 @@
+package com.bookmanagement.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookExportDTO {
+    private Long id;
+    private String title;
+    private String isbn;
+    private LocalDate publishedDate;
+    private Double rating;
+    private Long authorId;
+    private String authorName;
+    private List<Long> categoryIds;
+}
@@ -0,0 +1,17 @@
+package com.bookmanagement.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFacetsDTO {
+    private Long total;
+    private Map<Long, Long> categories;
+    private Map<Long, Long> authors;
+    private Map<String, Long> ratings;
+    private Map<Integer, Long> publicationYears;
+}
@@ -0,0 +1,14 @@
+package com.bookmanagement.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchHitDTO {
+    private Long id;
+    private String title;
+    private AuthorSummaryDTO author;
+    private Double score;
+}
@@ -0,0 +1,14 @@
+package com.bookmanagement.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSuggestionDTO {
+    private Long id;
+    private String title;
+    private String isbn;
+    private Double rating;
+}
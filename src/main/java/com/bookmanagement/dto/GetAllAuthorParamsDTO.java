@@ -0,0 +1,10 @@
+package com.bookmanagement.dto;
+
+public record GetAllAuthorParamsDTO(
+        Integer page,
+        Integer size,
+        String namePrefix,
+        String cursor,
+        String expand
+) {
+}
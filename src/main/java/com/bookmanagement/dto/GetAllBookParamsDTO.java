@@ -1,6 +1,9 @@
 package com.bookmanagement.dto;
 
+import com.bookmanagement.enums.MatchMode;
+
 import java.time.LocalDate;
+import java.util.List;
 
 public record GetAllBookParamsDTO(
         Integer page,
@@ -11,5 +14,23 @@ public record GetAllBookParamsDTO(
         Double ratingMax,
         LocalDate publishedStart,
         LocalDate publishedEnd,
-        String sortBy
-) {}
+        String sortBy,
+        String cursor,
+        List<Long> authorIds,
+        List<Long> categoryIds,
+        MatchMode categoryMatch
+) {
+
+    public GetAllBookParamsDTO(Integer page, Integer size, Long authorId, Long categoryId,
+                               Double ratingMin, Double ratingMax,
+                               LocalDate publishedStart, LocalDate publishedEnd, String sortBy, String cursor) {
+        this(page, size, authorId, categoryId, ratingMin, ratingMax, publishedStart, publishedEnd, sortBy, cursor,
+                null, null, null);
+    }
+
+    public GetAllBookParamsDTO(Integer page, Integer size, Long authorId, Long categoryId,
+                               Double ratingMin, Double ratingMax,
+                               LocalDate publishedStart, LocalDate publishedEnd, String sortBy) {
+        this(page, size, authorId, categoryId, ratingMin, ratingMax, publishedStart, publishedEnd, sortBy, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.bookmanagement.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDTO {
+    private long line;
+    private String isbn;
+    private String message;
+}
@@ -0,0 +1,26 @@
+package com.bookmanagement.dto;
+
+import com.bookmanagement.enums.ImportFormat;
+import com.bookmanagement.enums.ImportStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+    private String id;
+    private String fileName;
+    private ImportFormat format;
+    private ImportStatus status;
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    private long rowsPerSecond;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String failureMessage;
+}
@@ -0,0 +1,17 @@
+package com.bookmanagement.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDTO {
+    private Integer rank;
+    private Long id;
+    private String title;
+    private String authorName;
+    private Double rating;
+    private Long reviewCount;
+    private Double weightedRating;
+}
@@ -0,0 +1,19 @@
+package com.bookmanagement.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingHistogramDTO {
+    /** Review count per star rating, keyed 1 to 5 */
+    private Map<Integer, Long> stars;
+    private Long reviewCount;
+    private Double averageRating;
+}
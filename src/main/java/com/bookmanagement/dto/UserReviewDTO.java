@@ -0,0 +1,25 @@
+package com.bookmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A review as listed on its author's profile: the user is implied, the book is only named
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserReviewDTO {
+    private Long id;
+
+    private Integer rating;
+
+    private String comment;
+
+    private BookMinimalDTO book;
+
+    private LocalDateTime createdAt;
+}
@@ -10,7 +10,10 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "authors")
+@Table(name = "authors", indexes = {
+        // the author listing is ordered and paged by name
+        @Index(name = "idx_authors_name", columnList = "name, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -20,7 +23,8 @@ import java.util.Set;
 public class Author {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "authors_seq")
+    @SequenceGenerator(name = "authors_seq", sequenceName = "authors_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -2,6 +2,7 @@ package com.bookmanagement.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,7 +12,9 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_author", columnList = "author_id, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -21,7 +24,8 @@ import java.util.Set;
 public class Book {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_seq")
+    @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -50,10 +54,29 @@ public class Book {
     @Builder.Default
     private Set<Review> reviews = new HashSet<>();
     
-    @Column(nullable = false)
+    /**
+     * Average review rating, ratingSum / reviewCount; written together with them by
+     * {@code BookRepository.applyReviewRating} so it never needs the reviews loaded.
+     * Not updatable, so saving an edited book cannot write back aggregates a review changed since it was loaded.
+     */
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private Double rating = 0.0;
     
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long ratingSum = 0L;
+    
+    @Column(name = "review_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long reviewCount = 0L;
+    
+    @Embedded
+    @Builder.Default
+    private RatingHistogram ratingHistogram = new RatingHistogram();
+    
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -61,15 +84,4 @@ public class Book {
     @LastModifiedDate
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
-    
-    public void calculateRating() {
-        if (reviews.isEmpty()) {
-            this.rating = 0.0;
-        } else {
-            this.rating = reviews.stream()
-                .mapToInt(Review::getRating)
-                .average()
-                .orElse(0.0);
-        }
-    }
 }
@@ -0,0 +1,52 @@
+package com.bookmanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Number of reviews per star rating of one book, stored on the book row.
+ * Maintained by {@code BookRepository.applyReviewRating} in the same statement as the rating aggregates,
+ * and like them never written when an edited book is saved.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingHistogram {
+    
+    @Column(name = "one_star_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long oneStar = 0L;
+    
+    @Column(name = "two_star_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long twoStars = 0L;
+    
+    @Column(name = "three_star_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long threeStars = 0L;
+    
+    @Column(name = "four_star_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long fourStars = 0L;
+    
+    @Column(name = "five_star_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long fiveStars = 0L;
+    
+    /**
+     * Counts indexed by star rating minus one
+     */
+    public long[] toArray() {
+        return new long[]{oneStar, twoStars, threeStars, fourStars, fiveStars};
+    }
+}
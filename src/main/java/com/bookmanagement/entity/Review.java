@@ -8,7 +8,13 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        // keyset paging of a book's reviews: newest first, and by rating
+        @Index(name = "idx_reviews_book_created", columnList = "book_id, created_at, id"),
+        @Index(name = "idx_reviews_book_rating_created", columnList = "book_id, rating, created_at, id"),
+        // keyset paging and export of a user's reviews, newest first
+        @Index(name = "idx_reviews_user_created", columnList = "user_id, created_at, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -18,7 +24,8 @@ import java.time.LocalDateTime;
 public class Review {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+    @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -0,0 +1,6 @@
+package com.bookmanagement.enums;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,8 @@
+package com.bookmanagement.enums;
+
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
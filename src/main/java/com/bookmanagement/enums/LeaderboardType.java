@@ -0,0 +1,6 @@
+package com.bookmanagement.enums;
+
+public enum LeaderboardType {
+    TOP_RATED,
+    MOST_REVIEWED
+}
@@ -0,0 +1,7 @@
+package com.bookmanagement.enums;
+
+public enum ReviewSort {
+    NEWEST,
+    HIGHEST,
+    LOWEST
+}
@@ -0,0 +1,8 @@
+package com.bookmanagement.event;
+
+/**
+ * Published when an author's name or bio changes, which affects every book of that author.
+ * Listeners run after the surrounding transaction commits.
+ */
+public record AuthorChangedEvent(Long authorId) {
+}
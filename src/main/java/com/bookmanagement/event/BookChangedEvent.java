@@ -0,0 +1,15 @@
+package com.bookmanagement.event;
+
+/**
+ * Published whenever a book's listing data changes.
+ * Listeners run after the surrounding transaction commits.
+ */
+public record BookChangedEvent(Long bookId, ChangeType type) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        RATING_CHANGED
+    }
+}
@@ -0,0 +1,8 @@
+package com.bookmanagement.event;
+
+/**
+ * Published once a bulk import has written books without per-book {@link BookChangedEvent}s.
+ * In-memory indexes rebuild instead of refreshing every imported book one by one.
+ */
+public record BooksImportedEvent(String jobId, long imported) {
+}
@@ -0,0 +1,8 @@
+package com.bookmanagement.event;
+
+/**
+ * Published when a user's credentials, username or roles change or the user is deleted, carrying the username
+ * the user had before the change. Listeners run after the surrounding transaction commits.
+ */
+public record UserChangedEvent(Long userId, String username) {
+}
@@ -0,0 +1,67 @@
+package com.bookmanagement.facet;
+
+import com.bookmanagement.event.BookChangedEvent;
+import com.bookmanagement.event.BooksImportedEvent;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.specification.BookFilter;
+import com.bookmanagement.utils.BookChunkLoader;
+import com.bookmanagement.utils.BookIndexSupport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory bitmaps of the filterable fields of every book, used to count facets.
+ * Each facet value is counted by intersecting bitmaps (see {@link FacetBitmaps}), so a request
+ * costs the number of facet values rather than the size of the catalogue.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookFacetIndex extends BookIndexSupport {
+
+    private final BookRepository bookRepository;
+    private final BookChunkLoader bookChunkLoader;
+
+    private volatile FacetBitmaps bitmaps = new FacetBitmaps();
+
+    public int size() {
+        return bitmaps.size();
+    }
+
+    public FacetCounts count(BookFilter filter) {
+        return bitmaps.count(filter);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        rebuildWith(() -> {
+            FacetBitmaps rebuilt = new FacetBitmaps();
+            bookChunkLoader.forEachChunk(FacetedBook::of, rebuilt::upsertAll);
+            bitmaps = rebuilt;
+        });
+        log.info("Facet index rebuilt with {} books in {} ms", bitmaps.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        bookChanged(event.bookId());
+    }
+
+    @EventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        rebuild();
+    }
+
+    @Override
+    protected void refresh(Long bookId) {
+        bookRepository.findByIdWithDetails(bookId).ifPresentOrElse(
+                book -> bitmaps.upsert(FacetedBook.of(book)),
+                () -> bitmaps.remove(bookId)
+        );
+    }
+}
@@ -0,0 +1,261 @@
+package com.bookmanagement.facet;
+
+import com.bookmanagement.bitmap.BookMembership;
+import com.bookmanagement.bitmap.MembershipBitmaps;
+import com.bookmanagement.enums.MatchMode;
+import com.bookmanagement.specification.BookFilter;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmaps of book ids per facet value: author and category ({@link MembershipBitmaps}), rating bucket and
+ * publication year, plus per exact rating and date so that range filters resolve to a union of bitmaps.
+ * A facet value is counted as the cardinality of its bitmap intersected with the other filters' bitmap,
+ * so a request costs the number of facet values and never walks the books themselves.
+ * Ranges are built from coarse bitmaps (half-star steps, years and months) wherever a whole one fits, so only
+ * the edges of a range union exact ratings or days.
+ * Reads share a lock; writes are incremental and exclusive.
+ */
+public class FacetBitmaps {
+
+    private static final String[] RATING_BUCKETS = {"0-1", "1-2", "2-3", "3-4", "4-5"};
+    private static final double RATING_STEP = 0.5;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final MembershipBitmaps membership = new MembershipBitmaps();
+    private final Map<Long, FacetedBook> books = new HashMap<>();
+    private final Roaring64Bitmap all = new Roaring64Bitmap();
+    private final NavigableMap<Double, Roaring64Bitmap> byRating = new TreeMap<>();
+    private final NavigableMap<Long, Roaring64Bitmap> byRatingStep = new TreeMap<>();
+    private final NavigableMap<LocalDate, Roaring64Bitmap> byDate = new TreeMap<>();
+    private final Map<YearMonth, Roaring64Bitmap> byMonth = new HashMap<>();
+    private final Map<String, Roaring64Bitmap> byRatingBucket = new TreeMap<>();
+    private final Map<Integer, Roaring64Bitmap> byYear = new TreeMap<>();
+
+    /**
+     * Adds the book, replacing any previous values of it
+     */
+    public void upsert(FacetedBook book) {
+        lock.writeLock().lock();
+        try {
+            removeBook(book.bookId());
+            addBook(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsertAll(List<FacetedBook> batch) {
+        lock.writeLock().lock();
+        try {
+            for (FacetedBook book : batch) {
+                removeBook(book.bookId());
+                addBook(book);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeBook(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public FacetCounts count(BookFilter filter) {
+        lock.readLock().lock();
+        try {
+            // null stands for "no filter", i.e. every book
+            Roaring64Bitmap authors = filter.authorIds().isEmpty() ? null
+                    : membership.resolve(filter.authorIds(), Set.of(), MatchMode.ANY);
+            Roaring64Bitmap categories = filter.categoryIds().isEmpty() ? null
+                    : membership.resolve(Set.of(), filter.categoryIds(), filter.categoryMatch());
+            Roaring64Bitmap ratings = ratingRange(filter);
+            Roaring64Bitmap published = publishedRange(filter);
+
+            Roaring64Bitmap matching = and(authors, categories, ratings, published);
+            long total = matching == null ? all.getLongCardinality() : matching.getLongCardinality();
+            return new FacetCounts(
+                    total,
+                    membership.countByCategory(and(authors, ratings, published)),
+                    membership.countByAuthor(and(categories, ratings, published)),
+                    MembershipBitmaps.countWithin(byRatingBucket, and(authors, categories, published)),
+                    MembershipBitmaps.countWithin(byYear, and(authors, categories, ratings))
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Roaring64Bitmap ratingRange(BookFilter filter) {
+        if (filter.ratingMin() == null && filter.ratingMax() == null) {
+            return null;
+        }
+        Roaring64Bitmap result = new Roaring64Bitmap();
+        if (byRating.isEmpty()) {
+            return result;
+        }
+        double min = filter.ratingMin() != null ? Math.max(filter.ratingMin(), byRating.firstKey()) : byRating.firstKey();
+        double max = filter.ratingMax() != null ? Math.min(filter.ratingMax(), byRating.lastKey()) : byRating.lastKey();
+        if (min > max) {
+            return result;
+        }
+        for (long step = ratingStep(min); step <= ratingStep(max); step++) {
+            double stepStart = step * RATING_STEP;
+            double stepEnd = stepStart + RATING_STEP;
+            if (min <= stepStart && max >= stepEnd) {
+                or(result, byRatingStep.get(step));
+            } else {
+                // an edge step: only its exact ratings inside the range
+                byRating.subMap(Math.max(min, stepStart), true, Math.min(max, stepEnd), max < stepEnd)
+                        .values()
+                        .forEach(result::or);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Same semantics as the SQL range: a book without a date never matches a date bound
+     */
+    private Roaring64Bitmap publishedRange(BookFilter filter) {
+        if (filter.publishedStart() == null && filter.publishedEnd() == null) {
+            return null;
+        }
+        Roaring64Bitmap result = new Roaring64Bitmap();
+        if (byDate.isEmpty()) {
+            return result;
+        }
+        LocalDate from = latest(filter.publishedStart(), byDate.firstKey());
+        LocalDate to = earliest(filter.publishedEnd(), byDate.lastKey());
+        if (from.isAfter(to)) {
+            return result;
+        }
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            LocalDate yearStart = latest(from, LocalDate.of(year, 1, 1));
+            LocalDate yearEnd = earliest(to, LocalDate.of(year, 12, 31));
+            if (yearStart.getDayOfYear() == 1 && yearEnd.getMonthValue() == 12 && yearEnd.getDayOfMonth() == 31) {
+                or(result, byYear.get(year));
+                continue;
+            }
+            for (YearMonth month = YearMonth.from(yearStart); !month.isAfter(YearMonth.from(yearEnd)); month = month.plusMonths(1)) {
+                LocalDate monthStart = latest(yearStart, month.atDay(1));
+                LocalDate monthEnd = earliest(yearEnd, month.atEndOfMonth());
+                if (monthStart.getDayOfMonth() == 1 && monthEnd.equals(month.atEndOfMonth())) {
+                    or(result, byMonth.get(month));
+                } else {
+                    // an edge month: only its days inside the range
+                    byDate.subMap(monthStart, true, monthEnd, true).values().forEach(result::or);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void addBook(FacetedBook book) {
+        long id = book.bookId();
+        books.put(id, book);
+        all.addLong(id);
+        membership.upsert(new BookMembership(id, book.authorId(), book.categoryIds()));
+        byRating.computeIfAbsent(book.rating(), rating -> new Roaring64Bitmap()).addLong(id);
+        byRatingStep.computeIfAbsent(ratingStep(book.rating()), step -> new Roaring64Bitmap()).addLong(id);
+        byRatingBucket.computeIfAbsent(ratingBucket(book.rating()), bucket -> new Roaring64Bitmap()).addLong(id);
+        if (book.publishedDate() != null) {
+            byDate.computeIfAbsent(book.publishedDate(), date -> new Roaring64Bitmap()).addLong(id);
+            byMonth.computeIfAbsent(YearMonth.from(book.publishedDate()), month -> new Roaring64Bitmap()).addLong(id);
+            byYear.computeIfAbsent(book.publishedDate().getYear(), year -> new Roaring64Bitmap()).addLong(id);
+        }
+    }
+
+    private void removeBook(long bookId) {
+        FacetedBook previous = books.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        all.removeLong(bookId);
+        membership.remove(bookId);
+        removeFrom(byRating, previous.rating(), bookId);
+        removeFrom(byRatingStep, ratingStep(previous.rating()), bookId);
+        removeFrom(byRatingBucket, ratingBucket(previous.rating()), bookId);
+        if (previous.publishedDate() != null) {
+            removeFrom(byDate, previous.publishedDate(), bookId);
+            removeFrom(byMonth, YearMonth.from(previous.publishedDate()), bookId);
+            removeFrom(byYear, previous.publishedDate().getYear(), bookId);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, Roaring64Bitmap> bitmaps, K key, long bookId) {
+        Roaring64Bitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.removeLong(bookId);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    private static void or(Roaring64Bitmap result, Roaring64Bitmap bitmap) {
+        if (bitmap != null) {
+            result.or(bitmap);
+        }
+    }
+
+    private static LocalDate latest(LocalDate bound, LocalDate date) {
+        return bound != null && bound.isAfter(date) ? bound : date;
+    }
+
+    private static LocalDate earliest(LocalDate bound, LocalDate date) {
+        return bound != null && bound.isBefore(date) ? bound : date;
+    }
+
+    /**
+     * Intersection of the given filters, ignoring absent ones; null when none is present
+     */
+    private static Roaring64Bitmap and(Roaring64Bitmap... filters) {
+        Roaring64Bitmap result = null;
+        for (Roaring64Bitmap filter : filters) {
+            if (filter != null) {
+                result = result == null ? filter : Roaring64Bitmap.and(result, filter);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Half-star step a rating falls in, counted from 0
+     */
+    private static long ratingStep(double rating) {
+        return (long) Math.floor(rating / RATING_STEP);
+    }
+
+    /**
+     * Whole-star bucket; a perfect 5.0 falls in the top bucket
+     */
+    private static String ratingBucket(double rating) {
+        int bucket = Math.min((int) rating, RATING_BUCKETS.length - 1);
+        return RATING_BUCKETS[Math.max(bucket, 0)];
+    }
+}
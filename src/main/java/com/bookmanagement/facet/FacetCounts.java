@@ -0,0 +1,16 @@
+package com.bookmanagement.facet;
+
+import java.util.Map;
+
+/**
+ * Book counts per facet value. Each facet is counted with every filter applied except its own,
+ * so the other values of a facet keep showing how many books selecting them would give.
+ */
+public record FacetCounts(
+        long total,
+        Map<Long, Long> categories,
+        Map<Long, Long> authors,
+        Map<String, Long> ratings,
+        Map<Integer, Long> publicationYears
+) {
+}
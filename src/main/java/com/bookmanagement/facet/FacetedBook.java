@@ -0,0 +1,66 @@
+package com.bookmanagement.facet;
+
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.entity.Category;
+import com.bookmanagement.enums.MatchMode;
+import com.bookmanagement.specification.BookFilter;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * The filterable fields of one book, as held by the facet index
+ */
+public record FacetedBook(
+        long bookId,
+        long authorId,
+        long[] categoryIds,
+        double rating,
+        LocalDate publishedDate
+) {
+
+    public static FacetedBook of(Book book) {
+        return new FacetedBook(
+                book.getId(),
+                book.getAuthor().getId(),
+                book.getCategories().stream().mapToLong(Category::getId).sorted().toArray(),
+                book.getRating(),
+                book.getPublishedDate()
+        );
+    }
+
+    public boolean matchesAuthor(BookFilter filter) {
+        return filter.authorIds().isEmpty() || filter.authorIds().contains(authorId);
+    }
+
+    public boolean matchesCategory(BookFilter filter) {
+        if (filter.categoryIds().isEmpty()) {
+            return true;
+        }
+        boolean all = filter.categoryMatch() == MatchMode.ALL;
+        for (Long categoryId : filter.categoryIds()) {
+            boolean found = Arrays.binarySearch(categoryIds, categoryId) >= 0;
+            if (found != all) {
+                return found;
+            }
+        }
+        return all;
+    }
+
+    public boolean matchesRating(BookFilter filter) {
+        return (filter.ratingMin() == null || rating >= filter.ratingMin())
+                && (filter.ratingMax() == null || rating <= filter.ratingMax());
+    }
+
+    /**
+     * Same semantics as the SQL range: a book without a date never matches a date bound
+     */
+    public boolean matchesPublished(BookFilter filter) {
+        if (filter.publishedStart() == null && filter.publishedEnd() == null) {
+            return true;
+        }
+        return publishedDate != null
+                && (filter.publishedStart() == null || !publishedDate.isBefore(filter.publishedStart()))
+                && (filter.publishedEnd() == null || !publishedDate.isAfter(filter.publishedEnd()));
+    }
+}
@@ -0,0 +1,155 @@
+package com.bookmanagement.importer;
+
+import com.bookmanagement.dto.NewBookDTO;
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.repository.AuthorRepository;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.repository.CategoryRepository;
+import com.bookmanagement.utils.EntityIdGenerator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes one chunk of import records in its own transaction.
+ * Records get the same checks as {@code POST /api/books}, but every lookup is one set-based query
+ * per chunk and the rows go to the database as JDBC batches.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookImportWriter {
+
+    private static final String INSERT_BOOK =
+            "INSERT INTO books (id, title, isbn, published_date, author_id, rating, rating_sum, review_count, "
+            + "one_star_count, two_star_count, three_star_count, four_star_count, five_star_count, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, 0, 0, 0, 0, 0, 0, 0, 0, ?, ?)";
+    private static final String INSERT_BOOK_CATEGORY =
+            "INSERT INTO book_categories (book_id, category_id) VALUES (?, ?)";
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityIdGenerator entityIdGenerator;
+    private final Validator validator;
+
+    public record ChunkResult(int imported, List<ImportError> errors) {
+    }
+
+    private record NumberedBook(long id, NewBookDTO book) {
+    }
+
+    @Transactional
+    public ChunkResult write(List<ImportRow> rows) {
+        List<ImportError> errors = new ArrayList<>();
+        List<ImportRow> candidates = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            String problem = row.parseError() != null ? row.parseError() : violationsOf(row.book());
+            if (problem != null) {
+                errors.add(errorOf(row, problem));
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        List<NewBookDTO> accepted = acceptKnownReferencesAndNewIsbns(candidates, errors);
+        if (!accepted.isEmpty()) {
+            insert(accepted);
+        }
+        errors.sort((a, b) -> Long.compare(a.line(), b.line()));
+        return new ChunkResult(accepted.size(), errors);
+    }
+
+    private List<NewBookDTO> acceptKnownReferencesAndNewIsbns(List<ImportRow> candidates, List<ImportError> errors) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> authorIds = authorRepository.findExistingIds(
+                candidates.stream().map(row -> row.book().getAuthorId()).collect(Collectors.toSet()));
+        Set<Long> categoryIds = categoryRepository.findExistingIds(
+                candidates.stream().flatMap(row -> row.book().getCategoryIds().stream()).collect(Collectors.toSet()));
+        Set<String> takenIsbns = new HashSet<>(bookRepository.findExistingIsbns(
+                candidates.stream().map(row -> row.book().getIsbn()).collect(Collectors.toSet())));
+
+        List<NewBookDTO> accepted = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            NewBookDTO book = row.book();
+            Long missingCategory = book.getCategoryIds().stream()
+                    .filter(id -> !categoryIds.contains(id))
+                    .findFirst()
+                    .orElse(null);
+            if (!authorIds.contains(book.getAuthorId())) {
+                errors.add(errorOf(row, "Author not found with id: " + book.getAuthorId()));
+            } else if (missingCategory != null) {
+                errors.add(errorOf(row, "Category not found with id: " + missingCategory));
+            } else if (!takenIsbns.add(book.getIsbn())) {
+                // taken by an existing book or by an earlier record of the same file
+                errors.add(errorOf(row, "Book with ISBN " + book.getIsbn() + " already exists"));
+            } else {
+                accepted.add(book);
+            }
+        }
+        return accepted;
+    }
+
+    private void insert(List<NewBookDTO> books) {
+        // ids come from the book sequence, so the category links can be written without reading the books back
+        List<NumberedBook> numbered = new ArrayList<>(books.size());
+        for (NewBookDTO book : books) {
+            numbered.add(new NumberedBook(entityIdGenerator.nextId(Book.class), book));
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_BOOK, numbered, numbered.size(), (statement, row) -> {
+            NewBookDTO book = row.book();
+            statement.setLong(1, row.id());
+            statement.setString(2, book.getTitle());
+            statement.setString(3, book.getIsbn());
+            if (book.getPublishedDate() != null) {
+                statement.setDate(4, Date.valueOf(book.getPublishedDate()));
+            } else {
+                statement.setNull(4, Types.DATE);
+            }
+            statement.setLong(5, book.getAuthorId());
+            statement.setTimestamp(6, now);
+            statement.setTimestamp(7, now);
+        });
+
+        List<long[]> links = new ArrayList<>();
+        for (NumberedBook row : numbered) {
+            row.book().getCategoryIds().forEach(categoryId -> links.add(new long[]{row.id(), categoryId}));
+        }
+        jdbcTemplate.batchUpdate(INSERT_BOOK_CATEGORY, links, links.size(), (statement, link) -> {
+            statement.setLong(1, link[0]);
+            statement.setLong(2, link[1]);
+        });
+    }
+
+    private String violationsOf(NewBookDTO book) {
+        Set<ConstraintViolation<NewBookDTO>> violations = validator.validate(book);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        List<String> messages = new ArrayList<>(violations.stream().map(ConstraintViolation::getMessage).toList());
+        Collections.sort(messages);
+        return String.join("; ", messages);
+    }
+
+    private static ImportError errorOf(ImportRow row, String message) {
+        return new ImportError(row.line(), row.book() != null ? row.book().getIsbn() : null, message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bookmanagement.importer;
+
+/**
+ * A rejected import record, by line number in the file
+ */
+public record ImportError(long line, String isbn, String message) {
+}
@@ -0,0 +1,126 @@
+package com.bookmanagement.importer;
+
+import com.bookmanagement.dto.ImportErrorDTO;
+import com.bookmanagement.dto.ImportJobDTO;
+import com.bookmanagement.enums.ImportFormat;
+import com.bookmanagement.enums.ImportStatus;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one bulk import. Counters are updated by the worker and read by pollers without locking;
+ * only the first {@code maxErrors} rejected records are kept for the error report.
+ */
+public class ImportJob {
+
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+    @Getter
+    private final String fileName;
+    @Getter
+    private final ImportFormat format;
+    @Getter
+    private final Path file;
+    private final int maxErrors;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<ImportError> errors = new ArrayList<>();
+
+    private volatile ImportStatus status = ImportStatus.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String failureMessage;
+
+    public ImportJob(String fileName, ImportFormat format, Path file, int maxErrors) {
+        this.fileName = fileName;
+        this.format = format;
+        this.file = file;
+        this.maxErrors = maxErrors;
+    }
+
+    public void start() {
+        startedAt = LocalDateTime.now();
+        status = ImportStatus.RUNNING;
+    }
+
+    public void recordChunk(int rows, int importedRows, List<ImportError> rejected) {
+        rowsRead.addAndGet(rows);
+        imported.addAndGet(importedRows);
+        failed.addAndGet(rejected.size());
+        synchronized (errors) {
+            for (ImportError error : rejected) {
+                if (errors.size() >= maxErrors) {
+                    break;
+                }
+                errors.add(error);
+            }
+        }
+    }
+
+    public void complete() {
+        finishedAt = LocalDateTime.now();
+        status = ImportStatus.COMPLETED;
+    }
+
+    public void fail(String message) {
+        failureMessage = message;
+        finishedAt = LocalDateTime.now();
+        status = ImportStatus.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == ImportStatus.COMPLETED || status == ImportStatus.FAILED;
+    }
+
+    public long imported() {
+        return imported.get();
+    }
+
+    public List<ImportErrorDTO> errorReport() {
+        synchronized (errors) {
+            return errors.stream()
+                    .map(error -> ImportErrorDTO.builder()
+                            .line(error.line())
+                            .isbn(error.isbn())
+                            .message(error.message())
+                            .build())
+                    .toList();
+        }
+    }
+
+    public ImportJobDTO toDTO() {
+        return ImportJobDTO.builder()
+                .id(id)
+                .fileName(fileName)
+                .format(format)
+                .status(status)
+                .rowsRead(rowsRead.get())
+                .imported(imported.get())
+                .failed(failed.get())
+                .rowsPerSecond(rowsPerSecond())
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .failureMessage(failureMessage)
+                .build();
+    }
+
+    private long rowsPerSecond() {
+        if (startedAt == null) {
+            return 0;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        long millis = Math.max(Duration.between(startedAt, end).toMillis(), 1);
+        return rowsRead.get() * 1000 / millis;
+    }
+}
@@ -0,0 +1,17 @@
+package com.bookmanagement.importer;
+
+import com.bookmanagement.dto.NewBookDTO;
+
+/**
+ * One record of an import file: the parsed book, or why it could not be parsed
+ */
+public record ImportRow(long line, NewBookDTO book, String parseError) {
+
+    public static ImportRow parsed(long line, NewBookDTO book) {
+        return new ImportRow(line, book, null);
+    }
+
+    public static ImportRow unparseable(long line, String parseError) {
+        return new ImportRow(line, null, parseError);
+    }
+}
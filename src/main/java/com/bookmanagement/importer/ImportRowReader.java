@@ -0,0 +1,222 @@
+package com.bookmanagement.importer;
+
+import com.bookmanagement.dto.NewBookDTO;
+import com.bookmanagement.enums.ImportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads an import file chunk by chunk, so only one chunk of records is in memory at a time.
+ * <p>
+ * NDJSON files hold one {@link NewBookDTO} object per line. CSV files start with a header naming the columns
+ * {@code title, isbn, publishedDate, authorId, categoryIds} in any order; category ids are separated by
+ * {@code ;} and fields may be quoted. Blank lines are skipped in both formats.
+ */
+public abstract class ImportRowReader implements Closeable {
+
+    protected final BufferedReader reader;
+    protected long lineNumber;
+
+    protected ImportRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    public static ImportRowReader open(Path file, ImportFormat format, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        return switch (format) {
+            case NDJSON -> new NdjsonReader(reader, objectMapper);
+            case CSV -> new CsvReader(reader);
+        };
+    }
+
+    /**
+     * Returns up to {@code size} records, or an empty list at the end of the file
+     */
+    public List<ImportRow> nextChunk(int size) throws IOException {
+        List<ImportRow> chunk = new ArrayList<>(size);
+        while (chunk.size() < size) {
+            ImportRow row = nextRow();
+            if (row == null) {
+                break;
+            }
+            chunk.add(row);
+        }
+        return chunk;
+    }
+
+    protected abstract ImportRow nextRow() throws IOException;
+
+    protected String nextNonBlankLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+        } while (line != null && line.isBlank());
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class NdjsonReader extends ImportRowReader {
+
+        private final ObjectMapper objectMapper;
+
+        NdjsonReader(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected ImportRow nextRow() throws IOException {
+            String line = nextNonBlankLine();
+            if (line == null) {
+                return null;
+            }
+            try {
+                return ImportRow.parsed(lineNumber, objectMapper.readValue(line, NewBookDTO.class));
+            } catch (JsonProcessingException e) {
+                return ImportRow.unparseable(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class CsvReader extends ImportRowReader {
+
+        private static final List<String> COLUMNS = List.of("title", "isbn", "publisheddate", "authorid", "categoryids");
+
+        private Map<String, Integer> columns;
+
+        CsvReader(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        protected ImportRow nextRow() throws IOException {
+            if (columns == null && !readHeader()) {
+                return null;
+            }
+            String line = nextNonBlankLine();
+            if (line == null) {
+                return null;
+            }
+            long recordLine = lineNumber;
+            List<String> fields = new ArrayList<>();
+            // a quoted field may span lines, in which case the record continues on the next one
+            while (!split(line, fields)) {
+                String continuation = reader.readLine();
+                lineNumber++;
+                if (continuation == null) {
+                    return ImportRow.unparseable(recordLine, "Unterminated quoted field");
+                }
+                line = line + "\n" + continuation;
+                fields.clear();
+            }
+            if (fields.size() != columns.size()) {
+                return ImportRow.unparseable(recordLine, "Expected " + columns.size() + " fields but found " + fields.size());
+            }
+
+            try {
+                return ImportRow.parsed(recordLine, NewBookDTO.builder()
+                        .title(field(fields, "title"))
+                        .isbn(field(fields, "isbn"))
+                        .publishedDate(date(field(fields, "publisheddate")))
+                        .authorId(id(field(fields, "authorid")))
+                        .categoryIds(ids(field(fields, "categoryids")))
+                        .build());
+            } catch (NumberFormatException | DateTimeParseException e) {
+                return ImportRow.unparseable(recordLine, "Malformed value: " + e.getMessage());
+            }
+        }
+
+        private boolean readHeader() throws IOException {
+            String header = nextNonBlankLine();
+            if (header == null) {
+                return false;
+            }
+            List<String> names = new ArrayList<>();
+            split(header, names);
+            columns = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).strip().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.keySet().containsAll(COLUMNS)) {
+                throw new IllegalArgumentException("CSV header must name the columns title, isbn, publishedDate, authorId and categoryIds");
+            }
+            return true;
+        }
+
+        private String field(List<String> fields, String column) {
+            String value = fields.get(columns.get(column)).strip();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static LocalDate date(String value) {
+            return value != null ? LocalDate.parse(value) : null;
+        }
+
+        private static Long id(String value) {
+            return value != null ? Long.valueOf(value) : null;
+        }
+
+        private static Set<Long> ids(String value) {
+            Set<Long> ids = new LinkedHashSet<>();
+            if (value != null) {
+                for (String id : value.split(";")) {
+                    if (!id.isBlank()) {
+                        ids.add(Long.valueOf(id.strip()));
+                    }
+                }
+            }
+            return ids;
+        }
+
+        /**
+         * Splits one record into fields; returns false when a quoted field is still open at the end of the text
+         */
+        private static boolean split(String text, List<String> fields) {
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return !quoted;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookmanagement.leaderboard;
+
+import com.bookmanagement.enums.LeaderboardType;
+import com.bookmanagement.event.BookChangedEvent;
+import com.bookmanagement.event.BooksImportedEvent;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.utils.BookChunkLoader;
+import com.bookmanagement.utils.BookIndexSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Top rated and most reviewed books, overall and per category.
+ * Rebuilt from the database at startup and on {@code catalogue.leaderboard.rebuild-cron}, which also re-centres
+ * the Bayesian prior on the current mean rating, and kept current from book writes and rating changes.
+ */
+@Component
+@Slf4j
+public class BookLeaderboardIndex extends BookIndexSupport {
+
+    private final BookRepository bookRepository;
+    private final BookChunkLoader bookChunkLoader;
+    private final int topK;
+    private final double priorWeight;
+    private final double defaultMean;
+
+    private volatile Leaderboards leaderboards;
+
+    public BookLeaderboardIndex(BookRepository bookRepository,
+                                BookChunkLoader bookChunkLoader,
+                                @Value("${catalogue.leaderboard.top-k:100}") int topK,
+                                @Value("${catalogue.leaderboard.prior-weight:10}") double priorWeight,
+                                @Value("${catalogue.leaderboard.default-mean:3.0}") double defaultMean) {
+        this.bookRepository = bookRepository;
+        this.bookChunkLoader = bookChunkLoader;
+        this.topK = topK;
+        this.priorWeight = priorWeight;
+        this.defaultMean = defaultMean;
+        this.leaderboards = new Leaderboards(topK, priorWeight, defaultMean);
+    }
+
+    public List<RankedBook> top(LeaderboardType type, Long categoryId, int limit) {
+        return leaderboards.top(type, categoryId, limit);
+    }
+
+    public int maxSize() {
+        return topK;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${catalogue.leaderboard.rebuild-cron:0 45 3 * * *}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        rebuildWith(() -> {
+            List<RatedBook> all = Collections.synchronizedList(new ArrayList<>());
+            bookChunkLoader.forEachChunk(RatedBook::of, all::addAll);
+            leaderboards = Leaderboards.of(all, topK, priorWeight, defaultMean);
+        });
+        log.info("Leaderboards rebuilt with {} rated books (prior mean {}) in {} ms",
+                leaderboards.size(), String.format("%.3f", leaderboards.priorMean()), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        bookChanged(event.bookId());
+    }
+
+    @EventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        rebuild();
+    }
+
+    @Override
+    protected void refresh(Long bookId) {
+        bookRepository.findByIdWithDetails(bookId).ifPresentOrElse(
+                book -> leaderboards.put(RatedBook.of(book)),
+                () -> leaderboards.remove(bookId)
+        );
+    }
+}
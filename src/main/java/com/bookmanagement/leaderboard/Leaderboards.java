@@ -0,0 +1,184 @@
+package com.bookmanagement.leaderboard;
+
+import com.bookmanagement.enums.LeaderboardType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Top-k "top rated" and "most reviewed" boards, overall and per category, for the books that have reviews.
+ * <p>
+ * The rating is weighted towards the catalogue mean so a book with a handful of perfect reviews does not outrank
+ * one with thousands of good ones: {@code (priorWeight * priorMean + ratingSum) / (priorWeight + reviewCount)}.
+ * The mean is fixed when the boards are built.
+ * <p>
+ * Each board keeps only its best {@code 2 * topK} books in a skip list, so reads are lock-free and never
+ * see a partially sorted board. Writes are serialized; a board that lost books it cannot replace from its own
+ * entries is refilled from the full set of rated books kept here.
+ */
+public class Leaderboards {
+
+    private final int topK;
+    private final int capacity;
+    private final double priorWeight;
+    private final double priorMean;
+
+    private final Map<Long, RankedBook> books = new HashMap<>();
+    private final Map<LeaderboardType, Board> overall = new EnumMap<>(LeaderboardType.class);
+    private final Map<LeaderboardType, Map<Long, Board>> byCategory = new EnumMap<>(LeaderboardType.class);
+
+    public Leaderboards(int topK, double priorWeight, double priorMean) {
+        this.topK = topK;
+        this.capacity = 2 * topK;
+        this.priorWeight = priorWeight;
+        this.priorMean = priorMean;
+        for (LeaderboardType type : LeaderboardType.values()) {
+            overall.put(type, new Board(RankedBook.ranking(type)));
+            byCategory.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Builds the boards with the mean rating of all the given reviews as the prior,
+     * or {@code defaultMean} while there are no reviews at all
+     */
+    public static Leaderboards of(Collection<RatedBook> all, int topK, double priorWeight, double defaultMean) {
+        long ratingSum = 0;
+        long reviewCount = 0;
+        for (RatedBook book : all) {
+            ratingSum += book.ratingSum();
+            reviewCount += book.reviewCount();
+        }
+        Leaderboards leaderboards = new Leaderboards(topK, priorWeight, reviewCount == 0 ? defaultMean : (double) ratingSum / reviewCount);
+        all.forEach(leaderboards::put);
+        return leaderboards;
+    }
+
+    /**
+     * Up to {@code limit} (at most {@code topK}) books of one board; a category without rated books has an empty board
+     */
+    public List<RankedBook> top(LeaderboardType type, Long categoryId, int limit) {
+        Board board = categoryId == null ? overall.get(type) : byCategory.get(type).get(categoryId);
+        if (board == null) {
+            return List.of();
+        }
+        return board.entries.stream().limit(Math.min(limit, topK)).toList();
+    }
+
+    /**
+     * Adds or re-ranks a book; a book without reviews leaves the boards
+     */
+    public synchronized void put(RatedBook book) {
+        RankedBook current = book.reviewCount() > 0 ? new RankedBook(book, weightedRating(book)) : null;
+        RankedBook previous = current != null ? books.put(book.bookId(), current) : books.remove(book.bookId());
+        update(previous, current);
+    }
+
+    public synchronized void remove(long bookId) {
+        update(books.remove(bookId), null);
+    }
+
+    public double weightedRating(RatedBook book) {
+        return (priorWeight * priorMean + book.ratingSum()) / (priorWeight + book.reviewCount());
+    }
+
+    public double priorMean() {
+        return priorMean;
+    }
+
+    public int maxSize() {
+        return topK;
+    }
+
+    public synchronized int size() {
+        return books.size();
+    }
+
+    private void update(RankedBook previous, RankedBook current) {
+        if (previous == null && current == null) {
+            return;
+        }
+        Set<Long> categoryIds = new HashSet<>();
+        if (previous != null) {
+            categoryIds.addAll(previous.book().categoryIds());
+        }
+        if (current != null) {
+            categoryIds.addAll(current.book().categoryIds());
+        }
+
+        for (LeaderboardType type : LeaderboardType.values()) {
+            apply(overall.get(type), null, previous, current);
+            Map<Long, Board> boards = byCategory.get(type);
+            for (Long categoryId : categoryIds) {
+                Board board = boards.computeIfAbsent(categoryId, id -> new Board(RankedBook.ranking(type)));
+                apply(board, categoryId, inCategory(previous, categoryId), inCategory(current, categoryId));
+                if (board.entries.isEmpty() && !board.truncated) {
+                    boards.remove(categoryId);
+                }
+            }
+        }
+    }
+
+    private void apply(Board board, Long categoryId, RankedBook previous, RankedBook current) {
+        board.replace(previous, current);
+        if (board.truncated && board.entries.size() < topK) {
+            board.refill(books.values().stream()
+                    .filter(ranked -> categoryId == null || ranked.book().categoryIds().contains(categoryId))
+                    .toList());
+        }
+    }
+
+    private static RankedBook inCategory(RankedBook ranked, Long categoryId) {
+        return ranked != null && ranked.book().categoryIds().contains(categoryId) ? ranked : null;
+    }
+
+    /**
+     * One board; always holds the best {@code entries.size()} of its books.
+     * While {@code truncated}, books ranked below the last entry are left out, so that holds.
+     */
+    private final class Board {
+
+        private final Comparator<RankedBook> ranking;
+        private volatile ConcurrentSkipListSet<RankedBook> entries;
+        private boolean truncated;
+
+        Board(Comparator<RankedBook> ranking) {
+            this.ranking = ranking;
+            this.entries = new ConcurrentSkipListSet<>(ranking);
+        }
+
+        void replace(RankedBook previous, RankedBook current) {
+            if (previous != null) {
+                entries.remove(previous);
+            }
+            if (current != null && (!truncated || (!entries.isEmpty() && ranking.compare(current, entries.last()) < 0))) {
+                entries.add(current);
+                if (entries.size() > capacity) {
+                    entries.pollLast();
+                    truncated = true;
+                }
+            }
+        }
+
+        /**
+         * Swaps in the best books of the candidates, so readers never see the board half filled
+         */
+        void refill(Collection<RankedBook> candidates) {
+            List<RankedBook> sorted = new ArrayList<>(candidates);
+            sorted.sort(ranking);
+            ConcurrentSkipListSet<RankedBook> refilled = new ConcurrentSkipListSet<>(ranking);
+            refilled.addAll(sorted.subList(0, Math.min(capacity, sorted.size())));
+            entries = refilled;
+            truncated = sorted.size() > capacity;
+        }
+    }
+}
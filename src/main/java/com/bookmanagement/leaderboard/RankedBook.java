@@ -0,0 +1,32 @@
+package com.bookmanagement.leaderboard;
+
+import com.bookmanagement.enums.LeaderboardType;
+
+import java.util.Comparator;
+
+/**
+ * A book on the leaderboards with its Bayesian-weighted rating
+ */
+public record RankedBook(RatedBook book, double weightedRating) {
+
+    /**
+     * Highest weighted rating first, then most reviews, then lowest id
+     */
+    static final Comparator<RankedBook> TOP_RATED = Comparator.comparingDouble(RankedBook::weightedRating).reversed()
+            .thenComparing(Comparator.comparingLong((RankedBook ranked) -> ranked.book().reviewCount()).reversed())
+            .thenComparingLong(ranked -> ranked.book().bookId());
+
+    /**
+     * Most reviews first, then highest weighted rating, then lowest id
+     */
+    static final Comparator<RankedBook> MOST_REVIEWED = Comparator.comparingLong((RankedBook ranked) -> ranked.book().reviewCount()).reversed()
+            .thenComparing(Comparator.comparingDouble(RankedBook::weightedRating).reversed())
+            .thenComparingLong(ranked -> ranked.book().bookId());
+
+    static Comparator<RankedBook> ranking(LeaderboardType type) {
+        return switch (type) {
+            case TOP_RATED -> TOP_RATED;
+            case MOST_REVIEWED -> MOST_REVIEWED;
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.bookmanagement.leaderboard;
+
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.entity.Category;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The fields of a book that leaderboards rank and show
+ */
+public record RatedBook(
+        long bookId,
+        String title,
+        String authorName,
+        Set<Long> categoryIds,
+        long ratingSum,
+        long reviewCount
+) {
+
+    /**
+     * Reads the author and categories, so the book must be loaded with them or inside a transaction
+     */
+    public static RatedBook of(Book book) {
+        return new RatedBook(
+                book.getId(),
+                book.getTitle(),
+                book.getAuthor() != null ? book.getAuthor().getName() : null,
+                book.getCategories().stream().map(Category::getId).collect(Collectors.toUnmodifiableSet()),
+                book.getRatingSum() != null ? book.getRatingSum() : 0,
+                book.getReviewCount() != null ? book.getReviewCount() : 0);
+    }
+
+    public double averageRating() {
+        return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+    }
+}
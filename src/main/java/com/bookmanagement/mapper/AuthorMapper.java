@@ -6,8 +6,13 @@ import org.mapstruct.*;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface AuthorMapper {
+    @Mapping(target = "books", ignore = true)
+    @Mapping(target = "bookCount", ignore = true)
+    @Mapping(target = "booksNextCursor", ignore = true)
     AuthorDTO toDTO(Author author);
 
+    @Mapping(target = "bookCount", ignore = true)
+    @Mapping(target = "books", ignore = true)
     AllAuthorDTO toAllDTO(Author author);
 
     AuthorDetailDTO toDetailDTO(Author author);
@@ -3,6 +3,8 @@ package com.bookmanagement.mapper;
 import com.bookmanagement.dto.*;
 import com.bookmanagement.entity.*;
 import org.mapstruct.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -31,6 +33,23 @@ public interface BookMapper {
     BookDetailDTO toDetailDTO(Book book);
     BookSummaryDTO toSummaryDTO(Book book);
     
+    default RatingHistogramDTO toRatingHistogramDTO(RatingHistogram histogram) {
+        long[] counts = histogram.toArray();
+        Map<Integer, Long> stars = new LinkedHashMap<>();
+        long reviewCount = 0;
+        long ratingSum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            stars.put(i + 1, counts[i]);
+            reviewCount += counts[i];
+            ratingSum += (i + 1) * counts[i];
+        }
+        return RatingHistogramDTO.builder()
+                .stars(stars)
+                .reviewCount(reviewCount)
+                .averageRating(reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount)
+                .build();
+    }
+    
     default Set<Long> mapCategoryIds(Set<Category> categories) {
         return categories.stream()
                 .map(Category::getId)
@@ -2,7 +2,9 @@ package com.bookmanagement.mapper;
 
 import com.bookmanagement.dto.*;
 import com.bookmanagement.entity.*;
+import com.bookmanagement.security.AuthenticatedUser;
 import org.mapstruct.*;
+import org.springframework.security.core.GrantedAuthority;
 
 import java.util.Collections;
 import java.util.Set;
@@ -35,6 +37,21 @@ public interface UserMapper {
     @Mapping(target = "updatedAt", ignore = true)
     User toEntity(NewUserDTO dto);
     
+    // Map an authenticated principal to UserResponseDTO, with roles shown as for the entity
+    default UserResponseDTO toResponseDTO(AuthenticatedUser user) {
+        String role = user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.startsWith("ROLE_") ? authority.substring(5) : authority)
+                .sorted()
+                .collect(Collectors.joining(", "));
+        return UserResponseDTO.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .role(role.isEmpty() ? null : role)
+                .build();
+    }
+    
     // Convert Set<Role> entities to comma-separated string for display
     default String mapRolesToString(Set<Role> roles) {
         if (roles == null || roles.isEmpty()) {
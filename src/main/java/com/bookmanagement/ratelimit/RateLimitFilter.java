@@ -0,0 +1,115 @@
+package com.bookmanagement.ratelimit;
+
+import com.bookmanagement.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Applies the first {@link RateLimitPolicy} matching a request, with a {@link TokenBucketLimiter} per policy.
+ * A request over its limit is answered with {@code 429 Too Many Requests} and a {@code Retry-After} in seconds,
+ * before it reaches authentication checks or the database. Requests matching no policy pass untouched.
+ * <p>
+ * Runs after the JWT filter so that per-user policies see the authenticated principal.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<Rule> rules;
+    private final ObjectMapper objectMapper;
+
+    private record Rule(RateLimitPolicy policy, TokenBucketLimiter limiter) {
+    }
+
+    public RateLimitFilter(List<RateLimitPolicy> policies, int maxKeys, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this(policies, maxKeys, objectMapper, meterRegistry, Clock.systemUTC());
+    }
+
+    RateLimitFilter(List<RateLimitPolicy> policies, int maxKeys, ObjectMapper objectMapper,
+                    MeterRegistry meterRegistry, Clock clock) {
+        this.rules = policies.stream()
+                .map(policy -> new Rule(policy,
+                        new TokenBucketLimiter(policy.capacity(), policy.period(), maxKeys, clock)))
+                .toList();
+        this.objectMapper = objectMapper;
+        rules.forEach(rule -> bindMetrics(rule, meterRegistry));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Rule rule = match(request);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitMillis = rule.limiter().tryAcquire(rule.policy().key().resolve(request));
+        if (waitMillis == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        reject(response, waitMillis);
+    }
+
+    private Rule match(HttpServletRequest request) {
+        for (Rule rule : rules) {
+            if (rule.policy().matcher().matches(request)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, long waitMillis) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .message("Too many requests, please retry in " + retryAfterSeconds + " seconds")
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * ratelimit.requests (result allowed or rejected), ratelimit.untracked (requests charged to the shared
+     * bucket because the key table was full) and ratelimit.keys, tagged with the policy name
+     */
+    private static void bindMetrics(Rule rule, MeterRegistry registry) {
+        String policy = rule.policy().name();
+        TokenBucketLimiter limiter = rule.limiter();
+        FunctionCounter.builder("ratelimit.requests", limiter, l -> l.stats().allowed())
+                .tags("policy", policy, "result", "allowed")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.requests", limiter, l -> l.stats().rejected())
+                .tags("policy", policy, "result", "rejected")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.untracked", limiter, l -> l.stats().overflowed())
+                .tag("policy", policy)
+                .register(registry);
+        Gauge.builder("ratelimit.keys", limiter, TokenBucketLimiter::size)
+                .tag("policy", policy)
+                .register(registry);
+    }
+}
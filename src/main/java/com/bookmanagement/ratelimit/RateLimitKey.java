@@ -0,0 +1,45 @@
+package com.bookmanagement.ratelimit;
+
+import com.bookmanagement.security.AuthenticatedUser;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * What a rate limit counts requests by
+ */
+public enum RateLimitKey {
+
+    /**
+     * The client address, as resolved by the servlet container (configure {@code server.forward-headers-strategy}
+     * behind a proxy rather than trusting client-supplied headers here)
+     */
+    IP {
+        @Override
+        String resolve(HttpServletRequest request) {
+            return "ip:" + request.getRemoteAddr();
+        }
+    },
+
+    /**
+     * The authenticated user, by id when the principal carries one and by username otherwise; anonymous
+     * requests are counted by client address
+     */
+    USER {
+        @Override
+        String resolve(HttpServletRequest request) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated()
+                    || authentication instanceof AnonymousAuthenticationToken) {
+                return IP.resolve(request);
+            }
+            if (authentication.getPrincipal() instanceof AuthenticatedUser user && user.getId() != null) {
+                return "id:" + user.getId();
+            }
+            return "user:" + authentication.getName();
+        }
+    };
+
+    abstract String resolve(HttpServletRequest request);
+}
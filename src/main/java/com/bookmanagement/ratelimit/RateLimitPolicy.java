@@ -0,0 +1,12 @@
+package com.bookmanagement.ratelimit;
+
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.time.Duration;
+
+/**
+ * Limit for one group of endpoints: each key may send {@code capacity} requests at once, refilled evenly over
+ * {@code period}
+ */
+public record RateLimitPolicy(String name, RequestMatcher matcher, RateLimitKey key, int capacity, Duration period) {
+}
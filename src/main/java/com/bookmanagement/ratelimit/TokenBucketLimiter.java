@@ -0,0 +1,107 @@
+package com.bookmanagement.ratelimit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets per key: each key may spend {@code capacity} requests at once, and earns them back evenly over
+ * {@code period}. A bucket is stored as the single instant at which it will be full again, so taking a token is
+ * one compare-and-set on that instant and no lock is taken on the request path.
+ * <p>
+ * A full bucket holds no information, so it can be dropped. When more than {@code maxKeys} keys are tracked,
+ * one thread sweeps out the full buckets, at most once per refill interval. If the keys still do not fit, a new key
+ * is charged to one overflow bucket shared by all untracked keys, so a flood of distinct keys costs neither memory
+ * nor a reset of existing limits.
+ */
+public class TokenBucketLimiter {
+
+    private final long intervalMillis;
+    private final long burstMillis;
+    private final int maxKeys;
+    private final Clock clock;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow = new AtomicLong();
+    private final ReentrantLock sweeping = new ReentrantLock();
+    private volatile long nextSweepAt;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    public TokenBucketLimiter(int capacity, Duration period, int maxKeys, Clock clock) {
+        if (capacity <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("A token bucket needs a positive capacity and period");
+        }
+        this.intervalMillis = Math.max(1, period.toMillis() / capacity);
+        this.burstMillis = intervalMillis * capacity;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    public record Stats(long allowed, long rejected, long overflowed) {
+    }
+
+    /**
+     * Takes a token from the key's bucket.
+     *
+     * @return 0 if the request may proceed, otherwise the milliseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = clock.millis();
+        AtomicLong bucket = bucket(key, now);
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + intervalMillis;
+            long wait = next - now - burstMillis;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public Stats stats() {
+        return new Stats(allowed.sum(), rejected.sum(), overflowed.sum());
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            sweep(now);
+            if (buckets.size() >= maxKeys) {
+                overflowed.increment();
+                return overflow;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    // a bucket refilled meanwhile may lose a token it was just charged; that grants at most one extra request
+    private void sweep(long now) {
+        if (now < nextSweepAt || !sweeping.tryLock()) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.get() <= now);
+            nextSweepAt = now + intervalMillis;
+        } finally {
+            sweeping.unlock();
+        }
+    }
+}
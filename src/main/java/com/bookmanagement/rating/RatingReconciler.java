@@ -0,0 +1,186 @@
+package com.bookmanagement.rating;
+
+import com.bookmanagement.event.BookChangedEvent;
+import com.bookmanagement.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Recomputes every book's rating aggregates and star histogram from its reviews and repairs the ones that drifted,
+ * e.g. after reviews were changed outside the API. Runs once at startup, which also fills the aggregates
+ * of books rated before they existed, and then on {@code catalogue.rating-reconcile.cron}.
+ * <p>
+ * Id ranges are reconciled in parallel, each in its own transaction. A chunk locks its book rows before
+ * reading the reviews, so a review write racing with it either is counted or applies its delta afterwards.
+ */
+@Component
+@Slf4j
+public class RatingReconciler {
+
+    private static final String STAR_COLUMNS =
+            "one_star_count, two_star_count, three_star_count, four_star_count, five_star_count";
+    private static final String LOCK_BOOKS =
+            "SELECT id, rating_sum, review_count, rating, " + STAR_COLUMNS + " FROM books WHERE id BETWEEN ? AND ? FOR UPDATE";
+    private static final String COUNT_REVIEWS =
+            "SELECT book_id, rating, COUNT(*) FROM reviews WHERE book_id BETWEEN ? AND ? GROUP BY book_id, rating";
+    private static final String FIX_BOOK =
+            "UPDATE books SET rating_sum = ?, review_count = ?, rating = ?, one_star_count = ?, two_star_count = ?, "
+            + "three_star_count = ?, four_star_count = ?, five_star_count = ? WHERE id = ?";
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int parallelism;
+    private final boolean onStartup;
+
+    public record Result(int chunks, int booksFixed) {
+    }
+
+    private record Aggregates(long sum, long count, double rating, long[] stars) {
+
+        static Aggregates of(long[] stars) {
+            long sum = 0;
+            long count = 0;
+            for (int i = 0; i < stars.length; i++) {
+                sum += (i + 1) * stars[i];
+                count += stars[i];
+            }
+            return new Aggregates(sum, count, count == 0 ? 0.0 : (double) sum / count, stars);
+        }
+
+        boolean matches(Aggregates other) {
+            return sum == other.sum && count == other.count && Math.abs(rating - other.rating) < 1e-9
+                    && Arrays.equals(stars, other.stars);
+        }
+    }
+
+    private record Fix(long bookId, boolean ratingChanged) {
+    }
+
+    public RatingReconciler(BookRepository bookRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${catalogue.rating-reconcile.chunk-size:1000}") int chunkSize,
+                            @Value("${catalogue.rating-reconcile.parallelism:4}") int parallelism,
+                            @Value("${catalogue.rating-reconcile.on-startup:true}") boolean onStartup) {
+        this.bookRepository = bookRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.onStartup = onStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (onStartup) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${catalogue.rating-reconcile.cron:0 30 3 * * *}")
+    public Result reconcile() {
+        Long minId = bookRepository.findMinId().orElse(null);
+        Long maxId = bookRepository.findMaxId().orElse(null);
+        if (minId == null || maxId == null) {
+            return new Result(0, 0);
+        }
+
+        long started = System.nanoTime();
+        List<Fix> fixes = new ArrayList<>();
+        int chunkCount = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            List<Future<List<Fix>>> chunks = new ArrayList<>();
+            for (long from = minId; from <= maxId; from += chunkSize) {
+                long fromId = from;
+                long toId = Math.min(from + chunkSize - 1, maxId);
+                chunks.add(executor.submit(() -> reconcileChunk(fromId, toId)));
+            }
+            for (Future<List<Fix>> chunk : chunks) {
+                fixes.addAll(chunk.get());
+            }
+            chunkCount = chunks.size();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reconciling ratings", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Failed to reconcile ratings", ex.getCause());
+        }
+
+        // the chunks have committed, so the listeners see the repaired ratings
+        fixes.stream()
+                .filter(Fix::ratingChanged)
+                .forEach(fix -> eventPublisher.publishEvent(
+                        new BookChangedEvent(fix.bookId(), BookChangedEvent.ChangeType.RATING_CHANGED)));
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        if (fixes.isEmpty()) {
+            log.debug("Rating aggregates of books {}..{} are consistent ({} ms)", minId, maxId, elapsedMs);
+        } else {
+            log.warn("Repaired rating aggregates of {} books in {} ms", fixes.size(), elapsedMs);
+        }
+        return new Result(chunkCount, fixes.size());
+    }
+
+    private List<Fix> reconcileChunk(long fromId, long toId) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, Aggregates> stored = new HashMap<>();
+            jdbcTemplate.query(LOCK_BOOKS, rs -> {
+                long[] stars = new long[5];
+                for (int i = 0; i < stars.length; i++) {
+                    stars[i] = rs.getLong(5 + i);
+                }
+                stored.put(rs.getLong(1), new Aggregates(rs.getLong(2), rs.getLong(3), rs.getDouble(4), stars));
+            }, fromId, toId);
+            if (stored.isEmpty()) {
+                return List.of();
+            }
+
+            Map<Long, long[]> starsByBook = new HashMap<>();
+            jdbcTemplate.query(COUNT_REVIEWS, rs -> {
+                int rating = rs.getInt(2);
+                if (rating >= 1 && rating <= 5) {
+                    starsByBook.computeIfAbsent(rs.getLong(1), id -> new long[5])[rating - 1] = rs.getLong(3);
+                }
+            }, fromId, toId);
+
+            List<Fix> fixes = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            stored.forEach((bookId, current) -> {
+                Aggregates expected = Aggregates.of(starsByBook.getOrDefault(bookId, new long[5]));
+                if (!current.matches(expected)) {
+                    fixes.add(new Fix(bookId, Math.abs(current.rating() - expected.rating()) >= 1e-9));
+                    long[] stars = expected.stars();
+                    updates.add(new Object[]{expected.sum(), expected.count(), expected.rating(),
+                            stars[0], stars[1], stars[2], stars[3], stars[4], bookId});
+                }
+            });
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(FIX_BOOK, updates);
+            }
+            return fixes;
+        });
+    }
+}
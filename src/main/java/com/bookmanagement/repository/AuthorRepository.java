@@ -2,15 +2,18 @@ package com.bookmanagement.repository;
 
 import com.bookmanagement.entity.Author;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface AuthorRepository extends JpaRepository<Author, Long> {
+public interface AuthorRepository extends JpaRepository<Author, Long>, JpaSpecificationExecutor<Author>, AuthorRepositoryCustom {
     Optional<Author> findByEmail(String email);
     
-    @Query("SELECT a FROM Author a LEFT JOIN FETCH a.books WHERE a.id = :id")
-    Optional<Author> findByIdWithBooks(@Param("id") Long id);
+    @Query("SELECT a.id FROM Author a WHERE a.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.bookmanagement.repository;
+
+import com.bookmanagement.entity.Author;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface AuthorRepositoryCustom {
+
+    /**
+     * Reads one page of matching authors without their books and without the count query of a {@code Page}
+     */
+    List<Author> findPage(Specification<Author> spec, Sort sort, long offset, int limit);
+}
@@ -1,20 +1,99 @@
 package com.bookmanagement.repository;
 
 import com.bookmanagement.entity.Book;
+import com.bookmanagement.entity.RatingHistogram;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>, BookRepositoryCustom {
     Optional<Book> findByIsbn(String isbn);
     
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    Set<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+    
     @Query("SELECT b FROM Book b LEFT JOIN FETCH b.author LEFT JOIN FETCH b.categories WHERE b.id = :id")
     Optional<Book> findByIdWithDetails(@Param("id") Long id);
+    
+    @Query("SELECT b FROM Book b JOIN FETCH b.author LEFT JOIN FETCH b.categories WHERE b.id IN :ids")
+    List<Book> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT b FROM Book b JOIN FETCH b.author LEFT JOIN FETCH b.categories WHERE b.id BETWEEN :fromId AND :toId")
+    List<Book> findAllWithDetailsByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    @Query("SELECT b FROM Book b JOIN FETCH b.author WHERE b.author.id = :authorId")
+    List<Book> findAllWithAuthorByAuthorId(@Param("authorId") Long authorId);
+    
+    @Query("SELECT b FROM Book b WHERE b.author.id = :authorId ORDER BY b.id")
+    List<Book> findByAuthorIdOrderById(@Param("authorId") Long authorId, Pageable pageable);
+    
+    long countByAuthorId(Long authorId);
+    
+    /**
+     * Pairs of author id and number of books, for the given authors that have books
+     */
+    @Query("SELECT b.author.id, COUNT(b) FROM Book b WHERE b.author.id IN :authorIds GROUP BY b.author.id")
+    List<Object[]> countByAuthorIds(@Param("authorIds") Collection<Long> authorIds);
+    
+    /**
+     * Triples of author id, book id and title for every book of the given authors, in id order
+     */
+    @Query("SELECT b.author.id, b.id, b.title FROM Book b WHERE b.author.id IN :authorIds ORDER BY b.id")
+    List<Object[]> findTitlesByAuthorIds(@Param("authorIds") Collection<Long> authorIds);
+    
+    @Query("SELECT b.ratingHistogram FROM Book b WHERE b.id = :id")
+    Optional<RatingHistogram> findRatingHistogramById(@Param("id") Long id);
+    
+    @Query("SELECT b.reviewCount FROM Book b WHERE b.id = :id")
+    Optional<Long> findReviewCountById(@Param("id") Long id);
+    
+    /**
+     * Moves one review's stars into and out of the book's rating aggregates and histogram;
+     * 0 stands for no review on that side (a new review removes nothing, a deleted one adds nothing)
+     */
+    default void applyReviewRating(Long id, int addedStars, int removedStars) {
+        adjustRatingAggregates(id, addedStars - removedStars,
+                Integer.signum(addedStars) - Integer.signum(removedStars), addedStars, removedStars);
+    }
+    
+    /**
+     * Applies a rating change in one statement, so concurrent review writes each add their delta
+     * under the row lock instead of overwriting each other's average.
+     * Every right-hand side reads the values from before the update. The persistence context is cleared
+     * afterwards, so later reads in the transaction and after-commit listeners do not see a stale book.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.ratingSum = b.ratingSum + :ratingDelta, b.reviewCount = b.reviewCount + :countDelta, " +
+           "b.rating = CASE WHEN b.reviewCount + :countDelta = 0 THEN 0.0 " +
+           "ELSE (b.ratingSum + :ratingDelta) * 1.0 / (b.reviewCount + :countDelta) END, " +
+           "b.ratingHistogram.oneStar = b.ratingHistogram.oneStar " +
+           "+ CASE WHEN :addedStars = 1 THEN 1 ELSE 0 END - CASE WHEN :removedStars = 1 THEN 1 ELSE 0 END, " +
+           "b.ratingHistogram.twoStars = b.ratingHistogram.twoStars " +
+           "+ CASE WHEN :addedStars = 2 THEN 1 ELSE 0 END - CASE WHEN :removedStars = 2 THEN 1 ELSE 0 END, " +
+           "b.ratingHistogram.threeStars = b.ratingHistogram.threeStars " +
+           "+ CASE WHEN :addedStars = 3 THEN 1 ELSE 0 END - CASE WHEN :removedStars = 3 THEN 1 ELSE 0 END, " +
+           "b.ratingHistogram.fourStars = b.ratingHistogram.fourStars " +
+           "+ CASE WHEN :addedStars = 4 THEN 1 ELSE 0 END - CASE WHEN :removedStars = 4 THEN 1 ELSE 0 END, " +
+           "b.ratingHistogram.fiveStars = b.ratingHistogram.fiveStars " +
+           "+ CASE WHEN :addedStars = 5 THEN 1 ELSE 0 END - CASE WHEN :removedStars = 5 THEN 1 ELSE 0 END " +
+           "WHERE b.id = :id")
+    int adjustRatingAggregates(@Param("id") Long id, @Param("ratingDelta") long ratingDelta, @Param("countDelta") long countDelta,
+                               @Param("addedStars") int addedStars, @Param("removedStars") int removedStars);
+    
+    @Query("SELECT MIN(b.id) FROM Book b")
+    Optional<Long> findMinId();
+    
+    @Query("SELECT MAX(b.id) FROM Book b")
+    Optional<Long> findMaxId();
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.bookmanagement.repository;
+
+import com.bookmanagement.dto.BookExportDTO;
+import com.bookmanagement.entity.Book;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface BookRepositoryCustom {
+
+    /**
+     * Pages over the ids of matching books only, so paging never drags entity graphs along
+     */
+    List<Long> findIds(Specification<Book> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Streams every matching book in id order through a forward-only cursor, handing rows over in batches of
+     * {@code fetchSize}. Rows are projections, not entities, and the persistence context is cleared after
+     * each batch, so memory does not grow with the number of rows.
+     */
+    void forEachExportBatch(Specification<Book> spec, int fetchSize, Consumer<List<BookExportDTO>> batchConsumer);
+}
@@ -0,0 +1,120 @@
+package com.bookmanagement.repository;
+
+import com.bookmanagement.dto.BookExportDTO;
+import com.bookmanagement.entity.Author;
+import com.bookmanagement.entity.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIds(Specification<Book> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Book> root = query.from(Book.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root.get("id"))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public void forEachExportBatch(Specification<Book> spec, int fetchSize, Consumer<List<BookExportDTO>> batchConsumer) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+        Join<Book, Author> author = root.join("author");
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(
+                        root.get("id"),
+                        root.get("title"),
+                        root.get("isbn"),
+                        root.get("publishedDate"),
+                        root.get("rating"),
+                        author.get("id"),
+                        author.get("name"))
+                .orderBy(cb.asc(root.get("id")));
+
+        Query<Tuple> rows = entityManager.createQuery(query)
+                .unwrap(Query.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE);
+
+        try (ScrollableResults<Tuple> cursor = rows.scroll(ScrollMode.FORWARD_ONLY)) {
+            List<BookExportDTO> batch = new ArrayList<>(fetchSize);
+            while (cursor.next()) {
+                batch.add(toExportRow(cursor.get()));
+                if (batch.size() == fetchSize) {
+                    handOver(batch, batchConsumer);
+                    batch = new ArrayList<>(fetchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                handOver(batch, batchConsumer);
+            }
+        }
+    }
+
+    private void handOver(List<BookExportDTO> batch, Consumer<List<BookExportDTO>> batchConsumer) {
+        // one category query per batch instead of one per book
+        Map<Long, BookExportDTO> byId = new HashMap<>();
+        batch.forEach(row -> byId.put(row.getId(), row));
+        entityManager.createQuery("SELECT b.id, c.id FROM Book b JOIN b.categories c WHERE b.id IN :ids ORDER BY c.id", Object[].class)
+                .setParameter("ids", byId.keySet())
+                .getResultList()
+                .forEach(pair -> byId.get((Long) pair[0]).getCategoryIds().add((Long) pair[1]));
+
+        batchConsumer.accept(batch);
+        entityManager.clear();
+    }
+
+    private static BookExportDTO toExportRow(Tuple tuple) {
+        return BookExportDTO.builder()
+                .id(tuple.get(0, Long.class))
+                .title(tuple.get(1, String.class))
+                .isbn(tuple.get(2, String.class))
+                .publishedDate(tuple.get(3, LocalDate.class))
+                .rating(tuple.get(4, Double.class))
+                .authorId(tuple.get(5, Long.class))
+                .authorName(tuple.get(6, String.class))
+                .categoryIds(new ArrayList<>())
+                .build();
+    }
+}
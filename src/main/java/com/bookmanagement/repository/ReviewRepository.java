@@ -5,14 +5,15 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ReviewRepository extends JpaRepository<Review, Long> {
+public interface ReviewRepository extends JpaRepository<Review, Long>, ReviewRepositoryCustom {
     
-    @Query("SELECT r FROM Review r WHERE r.book.id = :bookId")
-    List<Review> findByBookId(@Param("bookId") Long bookId);
-    
-    @Query("SELECT r FROM Review r WHERE r.user.id = :userId")
-    List<Review> findByUserId(@Param("userId") Long userId);
+    /**
+     * Loads a review with everything its response needs in one statement; the user's roles are eager
+     * and would otherwise be read by a second select
+     */
+    @Query("SELECT r FROM Review r JOIN FETCH r.book JOIN FETCH r.user u LEFT JOIN FETCH u.roles WHERE r.id = :id")
+    Optional<Review> findByIdWithDetails(@Param("id") Long id);
 }
\ No newline at end of file
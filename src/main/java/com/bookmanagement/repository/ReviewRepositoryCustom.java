@@ -0,0 +1,31 @@
+package com.bookmanagement.repository;
+
+import com.bookmanagement.dto.ReviewDTO;
+import com.bookmanagement.dto.UserReviewDTO;
+import com.bookmanagement.entity.Review;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ReviewRepositoryCustom {
+
+    /**
+     * Reads up to {@code limit} matching reviews in the given order, without the count query of a {@code Page}.
+     * Rows are projections with the book title and username joined in the same statement, so neither
+     * association, nor the user's eagerly fetched roles, is loaded per review.
+     */
+    List<ReviewDTO> findPage(Specification<Review> spec, Sort sort, int limit);
+
+    /**
+     * Same as {@link #findPage} with rows that carry the book id and title only, for listings of one user's reviews
+     */
+    List<UserReviewDTO> findUserReviewPage(Specification<Review> spec, Sort sort, int limit);
+
+    /**
+     * Streams every matching review in the given order through a forward-only cursor, handing rows over
+     * in batches of {@code fetchSize}, so memory does not grow with the number of reviews
+     */
+    void forEachUserReviewBatch(Specification<Review> spec, Sort sort, int fetchSize, Consumer<List<UserReviewDTO>> batchConsumer);
+}
@@ -0,0 +1,151 @@
+package com.bookmanagement.repository;
+
+import com.bookmanagement.dto.BookMinimalDTO;
+import com.bookmanagement.dto.ReviewDTO;
+import com.bookmanagement.dto.UserReviewDTO;
+import com.bookmanagement.dto.UserSummaryDTO;
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.entity.Review;
+import com.bookmanagement.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class ReviewRepositoryCustomImpl implements ReviewRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReviewDTO> findPage(Specification<Review> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Review> root = query.from(Review.class);
+        Join<Review, Book> book = root.join("book");
+        Join<Review, User> user = root.join("user");
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(
+                        root.get("id"),
+                        root.get("rating"),
+                        root.get("comment"),
+                        root.get("createdAt"),
+                        book.get("id"),
+                        book.get("title"),
+                        user.get("id"),
+                        user.get("username"))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(ReviewRepositoryCustomImpl::toReviewRow)
+                .toList();
+    }
+
+    @Override
+    public List<UserReviewDTO> findUserReviewPage(Specification<Review> spec, Sort sort, int limit) {
+        return entityManager.createQuery(userReviewQuery(spec, sort))
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(ReviewRepositoryCustomImpl::toUserReviewRow)
+                .toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachUserReviewBatch(Specification<Review> spec, Sort sort, int fetchSize,
+                                       Consumer<List<UserReviewDTO>> batchConsumer) {
+        Query<Tuple> rows = entityManager.createQuery(userReviewQuery(spec, sort))
+                .unwrap(Query.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE);
+
+        try (ScrollableResults<Tuple> cursor = rows.scroll(ScrollMode.FORWARD_ONLY)) {
+            List<UserReviewDTO> batch = new ArrayList<>(fetchSize);
+            while (cursor.next()) {
+                batch.add(toUserReviewRow(cursor.get()));
+                if (batch.size() == fetchSize) {
+                    batchConsumer.accept(batch);
+                    batch = new ArrayList<>(fetchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                batchConsumer.accept(batch);
+            }
+        }
+    }
+
+    private CriteriaQuery<Tuple> userReviewQuery(Specification<Review> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Review> root = query.from(Review.class);
+        Join<Review, Book> book = root.join("book");
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return query.multiselect(
+                        root.get("id"),
+                        root.get("rating"),
+                        root.get("comment"),
+                        root.get("createdAt"),
+                        book.get("id"),
+                        book.get("title"))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+    }
+
+    private static ReviewDTO toReviewRow(Tuple tuple) {
+        return ReviewDTO.builder()
+                .id(tuple.get(0, Long.class))
+                .rating(tuple.get(1, Integer.class))
+                .comment(tuple.get(2, String.class))
+                .createdAt(tuple.get(3, LocalDateTime.class))
+                .book(BookMinimalDTO.builder()
+                        .id(tuple.get(4, Long.class))
+                        .title(tuple.get(5, String.class))
+                        .build())
+                .user(UserSummaryDTO.builder()
+                        .id(tuple.get(6, Long.class))
+                        .username(tuple.get(7, String.class))
+                        .build())
+                .build();
+    }
+
+    private static UserReviewDTO toUserReviewRow(Tuple tuple) {
+        return UserReviewDTO.builder()
+                .id(tuple.get(0, Long.class))
+                .rating(tuple.get(1, Integer.class))
+                .comment(tuple.get(2, String.class))
+                .createdAt(tuple.get(3, LocalDateTime.class))
+                .book(BookMinimalDTO.builder()
+                        .id(tuple.get(4, Long.class))
+                        .title(tuple.get(5, String.class))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.bookmanagement.search;
+
+import com.bookmanagement.event.AuthorChangedEvent;
+import com.bookmanagement.event.BookChangedEvent;
+import com.bookmanagement.event.BooksImportedEvent;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.utils.BookChunkLoader;
+import com.bookmanagement.utils.BookIndexSupport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Full-text index over book titles and author names and bios.
+ * Rebuilt from the database at startup and kept current from book and author writes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookSearchIndex extends BookIndexSupport {
+
+    private final BookRepository bookRepository;
+    private final BookChunkLoader bookChunkLoader;
+
+    private volatile InvertedIndex index = new InvertedIndex();
+
+    public List<SearchHit> search(String query, int limit) {
+        return index.search(SearchQuery.parse(query), limit);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Builds a fresh index from the catalogue and swaps it in
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        rebuildWith(() -> {
+            InvertedIndex rebuilt = new InvertedIndex();
+            bookChunkLoader.forEachChunk(IndexedBook::of, rebuilt::upsertAll);
+            index = rebuilt;
+        });
+        log.info("Search index rebuilt with {} books in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.type() != BookChangedEvent.ChangeType.RATING_CHANGED) {
+            bookChanged(event.bookId());
+        }
+    }
+
+    @EventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        bookRepository.findAllWithAuthorByAuthorId(event.authorId()).forEach(book -> {
+            noteChange(book.getId());
+            index.upsert(IndexedBook.of(book));
+        });
+    }
+
+    @Override
+    protected void refresh(Long bookId) {
+        bookRepository.findByIdWithDetails(bookId).ifPresentOrElse(
+                book -> index.upsert(IndexedBook.of(book)),
+                () -> index.remove(bookId)
+        );
+    }
+}
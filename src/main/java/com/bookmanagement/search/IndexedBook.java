@@ -0,0 +1,32 @@
+package com.bookmanagement.search;
+
+import com.bookmanagement.entity.Book;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tokenized book document, with the stored fields needed to render a hit without the database
+ */
+public record IndexedBook(
+        long bookId,
+        String title,
+        Long authorId,
+        String authorName,
+        Map<SearchField, List<String>> terms
+) {
+
+    public static IndexedBook of(Book book) {
+        Map<SearchField, List<String>> terms = new EnumMap<>(SearchField.class);
+        terms.put(SearchField.TITLE, Tokenizer.tokenize(book.getTitle()));
+        terms.put(SearchField.AUTHOR_NAME, Tokenizer.tokenize(book.getAuthor().getName()));
+        terms.put(SearchField.AUTHOR_BIO, Tokenizer.tokenize(book.getAuthor().getBio()));
+
+        return new IndexedBook(book.getId(), book.getTitle(), book.getAuthor().getId(), book.getAuthor().getName(), terms);
+    }
+
+    public int length(SearchField field) {
+        return terms.get(field).size();
+    }
+}
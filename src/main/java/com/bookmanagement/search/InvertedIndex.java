@@ -0,0 +1,237 @@
+package com.bookmanagement.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory positional inverted index over books, scored with BM25 per field.
+ * Reads share a lock; writes are incremental and exclusive.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<SearchField, NavigableMap<String, Map<Long, int[]>>> postings = new EnumMap<>(SearchField.class);
+    private final Map<SearchField, Long> totalLengths = new EnumMap<>(SearchField.class);
+    private final Map<Long, IndexedBook> documents = new HashMap<>();
+
+    public InvertedIndex() {
+        for (SearchField field : SearchField.values()) {
+            postings.put(field, new TreeMap<>());
+            totalLengths.put(field, 0L);
+        }
+    }
+
+    /**
+     * Adds the book, replacing any previous version of it
+     */
+    public void upsert(IndexedBook book) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(book.bookId());
+            addDocument(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsertAll(List<IndexedBook> books) {
+        lock.writeLock().lock();
+        try {
+            for (IndexedBook book : books) {
+                removeDocument(book.bookId());
+                addDocument(book);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best scoring books for the query, highest score first
+     */
+    public List<SearchHit> search(SearchQuery query, int limit) {
+        lock.readLock().lock();
+        try {
+            if (query.isEmpty() || documents.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (SearchQuery.Clause clause : query.clauses()) {
+                for (SearchField field : SearchField.values()) {
+                    switch (clause.type()) {
+                        case TERM -> scoreTerm(field, clause.terms().get(0), scores);
+                        case PREFIX -> scorePrefix(field, clause.terms().get(0), scores);
+                        case PHRASE -> scorePhrase(field, clause.terms(), scores);
+                    }
+                }
+            }
+            return topHits(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addDocument(IndexedBook book) {
+        documents.put(book.bookId(), book);
+        for (SearchField field : SearchField.values()) {
+            List<String> terms = book.terms().get(field);
+            Map<String, List<Integer>> positions = new HashMap<>();
+            for (int i = 0; i < terms.size(); i++) {
+                positions.computeIfAbsent(terms.get(i), term -> new ArrayList<>()).add(i);
+            }
+            positions.forEach((term, list) -> postings.get(field)
+                    .computeIfAbsent(term, t -> new HashMap<>())
+                    .put(book.bookId(), list.stream().mapToInt(Integer::intValue).toArray()));
+            totalLengths.merge(field, (long) terms.size(), Long::sum);
+        }
+    }
+
+    private void removeDocument(long bookId) {
+        IndexedBook previous = documents.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        for (SearchField field : SearchField.values()) {
+            NavigableMap<String, Map<Long, int[]>> fieldPostings = postings.get(field);
+            for (String term : previous.terms().get(field)) {
+                Map<Long, int[]> docs = fieldPostings.get(term);
+                if (docs != null) {
+                    docs.remove(bookId);
+                    if (docs.isEmpty()) {
+                        fieldPostings.remove(term);
+                    }
+                }
+            }
+            totalLengths.merge(field, (long) -previous.length(field), Long::sum);
+        }
+    }
+
+    private void scoreTerm(SearchField field, String term, Map<Long, Double> scores) {
+        Map<Long, int[]> docs = postings.get(field).get(term);
+        if (docs == null) {
+            return;
+        }
+        double idf = idf(docs.size());
+        docs.forEach((bookId, positions) -> scores.merge(bookId, bm25(field, idf, positions.length, bookId), Double::sum));
+    }
+
+    private void scorePrefix(SearchField field, String prefix, Map<Long, Double> scores) {
+        int expansions = 0;
+        for (String term : postings.get(field).subMap(prefix, true, prefix + Character.MAX_VALUE, false).keySet()) {
+            if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            scoreTerm(field, term, scores);
+        }
+    }
+
+    private void scorePhrase(SearchField field, List<String> terms, Map<Long, Double> scores) {
+        List<Map<Long, int[]>> termDocs = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<Long, int[]> docs = postings.get(field).get(term);
+            if (docs == null) {
+                return;
+            }
+            termDocs.add(docs);
+        }
+
+        // a phrase is as selective as its rarest terms together
+        double idf = termDocs.stream().mapToDouble(docs -> idf(docs.size())).sum();
+        Map<Long, int[]> rarest = termDocs.stream().min(Comparator.comparingInt(Map::size)).orElseThrow();
+        for (Long bookId : rarest.keySet()) {
+            int frequency = phraseFrequency(termDocs, bookId);
+            if (frequency > 0) {
+                scores.merge(bookId, bm25(field, idf, frequency, bookId), Double::sum);
+            }
+        }
+    }
+
+    private int phraseFrequency(List<Map<Long, int[]>> termDocs, Long bookId) {
+        int[][] positions = new int[termDocs.size()][];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = termDocs.get(i).get(bookId);
+            if (positions[i] == null) {
+                return 0;
+            }
+        }
+
+        int frequency = 0;
+        for (int start : positions[0]) {
+            boolean match = true;
+            for (int i = 1; i < positions.length && match; i++) {
+                match = Arrays.binarySearch(positions[i], start + i) >= 0;
+            }
+            if (match) {
+                frequency++;
+            }
+        }
+        return frequency;
+    }
+
+    private double idf(int documentFrequency) {
+        int n = documents.size();
+        return Math.log(1 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private double bm25(SearchField field, double idf, int termFrequency, long bookId) {
+        double averageLength = (double) totalLengths.get(field) / documents.size();
+        int length = documents.get(bookId).length(field);
+        double norm = termFrequency + K1 * (1 - B + B * length / averageLength);
+        return field.weight() * idf * termFrequency * (K1 + 1) / norm;
+    }
+
+    private List<SearchHit> topHits(Map<Long, Double> scores, int limit) {
+        Comparator<Map.Entry<Long, Double>> byScore = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+
+        // min-heap of the best hits seen so far
+        PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(limit + 1, byScore);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            best.offer(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Map.Entry<Long, Double> entry = best.poll();
+            IndexedBook book = documents.get(entry.getKey());
+            hits.add(new SearchHit(book.bookId(), book.title(), book.authorId(), book.authorName(), entry.getValue()));
+        }
+        return hits.reversed();
+    }
+}
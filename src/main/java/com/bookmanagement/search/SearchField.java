@@ -0,0 +1,20 @@
+package com.bookmanagement.search;
+
+/**
+ * Indexed book fields and their BM25 weights
+ */
+public enum SearchField {
+    TITLE(2.0),
+    AUTHOR_NAME(1.5),
+    AUTHOR_BIO(0.5);
+
+    private final double weight;
+
+    SearchField(double weight) {
+        this.weight = weight;
+    }
+
+    public double weight() {
+        return weight;
+    }
+}
@@ -0,0 +1,10 @@
+package com.bookmanagement.search;
+
+public record SearchHit(
+        long bookId,
+        String title,
+        Long authorId,
+        String authorName,
+        double score
+) {
+}
@@ -0,0 +1,56 @@
+package com.bookmanagement.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parsed search query: plain terms, "quoted phrases" and prefix* terms.
+ * Clauses are optional; a book matching more of them ranks higher.
+ */
+public record SearchQuery(List<Clause> clauses) {
+
+    private static final Pattern PHRASE = Pattern.compile("\"([^\"]*)\"");
+
+    public enum ClauseType {
+        TERM,
+        PREFIX,
+        PHRASE
+    }
+
+    public record Clause(ClauseType type, List<String> terms) {
+    }
+
+    public static SearchQuery parse(String text) {
+        List<Clause> clauses = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return new SearchQuery(clauses);
+        }
+
+        Matcher phrases = PHRASE.matcher(text);
+        while (phrases.find()) {
+            List<String> terms = Tokenizer.tokenize(phrases.group(1));
+            if (terms.size() > 1) {
+                clauses.add(new Clause(ClauseType.PHRASE, terms));
+            } else {
+                terms.forEach(term -> clauses.add(new Clause(ClauseType.TERM, List.of(term))));
+            }
+        }
+
+        for (String word : phrases.replaceAll(" ").split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            List<String> terms = Tokenizer.tokenize(word);
+            for (int i = 0; i < terms.size(); i++) {
+                // only the last term of "foo-ba*" is a prefix
+                ClauseType type = prefix && i == terms.size() - 1 ? ClauseType.PREFIX : ClauseType.TERM;
+                clauses.add(new Clause(type, List.of(terms.get(i))));
+            }
+        }
+        return new SearchQuery(clauses);
+    }
+
+    public boolean isEmpty() {
+        return clauses.isEmpty();
+    }
+}
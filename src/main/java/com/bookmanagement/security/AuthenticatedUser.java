@@ -0,0 +1,31 @@
+package com.bookmanagement.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * A user loaded for authentication, carrying the id and email so a login can answer from the authenticated
+ * principal instead of loading the user again
+ */
+public class AuthenticatedUser extends User {
+
+    private final Long id;
+    private final String email;
+
+    public AuthenticatedUser(Long id, String username, String email, String password,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+        this.email = email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,55 @@
+package com.bookmanagement.security;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Runs password hashing (BCrypt encoding and the checks done while authenticating) on the bounded
+ * {@code passwordHashingExecutor}, one thread per core. Callers wait for the result, but must not hold a
+ * transaction or a database connection while they do: a login storm then queues for CPU instead of draining
+ * the connection pool. When the queue is full the work is rejected with a {@link TaskRejectedException}.
+ */
+@Component
+public class PasswordHasher {
+
+    private final AsyncTaskExecutor passwordHashingExecutor;
+    private final PasswordEncoder passwordEncoder;
+
+    public PasswordHasher(AsyncTaskExecutor passwordHashingExecutor, PasswordEncoder passwordEncoder) {
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return call(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Runs the task on the hashing executor and returns its result, rethrowing its runtime exceptions as they are
+     */
+    public <T> T call(Callable<T> task) {
+        Future<T> future = passwordHashingExecutor.submit(task);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.bookmanagement.security;
+
+import com.bookmanagement.event.UserChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Users loaded by username for authentication, kept for {@code application.security.user-cache.ttl} so requests
+ * that load the user do not query the user and its roles every time. A changed or deleted user is evicted as soon
+ * as the change commits, so the next login or per-request lookup sees the change. That covers every request with
+ * {@code application.security.jwt.stateless=false} (the default). In stateless mode, requests with a roles claim
+ * never load the user, so their tokens keep the old roles until they expire.
+ * <p>
+ * Entries are snapshots and every hit returns a new {@link UserDetails}: Spring Security erases the password
+ * of the principal after a login, which must not reach the cached copy. Like the token cache, a full cache lets one
+ * thread sweep out expired entries and then arbitrary ones down to 90% of
+ * {@code application.security.user-cache.max-entries}; 0 disables it.
+ */
+@Component
+@Slf4j
+public class UserDetailsCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock sweeping = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public UserDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${application.security.user-cache.max-entries:10000}") int maxEntries,
+                            @Value("${application.security.user-cache.ttl:PT5M}") Duration ttl) {
+        this(meterRegistry, maxEntries, ttl, Clock.systemUTC());
+    }
+
+    UserDetailsCache(MeterRegistry meterRegistry, int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        new Metrics(this).bindTo(meterRegistry);
+    }
+
+    private record Entry(Long id, String username, String email, String password,
+                         List<GrantedAuthority> authorities, long expiresAt) {
+
+        UserDetails toUserDetails() {
+            return new AuthenticatedUser(id, username, email, password, authorities);
+        }
+    }
+
+    public Optional<UserDetails> get(String username) {
+        Entry entry = entries.get(username);
+        if (entry != null && clock.millis() < entry.expiresAt()) {
+            hits.increment();
+            return Optional.of(entry.toUserDetails());
+        }
+        if (entry != null) {
+            entries.remove(username, entry);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Current generation, to be read before loading a user and passed back to {@link #put}
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a user loaded at the given generation; a user change committed meanwhile drops it
+     */
+    public void put(UserDetails user, long loadedAt) {
+        if (maxEntries <= 0 || ttlMillis <= 0) {
+            return;
+        }
+        long now = clock.millis();
+        AuthenticatedUser authenticated = user instanceof AuthenticatedUser au ? au : null;
+        Entry entry = new Entry(authenticated != null ? authenticated.getId() : null, user.getUsername(),
+                authenticated != null ? authenticated.getEmail() : null, user.getPassword(),
+                List.copyOf(user.getAuthorities()), now + ttlMillis);
+        entries.put(user.getUsername(), entry);
+        puts.increment();
+        // an eviction may have missed the entry while it was being put
+        if (generation.get() != loadedAt) {
+            entries.remove(user.getUsername(), entry);
+            return;
+        }
+        if (entries.size() > maxEntries) {
+            evict(now);
+        }
+    }
+
+    public void invalidate(String username) {
+        generation.incrementAndGet();
+        if (entries.remove(username) != null) {
+            evictions.increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("User {} changed: evicting cached user details", event.userId());
+        invalidate(event.username());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public record Stats(long hits, long misses, long puts, long evictions) {
+
+        public double hitRatio() {
+            long gets = hits + misses;
+            return gets == 0 ? 0.0 : (double) hits / gets;
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), puts.sum(), evictions.sum());
+    }
+
+    private void evict(long now) {
+        if (!sweeping.tryLock()) {
+            return;
+        }
+        try {
+            entries.values().removeIf(entry -> {
+                boolean expired = now >= entry.expiresAt();
+                if (expired) {
+                    evictions.increment();
+                }
+                return expired;
+            });
+            int target = maxEntries - maxEntries / 10;
+            Iterator<String> iterator = entries.keySet().iterator();
+            while (entries.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        } finally {
+            sweeping.unlock();
+        }
+    }
+
+    /**
+     * Publishes the standard cache meters (cache.gets, cache.puts, cache.evictions, cache.size) plus the hit ratio
+     */
+    private static final class Metrics extends CacheMeterBinder<UserDetailsCache> {
+
+        Metrics(UserDetailsCache cache) {
+            super(cache, "userDetails", Tags.empty());
+        }
+
+        @Override
+        protected Long size() {
+            UserDetailsCache cache = getCache();
+            return cache != null ? (long) cache.size() : null;
+        }
+
+        @Override
+        protected long hitCount() {
+            UserDetailsCache cache = getCache();
+            return cache != null ? cache.stats().hits() : 0;
+        }
+
+        @Override
+        protected Long missCount() {
+            UserDetailsCache cache = getCache();
+            return cache != null ? cache.stats().misses() : null;
+        }
+
+        @Override
+        protected Long evictionCount() {
+            UserDetailsCache cache = getCache();
+            return cache != null ? cache.stats().evictions() : null;
+        }
+
+        @Override
+        protected long putCount() {
+            UserDetailsCache cache = getCache();
+            return cache != null ? cache.stats().puts() : 0;
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            registry.gauge("cache.hit.ratio", getTagsWithCacheName(), this, metrics -> {
+                UserDetailsCache cache = metrics.getCache();
+                return cache != null ? cache.stats().hitRatio() : 0;
+            });
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.bookmanagement.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Claims of bearer tokens whose signature was already verified, so a client reusing one token skips the HMAC check
+ * and the claim parsing on later requests. Entries are keyed by the SHA-256 digest of the token, so raw tokens are
+ * not kept in memory, and are only served until the token's {@code exp}.
+ * <p>
+ * Lookups are lock-free. The cache holds about {@code application.security.jwt.token-cache.max-entries} tokens: a put
+ * that finds it full lets one thread sweep out expired tokens and then arbitrary ones down to 90% of the bound,
+ * while concurrent puts carry on without waiting. A bound of 0 disables the cache.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<Digest, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock sweeping = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public VerifiedTokenCache(JwtService jwtService,
+                              MeterRegistry meterRegistry,
+                              @Value("${application.security.jwt.token-cache.max-entries:10000}") int maxEntries) {
+        this(jwtService, meterRegistry, maxEntries, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(JwtService jwtService, MeterRegistry meterRegistry, int maxEntries, Clock clock) {
+        this.jwtService = jwtService;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        new Metrics(this).bindTo(meterRegistry);
+    }
+
+    private record Digest(long a, long b, long c, long d) {
+
+        static Digest of(String token) {
+            try {
+                ByteBuffer hash = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                        .digest(token.getBytes(StandardCharsets.US_ASCII)));
+                return new Digest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 is not available", ex);
+            }
+        }
+    }
+
+    private record Entry(Claims claims, long expiresAt) {
+    }
+
+    /**
+     * The verified claims of the token, from the cache while the token is unexpired
+     *
+     * @throws io.jsonwebtoken.JwtException when the token is not cached and fails verification
+     */
+    public Claims getOrVerify(String token) {
+        if (maxEntries <= 0) {
+            return jwtService.parseToken(token);
+        }
+
+        Digest digest = Digest.of(token);
+        Entry entry = entries.get(digest);
+        long now = clock.millis();
+        if (entry != null) {
+            if (now < entry.expiresAt()) {
+                hits.increment();
+                return entry.claims();
+            }
+            // parsing below rejects the expired token
+            entries.remove(digest, entry);
+        }
+        misses.increment();
+
+        Claims claims = jwtService.parseToken(token);
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            entries.put(digest, new Entry(claims, expiration.getTime()));
+            puts.increment();
+            if (entries.size() > maxEntries) {
+                evict(now);
+            }
+        }
+        return claims;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void invalidate() {
+        entries.clear();
+    }
+
+    public record Stats(long hits, long misses, long puts, long evictions) {
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), puts.sum(), evictions.sum());
+    }
+
+    private void evict(long now) {
+        if (!sweeping.tryLock()) {
+            return;
+        }
+        try {
+            entries.entrySet().removeIf(entry -> {
+                boolean expired = now >= entry.getValue().expiresAt();
+                if (expired) {
+                    evictions.increment();
+                }
+                return expired;
+            });
+            // digests are uniformly spread, so iteration order drops arbitrary tokens
+            int target = maxEntries - maxEntries / 10;
+            Iterator<Digest> iterator = entries.keySet().iterator();
+            while (entries.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        } finally {
+            sweeping.unlock();
+        }
+    }
+
+    /**
+     * Publishes the standard cache meters (cache.gets, cache.puts, cache.evictions, cache.size)
+     */
+    private static final class Metrics extends CacheMeterBinder<VerifiedTokenCache> {
+
+        Metrics(VerifiedTokenCache cache) {
+            super(cache, "verifiedTokens", Tags.empty());
+        }
+
+        @Override
+        protected Long size() {
+            VerifiedTokenCache cache = getCache();
+            return cache != null ? (long) cache.size() : null;
+        }
+
+        @Override
+        protected long hitCount() {
+            VerifiedTokenCache cache = getCache();
+            return cache != null ? cache.stats().hits() : 0;
+        }
+
+        @Override
+        protected Long missCount() {
+            VerifiedTokenCache cache = getCache();
+            return cache != null ? cache.stats().misses() : null;
+        }
+
+        @Override
+        protected Long evictionCount() {
+            VerifiedTokenCache cache = getCache();
+            return cache != null ? cache.stats().evictions() : null;
+        }
+
+        @Override
+        protected long putCount() {
+            VerifiedTokenCache cache = getCache();
+            return cache != null ? cache.stats().puts() : 0;
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        }
+    }
+}
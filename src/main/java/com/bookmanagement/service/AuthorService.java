@@ -2,16 +2,19 @@ package com.bookmanagement.service;
 
 import com.bookmanagement.dto.AllAuthorDTO;
 import com.bookmanagement.dto.AuthorDTO;
+import com.bookmanagement.dto.BookPaginationDTO;
+import com.bookmanagement.dto.GetAllAuthorParamsDTO;
 import com.bookmanagement.dto.NewAuthorDTO;
-
-import java.util.List;
+import com.bookmanagement.utils.PagedResponse;
 
 public interface AuthorService {
 
-    List<AllAuthorDTO> getAllAuthors();
+    PagedResponse<AllAuthorDTO> getAllAuthors(GetAllAuthorParamsDTO params);
 
     AuthorDTO getAuthorById(Long id);
 
+    PagedResponse<BookPaginationDTO> getBooksByAuthorId(Long id, Integer size, String sortBy, String cursor);
+
     AuthorDTO createAuthor(NewAuthorDTO authorDTO);
 
     AuthorDTO updateAuthor(Long id, NewAuthorDTO authorDTO);
@@ -0,0 +1,14 @@
+package com.bookmanagement.service;
+
+import com.bookmanagement.dto.GetAllBookParamsDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookExportService {
+
+    /**
+     * Writes every book matching the listing filters to the stream as newline-delimited JSON, in id order
+     */
+    void exportBooks(GetAllBookParamsDTO params, OutputStream out) throws IOException;
+}
@@ -0,0 +1,9 @@
+package com.bookmanagement.service;
+
+import com.bookmanagement.dto.BookFacetsDTO;
+import com.bookmanagement.dto.GetAllBookParamsDTO;
+
+public interface BookFacetService {
+
+    BookFacetsDTO getFacets(GetAllBookParamsDTO params);
+}
@@ -0,0 +1,17 @@
+package com.bookmanagement.service;
+
+import com.bookmanagement.dto.ImportErrorDTO;
+import com.bookmanagement.dto.ImportJobDTO;
+import com.bookmanagement.enums.ImportFormat;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+public interface BookImportService {
+
+    ImportJobDTO submit(MultipartFile file, ImportFormat format);
+
+    ImportJobDTO getJob(String jobId);
+
+    List<ImportErrorDTO> getErrors(String jobId);
+}
@@ -0,0 +1,11 @@
+package com.bookmanagement.service;
+
+import com.bookmanagement.dto.LeaderboardEntryDTO;
+import com.bookmanagement.enums.LeaderboardType;
+
+import java.util.List;
+
+public interface BookLeaderboardService {
+
+    List<LeaderboardEntryDTO> leaderboard(LeaderboardType type, Long categoryId, Integer size);
+}
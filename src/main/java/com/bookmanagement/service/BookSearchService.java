@@ -0,0 +1,13 @@
+package com.bookmanagement.service;
+
+import com.bookmanagement.dto.BookSearchHitDTO;
+import com.bookmanagement.dto.BookSuggestionDTO;
+
+import java.util.List;
+
+public interface BookSearchService {
+
+    List<BookSearchHitDTO> search(String query, Integer size);
+
+    List<BookSuggestionDTO> suggest(String prefix, Integer size);
+}
@@ -7,14 +7,22 @@ import com.bookmanagement.dto.BookDetailDTO;
 import com.bookmanagement.dto.BookPaginationDTO;
 import com.bookmanagement.dto.GetAllBookParamsDTO;
 import com.bookmanagement.dto.NewBookDTO;
+import com.bookmanagement.dto.RatingHistogramDTO;
+import com.bookmanagement.utils.PagedResponse;
 
 
 public interface BookService {
 
     Page<BookPaginationDTO> getAllBooks(GetAllBookParamsDTO params);
 
+    PagedResponse<BookPaginationDTO> getAllBooksSlice(GetAllBookParamsDTO params);
+
+    PagedResponse<BookPaginationDTO> getAllBooksByCursor(GetAllBookParamsDTO params);
+
     BookDetailDTO getBookById(Long id);
 
+    RatingHistogramDTO getRatingHistogram(Long id);
+
     BookDTO createBook(NewBookDTO bookDTO);
 
     BookDetailDTO updateBook(Long id, NewBookDTO bookDTO);
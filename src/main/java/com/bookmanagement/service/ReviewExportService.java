@@ -0,0 +1,15 @@
+package com.bookmanagement.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ReviewExportService {
+
+    /**
+     * Writes every review of the user to the stream as newline-delimited JSON, newest first.
+     * Only the user themselves and admins may export it.
+     */
+    void exportReviewsByUserId(Long userId, UserDetails requester, OutputStream out) throws IOException;
+}
@@ -3,12 +3,15 @@ package com.bookmanagement.service;
 import com.bookmanagement.dto.NewReviewDTO;
 import com.bookmanagement.dto.ReviewDTO;
 import com.bookmanagement.dto.UpdateReviewDTO;
-
-import java.util.List;
+import com.bookmanagement.dto.UserReviewDTO;
+import com.bookmanagement.enums.ReviewSort;
+import com.bookmanagement.utils.PagedResponse;
 
 public interface ReviewService {
 
-    List<ReviewDTO> getReviewsByBookId(Long bookId);
+    PagedResponse<ReviewDTO> getReviewsByBookId(Long bookId, Integer size, ReviewSort sort, String cursor);
+
+    PagedResponse<UserReviewDTO> getReviewsByUserId(Long userId, Integer size, String cursor);
 
     ReviewDTO createReview(Long bookId, NewReviewDTO reviewDTO);
 
@@ -1,56 +1,50 @@
 package com.bookmanagement.service.impl;
 
 import com.bookmanagement.dto.*;
-import com.bookmanagement.entity.User;
 import com.bookmanagement.mapper.UserMapper;
-import com.bookmanagement.repository.UserRepository;
+import com.bookmanagement.security.AuthenticatedUser;
 import com.bookmanagement.security.JwtService;
+import com.bookmanagement.security.PasswordHasher;
 import com.bookmanagement.service.AuthService;
 
 //import com.bookmanagement.security.JwtService;
 import lombok.RequiredArgsConstructor;
 
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import org.springframework.security.authentication.*;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Not transactional: the password check runs on the {@link PasswordHasher} executor and must not keep a
+ * database connection while it does. The user is loaded once, by the authentication itself, and the response
+ * is built from the authenticated principal.
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class AuthServiceImpl implements AuthService {
 
-    private final UserRepository userRepository;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final PasswordHasher passwordHasher;
     private final UserMapper userMapper;
 
     @Override
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
+        Authentication authentication = passwordHasher.call(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getUsername(),
                         request.getPassword()
                 )
-        );
-        
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        
-
+        ));
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
 
-         // Create UserDetails with ALL roles (consistent with CustomUserDetailsService)
-        var userDetails = new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.getRoles().stream()
-                        .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName()))
-                        .collect(Collectors.toList())
+        // roles travel in the token so a stateless filter can authorize without loading the user
+        var jwtToken = jwtService.generateToken(
+                Map.of(JwtService.ROLES_CLAIM, JwtService.roleNames(user.getAuthorities())),
+                user
         );
-        var jwtToken = jwtService.generateToken(userDetails);
         
         return AuthResponse.builder()
                 .token(jwtToken)
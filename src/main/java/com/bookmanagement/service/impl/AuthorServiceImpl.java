@@ -1,42 +1,114 @@
 package com.bookmanagement.service.impl;
 
-import java.util.List;
-
 import com.bookmanagement.dto.AuthorDTO;
 import com.bookmanagement.service.AuthorService;
-
-import lombok.RequiredArgsConstructor;
+import com.bookmanagement.service.BookService;
 
 import com.bookmanagement.dto.*;
 import com.bookmanagement.entity.Author;
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.enums.TotalType;
+import com.bookmanagement.event.AuthorChangedEvent;
 import com.bookmanagement.exception.*;
 import com.bookmanagement.mapper.AuthorMapper;
+import com.bookmanagement.mapper.BookMapper;
 import com.bookmanagement.repository.AuthorRepository;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.specification.AuthorSpecification;
+import com.bookmanagement.utils.AuthorCursor;
+import com.bookmanagement.utils.BookCursor;
+import com.bookmanagement.utils.PagedResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class AuthorServiceImpl implements AuthorService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String EXPAND_BOOKS = "books";
+    private static final int DETAIL_BOOKS = 20;
+
     private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final BookService bookService;
     private final AuthorMapper authorMapper;
+    private final BookMapper bookMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Pages by offset with an exact total, or by keyset from a cursor without one. Either way a page costs
+     * a fixed number of queries: the authors, their book counts and, when expanded, their book titles.
+     */
     @Override
-   public List<AllAuthorDTO> getAllAuthors() {
-        return authorRepository.findAll().stream()
-                .map(authorMapper::toAllDTO)
-                .toList();
+    public PagedResponse<AllAuthorDTO> getAllAuthors(GetAllAuthorParamsDTO params) {
+        int size = resolveSize(params.size());
+        boolean expandBooks = resolveExpandBooks(params.expand());
+        
+        Specification<Author> spec = Specification.where(null);
+        if (params.namePrefix() != null && !params.namePrefix().isBlank()) {
+            spec = spec.and(AuthorSpecification.nameStartsWith(params.namePrefix().trim()));
+        }
+        
+        boolean keyset = params.cursor() != null && !params.cursor().isBlank();
+        if (keyset && params.page() != null) {
+            throw new IllegalArgumentException("Use either page or cursor, not both");
+        }
+        int page = params.page() != null ? params.page() : 0;
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        
+        // fetch one extra row to know whether another page exists
+        List<Author> authors = keyset
+                ? authorRepository.findPage(spec.and(AuthorSpecification.seekAfter(AuthorCursor.decode(params.cursor()))),
+                        AuthorSpecification.LISTING_ORDER, 0, size + 1)
+                : authorRepository.findPage(spec, AuthorSpecification.LISTING_ORDER, (long) page * size, size + 1);
+        boolean hasNext = authors.size() > size;
+        List<Author> pageContent = hasNext ? authors.subList(0, size) : authors;
+        String nextCursor = hasNext
+                ? AuthorCursor.after(pageContent.get(pageContent.size() - 1)).encode()
+                : null;
+        
+        return new PagedResponse<>(
+                toListingRows(pageContent, expandBooks),
+                keyset ? 0 : page,
+                size,
+                keyset ? null : authorRepository.count(spec),
+                keyset ? TotalType.OMITTED : TotalType.EXACT,
+                hasNext,
+                nextCursor
+        );
     }
 
     @Override
     public AuthorDTO getAuthorById(Long id) {
-        Author author = authorRepository.findByIdWithBooks(id)
+        Author author = authorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + id));
-        return authorMapper.toDTO(author);
+        return withFirstBooks(authorMapper.toDTO(author));
+    }
+
+    /**
+     * Same sort options and keyset paging as the book listing, filtered to the author
+     */
+    @Override
+    public PagedResponse<BookPaginationDTO> getBooksByAuthorId(Long id, Integer size, String sortBy, String cursor) {
+        if (!authorRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Author not found with id: " + id);
+        }
+        return bookService.getAllBooksByCursor(
+                new GetAllBookParamsDTO(null, size, id, null, null, null, null, null, sortBy, cursor));
     }
 
     @Override
@@ -48,7 +120,10 @@ public class AuthorServiceImpl implements AuthorService {
         
         Author author = authorMapper.toEntity(authorDTO);
         Author savedAuthor = authorRepository.save(author);
-        return authorMapper.toDTO(savedAuthor);
+        AuthorDTO created = authorMapper.toDTO(savedAuthor);
+        created.setBooks(List.of());
+        created.setBookCount(0L);
+        return created;
     }
 
     @Override
@@ -73,7 +148,8 @@ public class AuthorServiceImpl implements AuthorService {
         }
         
         Author updatedAuthor = authorRepository.save(author);
-        return authorMapper.toDTO(updatedAuthor);
+        eventPublisher.publishEvent(new AuthorChangedEvent(updatedAuthor.getId()));
+        return withFirstBooks(authorMapper.toDTO(updatedAuthor));
     }
 
     @Override
@@ -88,5 +164,69 @@ public class AuthorServiceImpl implements AuthorService {
         
         authorRepository.deleteById(id);
     }
-    
+
+    /**
+     * Embeds the first page of the author's books in id order with the total, and the cursor
+     * that continues it on the author's book listing
+     */
+    private AuthorDTO withFirstBooks(AuthorDTO author) {
+        List<Book> books = bookRepository.findByAuthorIdOrderById(author.getId(), PageRequest.ofSize(DETAIL_BOOKS));
+        long bookCount = books.size() < DETAIL_BOOKS ? books.size() : bookRepository.countByAuthorId(author.getId());
+        
+        author.setBooks(books.stream().map(bookMapper::toSummaryDTO).toList());
+        author.setBookCount(bookCount);
+        if (bookCount > books.size()) {
+            author.setBooksNextCursor(BookCursor.after(books.get(books.size() - 1), Sort.Order.asc("id")).encode());
+        }
+        return author;
+    }
+
+    private List<AllAuthorDTO> toListingRows(List<Author> authors, boolean expandBooks) {
+        if (authors.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Long> ids = authors.stream().map(Author::getId).toList();
+        Map<Long, Long> bookCounts = new HashMap<>();
+        bookRepository.countByAuthorIds(ids)
+                .forEach(row -> bookCounts.put((Long) row[0], (Long) row[1]));
+        
+        Map<Long, LinkedHashSet<BookMinimalDTO>> booksByAuthor = new HashMap<>();
+        if (expandBooks) {
+            bookRepository.findTitlesByAuthorIds(ids).forEach(row -> booksByAuthor
+                    .computeIfAbsent((Long) row[0], id -> new LinkedHashSet<>())
+                    .add(BookMinimalDTO.builder().id((Long) row[1]).title((String) row[2]).build()));
+        }
+        
+        return authors.stream()
+                .map(author -> {
+                    AllAuthorDTO dto = authorMapper.toAllDTO(author);
+                    dto.setBookCount(bookCounts.getOrDefault(author.getId(), 0L));
+                    if (expandBooks) {
+                        dto.setBooks(booksByAuthor.getOrDefault(author.getId(), new LinkedHashSet<>()));
+                    }
+                    return dto;
+                })
+                .toList();
+    }
+
+    private boolean resolveExpandBooks(String expand) {
+        if (expand == null || expand.isBlank()) {
+            return false;
+        }
+        if (!EXPAND_BOOKS.equalsIgnoreCase(expand.trim())) {
+            throw new IllegalArgumentException("Unknown expansion: " + expand + " (supported: " + EXPAND_BOOKS + ")");
+        }
+        return true;
+    }
+
+    private int resolveSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
 }
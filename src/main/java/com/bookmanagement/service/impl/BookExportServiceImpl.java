@@ -0,0 +1,56 @@
+package com.bookmanagement.service.impl;
+
+import com.bookmanagement.dto.BookExportDTO;
+import com.bookmanagement.dto.GetAllBookParamsDTO;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.service.BookExportService;
+import com.bookmanagement.specification.BookFilter;
+import com.bookmanagement.specification.BookSpecification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@Service
+@Transactional(readOnly = true)
+public class BookExportServiceImpl implements BookExportService {
+
+    private final BookRepository bookRepository;
+    private final ObjectWriter rowWriter;
+    private final int fetchSize;
+
+    public BookExportServiceImpl(BookRepository bookRepository,
+                                 ObjectMapper objectMapper,
+                                 @Value("${catalogue.export.fetch-size:1000}") int fetchSize) {
+        this.bookRepository = bookRepository;
+        this.rowWriter = objectMapper.writerFor(BookExportDTO.class);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Streams from a forward-only cursor; only one batch of rows is held at a time, and it is flushed to the client before the next is read
+     */
+    @Override
+    public void exportBooks(GetAllBookParamsDTO params, OutputStream out) throws IOException {
+        try {
+            bookRepository.forEachExportBatch(BookSpecification.matching(BookFilter.from(params)), fetchSize, batch -> {
+                try {
+                    for (BookExportDTO row : batch) {
+                        out.write(rowWriter.writeValueAsBytes(row));
+                        out.write('\n');
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
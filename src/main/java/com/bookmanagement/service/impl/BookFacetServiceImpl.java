@@ -0,0 +1,33 @@
+package com.bookmanagement.service.impl;
+
+import com.bookmanagement.dto.BookFacetsDTO;
+import com.bookmanagement.dto.GetAllBookParamsDTO;
+import com.bookmanagement.facet.BookFacetIndex;
+import com.bookmanagement.facet.FacetCounts;
+import com.bookmanagement.service.BookFacetService;
+import com.bookmanagement.specification.BookFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class BookFacetServiceImpl implements BookFacetService {
+
+    private final BookFacetIndex bookFacetIndex;
+
+    /**
+     * Counts every facet for the listing filters from the in-memory index; no database access
+     */
+    @Override
+    public BookFacetsDTO getFacets(GetAllBookParamsDTO params) {
+        FacetCounts counts = bookFacetIndex.count(BookFilter.from(params));
+
+        return BookFacetsDTO.builder()
+                .total(counts.total())
+                .categories(counts.categories())
+                .authors(counts.authors())
+                .ratings(counts.ratings())
+                .publicationYears(counts.publicationYears())
+                .build();
+    }
+}
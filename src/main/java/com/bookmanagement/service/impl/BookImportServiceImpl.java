@@ -0,0 +1,185 @@
+package com.bookmanagement.service.impl;
+
+import com.bookmanagement.dto.ImportErrorDTO;
+import com.bookmanagement.dto.ImportJobDTO;
+import com.bookmanagement.enums.ImportFormat;
+import com.bookmanagement.event.BooksImportedEvent;
+import com.bookmanagement.exception.ResourceNotFoundException;
+import com.bookmanagement.importer.BookImportWriter;
+import com.bookmanagement.importer.BookImportWriter.ChunkResult;
+import com.bookmanagement.importer.ImportJob;
+import com.bookmanagement.importer.ImportRow;
+import com.bookmanagement.importer.ImportRowReader;
+import com.bookmanagement.service.BookImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs bulk imports in the background. Jobs are tracked in memory, so their progress and error
+ * reports are lost on restart; the most recent {@code retainedJobs} finished jobs are kept.
+ */
+@Service
+@Slf4j
+public class BookImportServiceImpl implements BookImportService {
+
+    private final BookImportWriter bookImportWriter;
+    private final TaskExecutor bookImportExecutor;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final int retainedJobs;
+
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    public BookImportServiceImpl(BookImportWriter bookImportWriter,
+                                 TaskExecutor bookImportExecutor,
+                                 ObjectMapper objectMapper,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${catalogue.import.chunk-size:1000}") int chunkSize,
+                                 @Value("${catalogue.import.max-errors:10000}") int maxErrors,
+                                 @Value("${catalogue.import.retained-jobs:100}") int retainedJobs) {
+        this.bookImportWriter = bookImportWriter;
+        this.bookImportExecutor = bookImportExecutor;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.retainedJobs = retainedJobs;
+    }
+
+    /**
+     * Copies the upload to a temporary file, since the request's multipart data is gone once it returns
+     */
+    @Override
+    public ImportJobDTO submit(MultipartFile file, ImportFormat format) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Import file must not be empty");
+        }
+        ImportFormat resolvedFormat = format != null ? format : formatOf(file.getOriginalFilename());
+
+        ImportJob job;
+        try {
+            Path copy = Files.createTempFile("book-import-", "." + resolvedFormat.name().toLowerCase(Locale.ROOT));
+            file.transferTo(copy);
+            job = new ImportJob(file.getOriginalFilename(), resolvedFormat, copy, maxErrors);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store the import file", e);
+        }
+
+        register(job);
+        try {
+            bookImportExecutor.execute(() -> run(job));
+        } catch (RuntimeException e) {
+            unregister(job);
+            throw e;
+        }
+        log.info("Queued import job {} for {} ({})", job.getId(), job.getFileName(), resolvedFormat);
+        return job.toDTO();
+    }
+
+    @Override
+    public ImportJobDTO getJob(String jobId) {
+        return findJob(jobId).toDTO();
+    }
+
+    @Override
+    public List<ImportErrorDTO> getErrors(String jobId) {
+        return findJob(jobId).errorReport();
+    }
+
+    void run(ImportJob job) {
+        job.start();
+        try (ImportRowReader reader = ImportRowReader.open(job.getFile(), job.getFormat(), objectMapper)) {
+            for (List<ImportRow> chunk = reader.nextChunk(chunkSize); !chunk.isEmpty(); chunk = reader.nextChunk(chunkSize)) {
+                ChunkResult result = writeChunk(chunk);
+                job.recordChunk(chunk.size(), result.imported(), result.errors());
+            }
+            job.complete();
+            log.info("Import job {} finished: {}", job.getId(), job.toDTO());
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+            log.error("Import job {} failed", job.getId(), e);
+        } finally {
+            deleteQuietly(job.getFile());
+            if (job.imported() > 0) {
+                eventPublisher.publishEvent(new BooksImportedEvent(job.getId(), job.imported()));
+            }
+        }
+    }
+
+    /**
+     * A concurrent insert can take an ISBN between the duplicate check and the insert; the chunk then rolls back
+     * and one retry reports that record as a duplicate instead
+     */
+    private ChunkResult writeChunk(List<ImportRow> chunk) {
+        try {
+            return bookImportWriter.write(chunk);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Import chunk rolled back ({}), retrying once", e.getMostSpecificCause().getMessage());
+            return bookImportWriter.write(chunk);
+        }
+    }
+
+    private ImportFormat formatOf(String fileName) {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv")) {
+            return ImportFormat.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return ImportFormat.NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the import format from file name '" + fileName + "', pass format=CSV or format=NDJSON");
+    }
+
+    private synchronized void register(ImportJob job) {
+        jobs.put(job.getId(), job);
+
+        // drop the oldest finished jobs beyond the retention limit; running ones always stay
+        Iterator<ImportJob> oldest = jobs.values().iterator();
+        int excess = jobs.size() - retainedJobs;
+        while (excess > 0 && oldest.hasNext()) {
+            if (oldest.next().isFinished()) {
+                oldest.remove();
+                excess--;
+            }
+        }
+    }
+
+    private synchronized void unregister(ImportJob job) {
+        jobs.remove(job.getId());
+        deleteQuietly(job.getFile());
+    }
+
+    private synchronized ImportJob findJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+}
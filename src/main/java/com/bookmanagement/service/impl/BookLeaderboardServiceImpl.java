@@ -0,0 +1,47 @@
+package com.bookmanagement.service.impl;
+
+import com.bookmanagement.dto.LeaderboardEntryDTO;
+import com.bookmanagement.enums.LeaderboardType;
+import com.bookmanagement.leaderboard.BookLeaderboardIndex;
+import com.bookmanagement.leaderboard.RankedBook;
+import com.bookmanagement.service.BookLeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BookLeaderboardServiceImpl implements BookLeaderboardService {
+
+    private static final int DEFAULT_SIZE = 10;
+
+    private final BookLeaderboardIndex bookLeaderboardIndex;
+
+    /**
+     * Reads the materialized board; no database access
+     */
+    @Override
+    public List<LeaderboardEntryDTO> leaderboard(LeaderboardType type, Long categoryId, Integer size) {
+        int limit = size != null ? Math.max(size, 1) : DEFAULT_SIZE;
+        if (limit > bookLeaderboardIndex.maxSize()) {
+            throw new IllegalArgumentException("Leaderboard size must not exceed " + bookLeaderboardIndex.maxSize());
+        }
+
+        List<RankedBook> top = bookLeaderboardIndex.top(type, categoryId, limit);
+        List<LeaderboardEntryDTO> entries = new ArrayList<>(top.size());
+        for (RankedBook ranked : top) {
+            entries.add(LeaderboardEntryDTO.builder()
+                    .rank(entries.size() + 1)
+                    .id(ranked.book().bookId())
+                    .title(ranked.book().title())
+                    .authorName(ranked.book().authorName())
+                    .rating(ranked.book().averageRating())
+                    .reviewCount(ranked.book().reviewCount())
+                    .weightedRating(ranked.weightedRating())
+                    .build());
+        }
+        return entries;
+    }
+}
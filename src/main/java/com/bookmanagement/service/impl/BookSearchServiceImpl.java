@@ -0,0 +1,62 @@
+package com.bookmanagement.service.impl;
+
+import com.bookmanagement.dto.AuthorSummaryDTO;
+import com.bookmanagement.dto.BookSearchHitDTO;
+import com.bookmanagement.dto.BookSuggestionDTO;
+import com.bookmanagement.search.BookSearchIndex;
+import com.bookmanagement.suggest.BookSuggestIndex;
+import com.bookmanagement.service.BookSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BookSearchServiceImpl implements BookSearchService {
+
+    private static final int MAX_SIZE = 100;
+
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestIndex bookSuggestIndex;
+
+    /**
+     * Ranks books from the in-memory index; no database access
+     */
+    @Override
+    public List<BookSearchHitDTO> search(String query, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        int limit = size != null ? Math.min(Math.max(size, 1), MAX_SIZE) : 20;
+
+        return bookSearchIndex.search(query, limit).stream()
+                .map(hit -> BookSearchHitDTO.builder()
+                        .id(hit.bookId())
+                        .title(hit.title())
+                        .author(AuthorSummaryDTO.builder().id(hit.authorId()).name(hit.authorName()).build())
+                        .score(hit.score())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Reads the precomputed best suggestions for the prefix; no database access
+     */
+    @Override
+    public List<BookSuggestionDTO> suggest(String prefix, Integer size) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Suggestion prefix must not be blank");
+        }
+        int limit = size != null ? Math.max(size, 1) : bookSuggestIndex.maxSuggestions();
+
+        return bookSuggestIndex.suggest(prefix, limit).stream()
+                .map(suggestion -> BookSuggestionDTO.builder()
+                        .id(suggestion.bookId())
+                        .title(suggestion.title())
+                        .isbn(suggestion.isbn())
+                        .rating(suggestion.rating())
+                        .build())
+                .toList();
+    }
+}
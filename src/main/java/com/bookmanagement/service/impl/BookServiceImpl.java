@@ -1,20 +1,39 @@
 package com.bookmanagement.service.impl;
 
-import java.time.LocalDate;
-
+import com.bookmanagement.bitmap.BookBitmapIndex;
+import com.bookmanagement.bitmap.MembershipBitmaps;
+import com.bookmanagement.cache.BookCountCache;
+import com.bookmanagement.cache.BookPageCache;
+import com.bookmanagement.columnar.ColumnarBookEngine;
+import com.bookmanagement.columnar.ColumnarCatalogue.ScanResult;
+import com.bookmanagement.cache.BookCountCache.CachedCount;
 import com.bookmanagement.dto.*;
 import com.bookmanagement.entity.*;
+import com.bookmanagement.enums.TotalType;
+import com.bookmanagement.event.BookChangedEvent;
 import com.bookmanagement.exception.*;
 import com.bookmanagement.mapper.BookMapper;
 import com.bookmanagement.repository.*;
 import com.bookmanagement.service.BookService;
+import com.bookmanagement.specification.BookFilter;
 import com.bookmanagement.specification.BookSpecification;
+import com.bookmanagement.utils.BookCursor;
+import com.bookmanagement.utils.PagedResponse;
 import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -23,42 +42,226 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class BookServiceImpl  implements BookService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
     private final CategoryRepository categoryRepository;
     private final BookMapper bookMapper;
+    private final BookCountCache bookCountCache;
+    private final BookPageCache bookPageCache;
+    private final BookBitmapIndex bookBitmapIndex;
+    private final ColumnarBookEngine columnarBookEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Page<BookPaginationDTO> getAllBooks(GetAllBookParamsDTO params) {
         
+        // the offset listing predates the size limit of the slice and keyset modes and keeps accepting any size
         Pageable pageable = PageRequest.of(
                 params.page() != null ? params.page() : 0,
-                params.size() != null ? params.size() : 20,
-                createSort(params.sortBy())
+                params.size() != null ? params.size() : DEFAULT_PAGE_SIZE,
+                withIdTieBreaker(createSort(params.sortBy()))
         );
         
-        Specification<Book> spec = Specification.where(null);
+        BookFilter filter = BookFilter.from(params);
+        Optional<Page<BookPaginationDTO>> cachedPage = bookPageCache.get(filter, pageable);
+        if (cachedPage.isPresent()) {
+            return cachedPage.get();
+        }
+        
+        long writes = bookPageCache.writes();
+        Page<BookPaginationDTO> page = loadPage(filter, pageable);
+        bookPageCache.put(filter, pageable, page, writes);
+        return page;
+    }
 
-        if (params.authorId() != null) {
-            spec = spec.and(BookSpecification.hasAuthorId(params.authorId()));
+    private Page<BookPaginationDTO> loadPage(BookFilter filter, Pageable pageable) {
+        Optional<ScanResult> scanned = columnarBookEngine.scan(filter, pageable.getSort(), null, pageable.getOffset(), pageable.getPageSize());
+        if (scanned.isPresent()) {
+            // the scan counts every match, so its total is exact without a count query
+            return new PageImpl<>(hydrate(scanned.get().ids()), pageable, scanned.get().total())
+                    .map(bookMapper::toPaginationDTO);
         }
-        if (params.categoryId() != null) {
-            spec = spec.and(BookSpecification.hasCategoryId(params.categoryId()));
+        Optional<Roaring64Bitmap> members = bookBitmapIndex.resolve(filter);
+        
+        long generation = bookCountCache.generation();
+        Optional<CachedCount> cached = bookCountCache.get(filter).filter(CachedCount::fresh);
+        List<Book> books = fetchPage(filter, members, null, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        
+        // the COUNT(*) only runs when no fresh total is cached and the page itself cannot tell the total
+        Page<Book> page = PageableExecutionUtils.getPage(books, pageable,
+                () -> cached.map(CachedCount::total).orElseGet(() -> countBooks(filter, members)));
+        if (cached.isEmpty()) {
+            bookCountCache.put(filter, page.getTotalElements(), generation);
         }
-        if (params.ratingMin() != null) {
-            spec = spec.and(BookSpecification.hasRatingGreaterThanOrEqual(params.ratingMin()));
+        
+        return page.map(bookMapper::toPaginationDTO);
+    }
+
+    @Override
+    public PagedResponse<BookPaginationDTO> getAllBooksSlice(GetAllBookParamsDTO params) {
+        int page = params.page() != null ? params.page() : 0;
+        int size = resolveSize(params.size());
+        
+        BookFilter filter = BookFilter.from(params);
+        Sort sort = withIdTieBreaker(createSort(params.sortBy()));
+        
+        // fetch one extra row to know whether another page exists, without a count query
+        Optional<ScanResult> scanned = columnarBookEngine.scan(filter, sort, null, (long) page * size, size + 1);
+        List<Book> books = scanned.isPresent()
+                ? hydrate(scanned.get().ids())
+                : fetchPage(filter, bookBitmapIndex.resolve(filter), null, sort, (long) page * size, size + 1);
+        boolean hasNext = books.size() > size;
+        Optional<CachedCount> cached = scanned.map(result -> new CachedCount(result.total(), true))
+                .or(() -> bookCountCache.get(filter));
+        
+        return new PagedResponse<>(
+                (hasNext ? books.subList(0, size) : books).stream().map(bookMapper::toPaginationDTO).toList(),
+                page,
+                size,
+                cached.map(CachedCount::total).orElse(null),
+                totalTypeOf(cached),
+                hasNext,
+                null
+        );
+    }
+
+    @Override
+    public PagedResponse<BookPaginationDTO> getAllBooksByCursor(GetAllBookParamsDTO params) {
+        int size = resolveSize(params.size());
+        Sort sort = createSort(params.sortBy());
+        Sort.Order order = sort.iterator().next();
+        
+        BookFilter filter = BookFilter.from(params);
+        BookCursor cursor = null;
+        if (params.cursor() != null && !params.cursor().isBlank()) {
+            cursor = BookCursor.decode(params.cursor());
+            if (!cursor.matches(order)) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort order");
+            }
         }
-        if (params.ratingMax() != null) {
-            spec = spec.and(BookSpecification.hasRatingLessThanOrEqual(params.ratingMax()));
+        
+        // fetch one extra row to know whether another page exists, without a count query
+        Optional<ScanResult> scanned = columnarBookEngine.scan(filter, sort, cursor, 0, size + 1);
+        List<Book> books = scanned.isPresent()
+                ? hydrate(scanned.get().ids())
+                : fetchPage(filter, bookBitmapIndex.resolve(filter), cursor, withIdTieBreaker(sort), 0, size + 1);
+        
+        boolean hasNext = books.size() > size;
+        List<Book> pageContent = hasNext ? books.subList(0, size) : books;
+        String nextCursor = hasNext
+                ? BookCursor.after(pageContent.get(pageContent.size() - 1), order).encode()
+                : null;
+        Optional<CachedCount> cached = scanned.map(result -> new CachedCount(result.total(), true))
+                .or(() -> bookCountCache.get(filter));
+        
+        return new PagedResponse<>(
+                pageContent.stream().map(bookMapper::toPaginationDTO).toList(),
+                0,
+                size,
+                cached.map(CachedCount::total).orElse(null),
+                totalTypeOf(cached),
+                hasNext,
+                nextCursor
+        );
+    }
+
+    /**
+     * Loads a page in two queries: the ids of the page first, then those books with
+     * author and categories in one round trip. Paging a collection fetch join directly
+     * would make Hibernate page in memory.
+     */
+    private List<Book> fetchPage(BookFilter filter, Optional<Roaring64Bitmap> members, BookCursor cursor,
+                                 Sort sort, long offset, int limit) {
+        return hydrate(findPageIds(filter, members, cursor, sort, offset, limit));
+    }
+
+    /**
+     * Loads the books of a page of ids with author and categories, in the order of the ids
+     */
+    private List<Book> hydrate(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
-        if (params.publishedStart() != null) {
-            spec = spec.and(BookSpecification.publishedAfter(params.publishedStart()));
+        
+        Map<Long, Book> booksById = bookRepository.findAllWithDetailsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        
+        // restore the order of the id query; books deleted in between are skipped
+        return ids.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Ids of one page. When only author and category filters apply and the listing is in id
+     * order, the page is read straight from the bitmap index without touching the database.
+     */
+    private List<Long> findPageIds(BookFilter filter, Optional<Roaring64Bitmap> members, BookCursor cursor,
+                                   Sort sort, long offset, int limit) {
+        if (members.isPresent() && members.get().isEmpty()) {
+            return List.of();
         }
-        if (params.publishedEnd() != null) {
-            spec = spec.and(BookSpecification.publishedBefore(params.publishedEnd()));
+        
+        Sort.Order order = sort.iterator().next();
+        if (members.isPresent() && !filter.hasRangeFilter() && "id".equals(order.getProperty())) {
+            return MembershipBitmaps.page(members.get(), order.isAscending(),
+                    cursor != null ? cursor.id() : null, offset, limit);
         }
         
-        return bookRepository.findAll(spec, pageable).map(bookMapper::toPaginationDTO);
+        Specification<Book> spec = specificationOf(filter, members);
+        if (cursor != null) {
+            spec = spec.and(BookSpecification.seekAfter(cursor));
+        }
+        return bookRepository.findIds(spec, sort, offset, limit);
+    }
+
+    private long countBooks(BookFilter filter, Optional<Roaring64Bitmap> members) {
+        if (members.isPresent() && (members.get().isEmpty() || !filter.hasRangeFilter())) {
+            return members.get().getLongCardinality();
+        }
+        return bookRepository.count(specificationOf(filter, members));
+    }
+
+    /**
+     * Replaces the author and category joins with the ids resolved from the bitmap index
+     * when there are few enough of them to inline
+     */
+    private Specification<Book> specificationOf(BookFilter filter, Optional<Roaring64Bitmap> members) {
+        if (members.isPresent() && members.get().getLongCardinality() <= bookBitmapIndex.maxInlinedIds()) {
+            List<Long> ids = Arrays.stream(members.get().toArray()).boxed().toList();
+            return BookSpecification.matchingRanges(filter).and(BookSpecification.hasIdIn(ids));
+        }
+        return BookSpecification.matching(filter);
+    }
+
+    /**
+     * Appends id to the sort so pages are deterministic when sort keys repeat
+     */
+    private Sort withIdTieBreaker(Sort sort) {
+        Sort.Order order = sort.iterator().next();
+        return "id".equals(order.getProperty()) ? sort : sort.and(Sort.by(order.getDirection(), "id"));
+    }
+
+    /**
+     * Totals are only reported when already cached; stale ones are flagged as estimates
+     */
+    private TotalType totalTypeOf(Optional<CachedCount> cached) {
+        return cached.map(count -> count.fresh() ? TotalType.EXACT : TotalType.ESTIMATED)
+                .orElse(TotalType.OMITTED);
+    }
+
+    private int resolveSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
     }
 
 
@@ -104,6 +307,13 @@ public class BookServiceImpl  implements BookService {
         return bookMapper.toDetailDTO(book);
     }
 
+    @Override
+    public RatingHistogramDTO getRatingHistogram(Long id) {
+        return bookRepository.findRatingHistogramById(id)
+                .map(bookMapper::toRatingHistogramDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + id));
+    }
+
     @Override
     @Transactional
     public BookDTO createBook(NewBookDTO bookDTO) {
@@ -129,6 +339,7 @@ public class BookServiceImpl  implements BookService {
         book.setRating(0.0);
         
         Book savedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(new BookChangedEvent(savedBook.getId(), BookChangedEvent.ChangeType.CREATED));
         return bookMapper.toDTO(savedBook);
     }
 
@@ -143,6 +354,7 @@ public class BookServiceImpl  implements BookService {
         updateCategoriesIfProvided(book, bookDTO.getCategoryIds());
         
         Book updatedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(new BookChangedEvent(updatedBook.getId(), BookChangedEvent.ChangeType.UPDATED));
         return bookMapper.toDetailDTO(updatedBook);
     }
 
@@ -232,6 +444,7 @@ public class BookServiceImpl  implements BookService {
             throw new ResourceNotFoundException("Book not found with id: " + id);
         }
         bookRepository.deleteById(id);
+        eventPublisher.publishEvent(new BookChangedEvent(id, BookChangedEvent.ChangeType.DELETED));
     }
     
 }
@@ -0,0 +1,91 @@
+package com.bookmanagement.service.impl;
+
+import com.bookmanagement.constant.RoleConstants;
+import com.bookmanagement.dto.UserReviewDTO;
+import com.bookmanagement.entity.User;
+import com.bookmanagement.enums.ReviewSort;
+import com.bookmanagement.exception.ResourceNotFoundException;
+import com.bookmanagement.repository.ReviewRepository;
+import com.bookmanagement.repository.UserRepository;
+import com.bookmanagement.security.AuthenticatedUser;
+import com.bookmanagement.service.ReviewExportService;
+import com.bookmanagement.specification.ReviewSpecification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@Service
+@Transactional(readOnly = true)
+public class ReviewExportServiceImpl implements ReviewExportService {
+
+    private final ReviewRepository reviewRepository;
+    private final UserRepository userRepository;
+    private final ObjectWriter rowWriter;
+    private final int fetchSize;
+
+    public ReviewExportServiceImpl(ReviewRepository reviewRepository,
+                                   UserRepository userRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${catalogue.export.fetch-size:1000}") int fetchSize) {
+        this.reviewRepository = reviewRepository;
+        this.userRepository = userRepository;
+        this.rowWriter = objectMapper.writerFor(UserReviewDTO.class);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Checks the requester and the user before the first byte is written, so a refusal is still a 403
+     * and a missing user a 404; then streams batch by batch like the book export
+     */
+    @Override
+    public void exportReviewsByUserId(Long userId, UserDetails requester, OutputStream out) throws IOException {
+        if (!mayExport(requester, userId)) {
+            throw new AccessDeniedException("Only the user and admins may export a user's reviews");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        try {
+            reviewRepository.forEachUserReviewBatch(ReviewSpecification.hasUserId(userId),
+                    ReviewSpecification.sortOf(ReviewSort.NEWEST), fetchSize, batch -> {
+                try {
+                    for (UserReviewDTO row : batch) {
+                        out.write(rowWriter.writeValueAsBytes(row));
+                        out.write('\n');
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * A principal built from stateless token claims carries no id, so it is matched by username
+     */
+    private boolean mayExport(UserDetails requester, Long userId) {
+        boolean admin = requester.getAuthorities().stream()
+                .anyMatch(authority -> ("ROLE_" + RoleConstants.ADMIN).equals(authority.getAuthority()));
+        if (admin) {
+            return true;
+        }
+        if (requester instanceof AuthenticatedUser user && user.getId() != null) {
+            return user.getId().equals(userId);
+        }
+        return userRepository.findByUsername(requester.getUsername())
+                .map(User::getId)
+                .filter(userId::equals)
+                .isPresent();
+    }
+}
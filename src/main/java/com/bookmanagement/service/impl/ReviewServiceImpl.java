@@ -3,13 +3,22 @@ package com.bookmanagement.service.impl;
 import com.bookmanagement.dto.NewReviewDTO;
 import com.bookmanagement.dto.ReviewDTO;
 import com.bookmanagement.dto.UpdateReviewDTO;
+import com.bookmanagement.dto.UserReviewDTO;
 import com.bookmanagement.entity.*;
+import com.bookmanagement.enums.ReviewSort;
+import com.bookmanagement.enums.TotalType;
+import com.bookmanagement.event.BookChangedEvent;
 import com.bookmanagement.exception.ResourceNotFoundException;
 import com.bookmanagement.mapper.ReviewMapper;
 import com.bookmanagement.repository.*;
 import com.bookmanagement.service.ReviewService;
+import com.bookmanagement.specification.ReviewSpecification;
+import com.bookmanagement.utils.PagedResponse;
+import com.bookmanagement.utils.ReviewCursor;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -19,17 +28,73 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class ReviewServiceImpl implements ReviewService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
      private final ReviewRepository reviewRepository;
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
     private final ReviewMapper reviewMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-      public List<ReviewDTO> getReviewsByBookId(Long bookId) {
-        return reviewRepository.findByBookId(bookId).stream()
-                .map(reviewMapper::toDTO)
-                .toList();
+    public PagedResponse<ReviewDTO> getReviewsByBookId(Long bookId, Integer size, ReviewSort sort, String cursor) {
+        int pageSize = resolveSize(size);
+        ReviewSort order = sort != null ? sort : ReviewSort.NEWEST;
+        
+        // the book row keeps its review count, so the total costs a primary-key lookup instead of a count query
+        long total = bookRepository.findReviewCountById(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + bookId));
+        
+        Specification<Review> spec = seekingAfter(ReviewSpecification.hasBookId(bookId), cursor, order);
+        
+        // fetch one extra row to know whether another page exists
+        List<ReviewDTO> reviews = reviewRepository.findPage(spec, ReviewSpecification.sortOf(order), pageSize + 1);
+        boolean hasNext = reviews.size() > pageSize;
+        List<ReviewDTO> pageContent = hasNext ? reviews.subList(0, pageSize) : reviews;
+        String nextCursor = hasNext
+                ? ReviewCursor.after(pageContent.get(pageContent.size() - 1), order).encode()
+                : null;
+        
+        return new PagedResponse<>(
+                pageContent,
+                0,
+                pageSize,
+                total,
+                TotalType.EXACT,
+                hasNext,
+                nextCursor
+        );
+    }
+    
+    @Override
+    public PagedResponse<UserReviewDTO> getReviewsByUserId(Long userId, Integer size, String cursor) {
+        int pageSize = resolveSize(size);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        
+        Specification<Review> spec = seekingAfter(ReviewSpecification.hasUserId(userId), cursor, ReviewSort.NEWEST);
+        List<UserReviewDTO> reviews = reviewRepository.findUserReviewPage(
+                spec, ReviewSpecification.sortOf(ReviewSort.NEWEST), pageSize + 1);
+        boolean hasNext = reviews.size() > pageSize;
+        List<UserReviewDTO> pageContent = hasNext ? reviews.subList(0, pageSize) : reviews;
+        String nextCursor = hasNext
+                ? ReviewCursor.after(pageContent.get(pageContent.size() - 1)).encode()
+                : null;
+        
+        // users keep no review count, and counting thousands of rows per page would defeat the keyset
+        return new PagedResponse<>(
+                pageContent,
+                0,
+                pageSize,
+                null,
+                TotalType.OMITTED,
+                hasNext,
+                nextCursor
+        );
     }
+    
     @Override
     @Transactional
     public ReviewDTO createReview(Long bookId, NewReviewDTO reviewDTO) {
@@ -44,20 +109,23 @@ public class ReviewServiceImpl implements ReviewService {
         review.setUser(user);
         
         Review savedReview = reviewRepository.save(review);
+        // mapped first: applying the rating clears the persistence context
+        ReviewDTO created = reviewMapper.toDTO(savedReview);
         
-        book.calculateRating();
-        bookRepository.save(book);
+        bookRepository.applyReviewRating(bookId, savedReview.getRating(), 0);
+        eventPublisher.publishEvent(new BookChangedEvent(bookId, BookChangedEvent.ChangeType.RATING_CHANGED));
         
-        return reviewMapper.toDTO(savedReview);
+        return created;
     }
 
 
     @Override
      @Transactional
     public ReviewDTO updateReview(Long id, UpdateReviewDTO reviewDTO) {
-        Review review = reviewRepository.findById(id)
+        Review review = reviewRepository.findByIdWithDetails(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
         
+        int previousRating = review.getRating();
         if (reviewDTO.getRating() != null) {
             review.setRating(reviewDTO.getRating());
         }
@@ -67,11 +135,16 @@ public class ReviewServiceImpl implements ReviewService {
         }
         
         Review updatedReview = reviewRepository.save(review);
+        ReviewDTO updated = reviewMapper.toDTO(updatedReview);
         
-        review.getBook().calculateRating();
-        bookRepository.save(review.getBook());
+        // a comment-only edit leaves the aggregates alone
+        if (updatedReview.getRating() != previousRating) {
+            Long bookId = review.getBook().getId();
+            bookRepository.applyReviewRating(bookId, updatedReview.getRating(), previousRating);
+            eventPublisher.publishEvent(new BookChangedEvent(bookId, BookChangedEvent.ChangeType.RATING_CHANGED));
+        }
         
-        return reviewMapper.toDTO(updatedReview);
+        return updated;
     }
 
     @Override
@@ -80,11 +153,31 @@ public class ReviewServiceImpl implements ReviewService {
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
         
-        Book book = review.getBook();
+        Long bookId = review.getBook().getId();
         reviewRepository.deleteById(id);
         
-        book.calculateRating();
-        bookRepository.save(book);
+        bookRepository.applyReviewRating(bookId, 0, review.getRating());
+        eventPublisher.publishEvent(new BookChangedEvent(bookId, BookChangedEvent.ChangeType.RATING_CHANGED));
+    }
+
+    private Specification<Review> seekingAfter(Specification<Review> spec, String cursor, ReviewSort order) {
+        if (cursor == null || cursor.isBlank()) {
+            return spec;
+        }
+        ReviewCursor position = ReviewCursor.decode(cursor);
+        if (position.sort() != order) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+        return spec.and(ReviewSpecification.seekAfter(position));
+    }
+
+    private int resolveSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
     }
-    
 }
@@ -4,29 +4,52 @@ import com.bookmanagement.constant.RoleConstants;
 import com.bookmanagement.dto.*;
 import com.bookmanagement.entity.Role;
 import com.bookmanagement.entity.User;
+import com.bookmanagement.event.UserChangedEvent;
 //import com.bookmanagement.enums.Role;
 import com.bookmanagement.exception.*;
 import com.bookmanagement.mapper.UserMapper;
 import com.bookmanagement.repository.RoleRepository;
 import com.bookmanagement.repository.UserRepository;
 import com.bookmanagement.service.UserService;
-import lombok.RequiredArgsConstructor;
+import com.bookmanagement.security.PasswordHasher;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Passwords are hashed on the {@link PasswordHasher} executor before the transaction that writes the user
+ * begins, so creating or updating a user does not hold a database connection for the length of a BCrypt hash.
+ */
 @Service
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 @Slf4j
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final RoleRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserServiceImpl(UserRepository userRepository,
+                           UserMapper userMapper,
+                           PasswordHasher passwordHasher,
+                           RoleRepository roleRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.passwordHasher = passwordHasher;
+        this.roleRepository = roleRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
 
     @Override
@@ -39,20 +62,24 @@ public class UserServiceImpl implements UserService {
 
 
 @Override
-@Transactional
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
 public UserResponseDTO createUser(NewUserDTO userDTO) {
     log.info(">>>> Creating user with username: {}", userDTO.getUsername());
 
     validateAdminRoleAssignment(userDTO);
-    validateUniqueConstraints(userDTO);
+    String encodedPassword = passwordHasher.encode(userDTO.getPassword());
 
-    User user = buildUserEntity(userDTO);
-    assignRolesToUser(user, userDTO.getRole());
+    return transactionTemplate.execute(status -> {
+        validateUniqueConstraints(userDTO);
 
-    User savedUser = userRepository.save(user);
-    log.info(">>>> User saved successfully with {} role(s)", savedUser.getRoles().size());
+        User user = buildUserEntity(userDTO, encodedPassword);
+        assignRolesToUser(user, userDTO.getRole());
 
-    return userMapper.toResponseDTO(savedUser);
+        User savedUser = userRepository.save(user);
+        log.info(">>>> User saved successfully with {} role(s)", savedUser.getRoles().size());
+
+        return userMapper.toResponseDTO(savedUser);
+    });
 }
 
 /**
@@ -83,11 +110,11 @@ private void validateUniqueConstraints(NewUserDTO userDTO) {
 }
 
 /**
- * Builds user entity from DTO and encodes password
+ * Builds user entity from DTO with the already encoded password
  */
-private User buildUserEntity(NewUserDTO userDTO) {
+private User buildUserEntity(NewUserDTO userDTO, String encodedPassword) {
     User user = userMapper.toEntity(userDTO);
-    user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+    user.setPassword(encodedPassword);
     return user;
 }
 
@@ -145,10 +172,17 @@ private void assignDefaultRole(User user) {
 }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponseDTO updateUser(Long id, UpdateUserDTO userDTO) {
+        String encodedPassword = userDTO.getPassword() != null ? passwordHasher.encode(userDTO.getPassword()) : null;
+        return transactionTemplate.execute(status -> applyUpdate(id, userDTO, encodedPassword));
+    }
+
+    private UserResponseDTO applyUpdate(Long id, UpdateUserDTO userDTO, String encodedPassword) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        // cached by the username it had so far
+        String previousUsername = user.getUsername();
         
         if (userDTO.getUsername() != null && !userDTO.getUsername().equals(user.getUsername())) {
             if (userRepository.findByUsername(userDTO.getUsername()).isPresent()) {
@@ -164,21 +198,22 @@ private void assignDefaultRole(User user) {
             user.setEmail(userDTO.getEmail());
         }
         
-        if (userDTO.getPassword() != null) {
-            user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+        if (encodedPassword != null) {
+            user.setPassword(encodedPassword);
         }
         
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getId(), previousUsername));
         return userMapper.toResponseDTO(updatedUser);
     }
 
     @Override
      @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        userRepository.delete(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id, user.getUsername()));
     }
     
 }
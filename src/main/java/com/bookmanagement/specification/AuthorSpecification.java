@@ -0,0 +1,39 @@
+package com.bookmanagement.specification;
+
+import com.bookmanagement.entity.Author;
+import com.bookmanagement.utils.AuthorCursor;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.Locale;
+
+public class AuthorSpecification {
+
+    /**
+     * Order of the author listing; the id breaks ties between equal names
+     */
+    public static final Sort LISTING_ORDER = Sort.by(Sort.Direction.ASC, "name", "id");
+
+    /**
+     * Case-insensitive name prefix; LIKE wildcards in the prefix match literally
+     */
+    public static Specification<Author> nameStartsWith(String prefix) {
+        String escaped = prefix.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), escaped + "%", '\\');
+    }
+
+    /**
+     * Keyset predicate selecting the authors that sort after the cursor in {@link #LISTING_ORDER}
+     */
+    public static Specification<Author> seekAfter(AuthorCursor cursor) {
+        return (root, query, cb) -> {
+            Path<String> name = root.get("name");
+            return cb.or(
+                    cb.greaterThan(name, cursor.name()),
+                    cb.and(cb.equal(name, cursor.name()), cb.greaterThan(root.get("id"), cursor.id())));
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.bookmanagement.specification;
+
+import com.bookmanagement.dto.GetAllBookParamsDTO;
+import com.bookmanagement.enums.MatchMode;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Normalized filter set of a book listing, without paging or sorting.
+ * Equal filters select the same books, so this is safe to use as a cache key.
+ * A book matches the author filter when it is by any of the authors, and the category
+ * filter when it is in any (or, with {@link MatchMode#ALL}, every) one of the categories.
+ */
+public record BookFilter(
+        Set<Long> authorIds,
+        Set<Long> categoryIds,
+        MatchMode categoryMatch,
+        Double ratingMin,
+        Double ratingMax,
+        LocalDate publishedStart,
+        LocalDate publishedEnd
+) {
+
+    private static final double MIN_RATING = 0.0;
+    private static final double MAX_RATING = 5.0;
+
+    public static BookFilter from(GetAllBookParamsDTO params) {
+        // bounds outside the possible rating range do not filter anything
+        Double ratingMin = params.ratingMin() != null && params.ratingMin() > MIN_RATING ? params.ratingMin() : null;
+        Double ratingMax = params.ratingMax() != null && params.ratingMax() < MAX_RATING ? params.ratingMax() : null;
+
+        Set<Long> categoryIds = idsOf(params.categoryId(), params.categoryIds());
+        // matching all of a single category is the same as matching any
+        MatchMode categoryMatch = params.categoryMatch() == MatchMode.ALL && categoryIds.size() > 1
+                ? MatchMode.ALL
+                : MatchMode.ANY;
+
+        return new BookFilter(
+                idsOf(params.authorId(), params.authorIds()),
+                categoryIds,
+                categoryMatch,
+                ratingMin,
+                ratingMax,
+                params.publishedStart(),
+                params.publishedEnd()
+        );
+    }
+
+    /**
+     * Whether the filter restricts authors or categories
+     */
+    public boolean hasMembershipFilter() {
+        return !authorIds.isEmpty() || !categoryIds.isEmpty();
+    }
+
+    /**
+     * Whether the filter restricts rating or publication date
+     */
+    public boolean hasRangeFilter() {
+        return ratingMin != null || ratingMax != null || publishedStart != null || publishedEnd != null;
+    }
+
+    private static Set<Long> idsOf(Long id, List<Long> ids) {
+        SortedSet<Long> merged = new TreeSet<>();
+        if (id != null) {
+            merged.add(id);
+        }
+        if (ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(merged::add);
+        }
+        return Collections.unmodifiableSortedSet(merged);
+    }
+}
@@ -2,21 +2,97 @@ package com.bookmanagement.specification;
 
 import com.bookmanagement.entity.Book;
 import com.bookmanagement.entity.Category;
+import com.bookmanagement.enums.MatchMode;
+import com.bookmanagement.utils.BookCursor;
 import jakarta.persistence.criteria.*;
 import org.springframework.data.jpa.domain.Specification;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 public class BookSpecification {
     
+    /**
+     * Combines every filter that is set on the given filter set
+     */
+    public static Specification<Book> matching(BookFilter filter) {
+        Specification<Book> spec = matchingRanges(filter);
+
+        if (!filter.authorIds().isEmpty()) {
+            spec = spec.and(hasAuthorIdIn(filter.authorIds()));
+        }
+        if (!filter.categoryIds().isEmpty()) {
+            spec = spec.and(filter.categoryMatch() == MatchMode.ALL
+                    ? hasAllCategoryIds(filter.categoryIds())
+                    : hasAnyCategoryId(filter.categoryIds()));
+        }
+        
+        return spec;
+    }
+
+    /**
+     * Combines the rating and publication date filters only, for when authors and
+     * categories are already resolved to book ids
+     */
+    public static Specification<Book> matchingRanges(BookFilter filter) {
+        Specification<Book> spec = Specification.where(null);
+
+        if (filter.ratingMin() != null) {
+            spec = spec.and(hasRatingGreaterThanOrEqual(filter.ratingMin()));
+        }
+        if (filter.ratingMax() != null) {
+            spec = spec.and(hasRatingLessThanOrEqual(filter.ratingMax()));
+        }
+        if (filter.publishedStart() != null) {
+            spec = spec.and(publishedAfter(filter.publishedStart()));
+        }
+        if (filter.publishedEnd() != null) {
+            spec = spec.and(publishedBefore(filter.publishedEnd()));
+        }
+        
+        return spec;
+    }
+    
     public static Specification<Book> hasAuthorId(Long authorId) {
         return (root, query, cb) -> cb.equal(root.get("author").get("id"), authorId);
     }
     
+    public static Specification<Book> hasAuthorIdIn(Collection<Long> authorIds) {
+        return (root, query, cb) -> root.get("author").get("id").in(authorIds);
+    }
+    
+    public static Specification<Book> hasIdIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+    
     public static Specification<Book> hasCategoryId(Long categoryId) {
-        return (root, query, cb) -> {
-            Join<Book, Category> categories = root.join("categories");
-            return cb.equal(categories.get("id"), categoryId);
-        };
+        return hasAnyCategoryId(List.of(categoryId));
+    }
+    
+    /**
+     * Books in at least one of the categories. Uses a subquery rather than a join
+     * so a book in several of them is still returned once.
+     */
+    public static Specification<Book> hasAnyCategoryId(Collection<Long> categoryIds) {
+        return (root, query, cb) -> cb.exists(categorySubquery(root, query, cb, categoryIds));
+    }
+    
+    /**
+     * Books in every one of the categories
+     */
+    public static Specification<Book> hasAllCategoryIds(Collection<Long> categoryIds) {
+        return (root, query, cb) -> cb.and(categoryIds.stream()
+                .map(categoryId -> cb.exists(categorySubquery(root, query, cb, List.of(categoryId))))
+                .toArray(Predicate[]::new));
+    }
+    
+    private static Subquery<Long> categorySubquery(Root<Book> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+                                                   Collection<Long> categoryIds) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<Book> book = subquery.from(Book.class);
+        Join<Book, Category> categories = book.join("categories");
+        return subquery.select(book.get("id"))
+                .where(cb.equal(book, root), categories.get("id").in(categoryIds));
     }
     
     public static Specification<Book> hasRatingGreaterThanOrEqual(Double rating) {
@@ -34,4 +110,30 @@ public class BookSpecification {
     public static Specification<Book> publishedBefore(LocalDate date) {
         return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("publishedDate"), date);
     }
+    
+    /**
+     * Keyset predicate selecting the rows that sort after the cursor position.
+     * Nulls are ordered last in both directions (see hibernate.order_by.default_null_ordering).
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Book> seekAfter(BookCursor cursor) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            boolean ascending = cursor.direction().isAscending();
+            Predicate idAfter = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+            
+            if ("id".equals(cursor.property())) {
+                return idAfter;
+            }
+            
+            Path key = root.get(cursor.property());
+            if (cursor.value() == null) {
+                return cb.and(cb.isNull(key), idAfter);
+            }
+            
+            Comparable value = cursor.value();
+            Predicate keyAfter = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+            return cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter), cb.isNull(key));
+        };
+    }
 }
\ No newline at end of file
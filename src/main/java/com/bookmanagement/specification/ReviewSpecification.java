@@ -0,0 +1,61 @@
+package com.bookmanagement.specification;
+
+import com.bookmanagement.entity.Review;
+import com.bookmanagement.enums.ReviewSort;
+import com.bookmanagement.utils.ReviewCursor;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDateTime;
+
+public class ReviewSpecification {
+
+    public static Specification<Review> hasBookId(Long bookId) {
+        return (root, query, cb) -> cb.equal(root.get("book").get("id"), bookId);
+    }
+
+    public static Specification<Review> hasUserId(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    /**
+     * Order of a review listing. Newest first is {@code (createdAt, id)} descending; highest first puts
+     * the rating in front of that. Lowest first is the exact reverse of highest first, oldest first within
+     * a rating, so both rating orders are served by one {@code (book_id, rating, created_at, id)} index.
+     */
+    public static Sort sortOf(ReviewSort sort) {
+        Sort newest = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+        return switch (sort) {
+            case NEWEST -> newest;
+            case HIGHEST -> Sort.by(Sort.Direction.DESC, "rating").and(newest);
+            case LOWEST -> Sort.by(Sort.Direction.ASC, "rating", "createdAt", "id");
+        };
+    }
+
+    /**
+     * Keyset predicate selecting the rows that sort after the cursor position in {@link #sortOf} order.
+     * Rating and creation time are never null, so no null handling is needed.
+     */
+    public static Specification<Review> seekAfter(ReviewCursor cursor) {
+        return (root, query, cb) -> {
+            boolean ascending = cursor.sort() == ReviewSort.LOWEST;
+            Path<LocalDateTime> createdAt = root.get("createdAt");
+            Path<Long> id = root.get("id");
+            
+            Predicate afterCreated = ascending
+                    ? cb.or(cb.greaterThan(createdAt, cursor.createdAt()),
+                            cb.and(cb.equal(createdAt, cursor.createdAt()), cb.greaterThan(id, cursor.id())))
+                    : cb.or(cb.lessThan(createdAt, cursor.createdAt()),
+                            cb.and(cb.equal(createdAt, cursor.createdAt()), cb.lessThan(id, cursor.id())));
+            if (cursor.sort() == ReviewSort.NEWEST) {
+                return afterCreated;
+            }
+            
+            Path<Integer> rating = root.get("rating");
+            Predicate ratingAfter = ascending
+                    ? cb.greaterThan(rating, cursor.rating())
+                    : cb.lessThan(rating, cursor.rating());
+            return cb.or(ratingAfter, cb.and(cb.equal(rating, cursor.rating()), afterCreated));
+        };
+    }
+}
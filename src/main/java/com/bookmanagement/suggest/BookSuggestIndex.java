@@ -0,0 +1,87 @@
+package com.bookmanagement.suggest;
+
+import com.bookmanagement.event.BookChangedEvent;
+import com.bookmanagement.event.BooksImportedEvent;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.utils.BookChunkLoader;
+import com.bookmanagement.utils.BookIndexSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Title and ISBN autocomplete, ranked by rating.
+ * Rebuilt from the database at startup and kept current from book writes and rating changes.
+ */
+@Component
+@Slf4j
+public class BookSuggestIndex extends BookIndexSupport {
+
+    private final BookRepository bookRepository;
+    private final BookChunkLoader bookChunkLoader;
+    private final int topK;
+
+    private volatile SuggestionTrie trie;
+
+    public BookSuggestIndex(BookRepository bookRepository,
+                            BookChunkLoader bookChunkLoader,
+                            @Value("${catalogue.suggest.top-k:10}") int topK) {
+        this.bookRepository = bookRepository;
+        this.bookChunkLoader = bookChunkLoader;
+        this.topK = topK;
+        this.trie = new SuggestionTrie(topK);
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, Math.min(limit, topK));
+    }
+
+    public int maxSuggestions() {
+        return topK;
+    }
+
+    public long footprintBytes() {
+        return trie.footprintBytes();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        rebuildWith(() -> {
+            List<Suggestion> all = Collections.synchronizedList(new ArrayList<>());
+            bookChunkLoader.forEachChunk(Suggestion::of, all::addAll);
+
+            // one bulk load, so the best-suggestion lists are computed once rather than per chunk
+            SuggestionTrie rebuilt = new SuggestionTrie(topK);
+            rebuilt.upsertAll(all);
+            trie = rebuilt;
+        });
+        log.info("Suggestion trie rebuilt with {} books ({} KiB) in {} ms",
+                trie.size(), trie.footprintBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        bookChanged(event.bookId());
+    }
+
+    @EventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        rebuild();
+    }
+
+    @Override
+    protected void refresh(Long bookId) {
+        bookRepository.findById(bookId).ifPresentOrElse(
+                book -> trie.upsert(Suggestion.of(book)),
+                () -> trie.remove(bookId)
+        );
+    }
+}
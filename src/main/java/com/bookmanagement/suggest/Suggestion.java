@@ -0,0 +1,27 @@
+package com.bookmanagement.suggest;
+
+import com.bookmanagement.entity.Book;
+
+import java.util.Comparator;
+
+/**
+ * A book as offered by autocomplete
+ */
+public record Suggestion(
+        long bookId,
+        String title,
+        String isbn,
+        double rating
+) {
+
+    /**
+     * Best rated first, then lowest id
+     */
+    static final Comparator<Suggestion> RANKING = Comparator.comparingDouble(Suggestion::rating).reversed()
+            .thenComparingLong(Suggestion::bookId);
+
+    public static Suggestion of(Book book) {
+        double rating = book.getRating() != null ? book.getRating() : 0.0;
+        return new Suggestion(book.getId(), book.getTitle(), book.getIsbn(), rating);
+    }
+}
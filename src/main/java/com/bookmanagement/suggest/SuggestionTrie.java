@@ -0,0 +1,357 @@
+package com.bookmanagement.suggest;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Radix trie over normalized titles and ISBNs. Every node keeps the best suggestions of its
+ * subtree, so a lookup is a walk down the prefix plus a copy of at most k entries.
+ * Writes recompute those lists only along the paths of the keys they touch.
+ * Reads share a lock; writes are exclusive.
+ */
+public class SuggestionTrie {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern DROPPED = Pattern.compile("[^\\p{L}\\p{Nd} ]+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private static final char[] NO_KEYS = {};
+    private static final Node[] NO_CHILDREN = {};
+    private static final long[] NO_BOOKS = {};
+    private static final Suggestion[] NO_SUGGESTIONS = {};
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int topK;
+    private final Node root = new Node("");
+    private final Map<Long, Suggestion> suggestions = new HashMap<>();
+
+    private static final class Node {
+        String label;
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        long[] books = NO_BOOKS;
+        Suggestion[] top = NO_SUGGESTIONS;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        int indexOf(char key) {
+            return Arrays.binarySearch(keys, key);
+        }
+    }
+
+    public SuggestionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * Lower-cases, folds accents and drops punctuation, so "978-0-13" and "9780 13" differ but "Éclair" and "eclair" do not
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        String kept = DROPPED.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll("");
+        return SPACES.matcher(kept).replaceAll(" ").strip();
+    }
+
+    /**
+     * Loads many books, computing the best-suggestion lists once at the end
+     */
+    public void upsertAll(List<Suggestion> batch) {
+        lock.writeLock().lock();
+        try {
+            for (Suggestion suggestion : batch) {
+                removeKeys(suggestion.bookId(), false);
+                insertKeys(suggestion, false);
+            }
+            recomputeAll(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(Suggestion suggestion) {
+        lock.writeLock().lock();
+        try {
+            removeKeys(suggestion.bookId(), true);
+            insertKeys(suggestion, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeKeys(bookId, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return suggestions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best rated books whose title or ISBN starts with the prefix
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int depth = 0;
+            while (depth < key.length()) {
+                int index = node.indexOf(key.charAt(depth));
+                if (index < 0) {
+                    return List.of();
+                }
+                node = node.children[index];
+                int matched = commonPrefix(node.label, key, depth);
+                if (depth + matched == key.length()) {
+                    break;
+                }
+                if (matched < node.label.length()) {
+                    return List.of();
+                }
+                depth += matched;
+            }
+            return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap held by nodes, labels, book lists and suggestions
+     */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            // a HashMap entry, a boxed key and a record with two strings of ~40 chars
+            return footprintOf(root) + suggestions.size() * 240L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long footprintOf(Node node) {
+        long bytes = 40 + 40 + 2L * node.label.length()
+                + 16 + 2L * node.keys.length
+                + 16 + 4L * node.children.length
+                + 16 + 8L * node.books.length
+                + 16 + 4L * node.top.length;
+        for (Node child : node.children) {
+            bytes += footprintOf(child);
+        }
+        return bytes;
+    }
+
+    private void insertKeys(Suggestion suggestion, boolean recompute) {
+        suggestions.put(suggestion.bookId(), suggestion);
+        for (String key : keysOf(suggestion)) {
+            List<Node> path = insert(key, suggestion.bookId());
+            if (recompute) {
+                recomputePath(path);
+            }
+        }
+    }
+
+    private void removeKeys(long bookId, boolean recompute) {
+        Suggestion previous = suggestions.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        for (String key : keysOf(previous)) {
+            List<Node> path = remove(key, bookId);
+            if (recompute && path != null) {
+                recomputePath(path);
+            }
+        }
+    }
+
+    private static Set<String> keysOf(Suggestion suggestion) {
+        Set<String> keys = new HashSet<>();
+        for (String key : new String[]{normalize(suggestion.title()), normalize(suggestion.isbn())}) {
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Adds the book at the key, splitting edges as needed; returns the nodes from the root down
+     */
+    private List<Node> insert(String key, long bookId) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int depth = 0;
+        while (depth < key.length()) {
+            int index = node.indexOf(key.charAt(depth));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(depth));
+                addChild(node, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+
+            Node child = node.children[index];
+            int matched = commonPrefix(child.label, key, depth);
+            if (matched < child.label.length()) {
+                // split the edge where the key diverges from it
+                Node middle = new Node(child.label.substring(0, matched));
+                child.label = child.label.substring(matched);
+                addChild(middle, child);
+                node.children[index] = middle;
+                middle.top = child.top;
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            depth += matched;
+        }
+        node.books = Arrays.copyOf(node.books, node.books.length + 1);
+        node.books[node.books.length - 1] = bookId;
+        return path;
+    }
+
+    /**
+     * Drops the book from the key and prunes or merges emptied nodes; returns the surviving path
+     */
+    private List<Node> remove(String key, long bookId) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int depth = 0;
+        while (depth < key.length()) {
+            int index = node.indexOf(key.charAt(depth));
+            if (index < 0) {
+                return null;
+            }
+            node = node.children[index];
+            if (commonPrefix(node.label, key, depth) < node.label.length()) {
+                return null;
+            }
+            path.add(node);
+            depth += node.label.length();
+        }
+        node.books = Arrays.stream(node.books).filter(id -> id != bookId).toArray();
+
+        // walk back up, removing empty leaves and merging single-child pass-through nodes
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            Node parent = path.get(i - 1);
+            if (current.books.length > 0 || current.children.length > 1) {
+                break;
+            }
+            if (current.children.length == 0) {
+                removeChild(parent, current);
+                path.remove(i);
+                continue;
+            }
+            Node only = current.children[0];
+            only.label = current.label + only.label;
+            parent.children[parent.indexOf(only.label.charAt(0))] = only;
+            path.set(i, only);
+            break;
+        }
+        return path;
+    }
+
+    private void recomputePath(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            recompute(path.get(i));
+        }
+    }
+
+    private void recomputeAll(Node node) {
+        for (Node child : node.children) {
+            recomputeAll(child);
+        }
+        recompute(node);
+    }
+
+    /**
+     * Best k distinct books among this node's own books and its children's best lists
+     */
+    private void recompute(Node node) {
+        List<Suggestion> candidates = new ArrayList<>();
+        for (long bookId : node.books) {
+            candidates.add(suggestions.get(bookId));
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(Suggestion.RANKING);
+
+        List<Suggestion> top = new ArrayList<>(topK);
+        Set<Long> seen = new HashSet<>();
+        for (Suggestion candidate : candidates) {
+            if (top.size() == topK) {
+                break;
+            }
+            // a book can reach the same node through both its title and its ISBN
+            if (seen.add(candidate.bookId())) {
+                top.add(candidate);
+            }
+        }
+        node.top = top.toArray(NO_SUGGESTIONS);
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static void addChild(Node parent, Node child) {
+        int insertAt = -parent.indexOf(child.label.charAt(0)) - 1;
+        char[] keys = new char[parent.keys.length + 1];
+        Node[] children = new Node[parent.children.length + 1];
+        System.arraycopy(parent.keys, 0, keys, 0, insertAt);
+        System.arraycopy(parent.children, 0, children, 0, insertAt);
+        keys[insertAt] = child.label.charAt(0);
+        children[insertAt] = child;
+        System.arraycopy(parent.keys, insertAt, keys, insertAt + 1, parent.keys.length - insertAt);
+        System.arraycopy(parent.children, insertAt, children, insertAt + 1, parent.children.length - insertAt);
+        parent.keys = keys;
+        parent.children = children;
+    }
+
+    private static void removeChild(Node parent, Node child) {
+        int index = parent.indexOf(child.label.charAt(0));
+        char[] keys = new char[parent.keys.length - 1];
+        Node[] children = new Node[parent.children.length - 1];
+        System.arraycopy(parent.keys, 0, keys, 0, index);
+        System.arraycopy(parent.children, 0, children, 0, index);
+        System.arraycopy(parent.keys, index + 1, keys, index, keys.length - index);
+        System.arraycopy(parent.children, index + 1, children, index, children.length - index);
+        parent.keys = keys;
+        parent.children = children;
+    }
+}
@@ -0,0 +1,47 @@
+package com.bookmanagement.utils;
+
+import com.bookmanagement.entity.Author;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for the author listing, which is ordered by name and then id
+ */
+public record AuthorCursor(
+        String name,
+        Long id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Builds the cursor pointing just after the given author
+     */
+    public static AuthorCursor after(Author author) {
+        return new AuthorCursor(author.getName(), author.getId());
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}
+     */
+    public static AuthorCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // the id goes first, so separators inside the name survive
+            String[] parts = raw.split("\\" + SEPARATOR, 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new AuthorCursor(parts[1], Long.valueOf(parts[0]));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+
+    public String encode() {
+        String raw = id + SEPARATOR + name;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
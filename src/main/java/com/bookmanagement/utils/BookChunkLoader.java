@@ -0,0 +1,80 @@
+package com.bookmanagement.utils;
+
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Streams the whole catalogue to in-memory indexes in id-range chunks.
+ * Chunks are loaded and mapped in parallel, each in its own read-only transaction,
+ * so mapping may touch the author and categories of a book.
+ */
+@Component
+@Slf4j
+public class BookChunkLoader {
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public BookChunkLoader(BookRepository bookRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${catalogue.rebuild.chunk-size:5000}") int chunkSize,
+                           @Value("${catalogue.rebuild.parallelism:0}") int parallelism) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Maps every book and hands each mapped chunk to the consumer.
+     * The consumer is called from worker threads and must be thread-safe.
+     */
+    public <T> void forEachChunk(Function<Book, T> mapper, Consumer<List<T>> consumer) {
+        Long minId = bookRepository.findMinId().orElse(null);
+        Long maxId = bookRepository.findMaxId().orElse(null);
+        if (minId == null || maxId == null) {
+            return;
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long from = minId; from <= maxId; from += chunkSize) {
+                long fromId = from;
+                long toId = Math.min(from + chunkSize - 1, maxId);
+                chunks.add(executor.submit(() -> consumer.accept(loadChunk(fromId, toId, mapper))));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the catalogue", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Failed to load the catalogue", ex.getCause());
+        }
+    }
+
+    private <T> List<T> loadChunk(long fromId, long toId, Function<Book, T> mapper) {
+        return transactionTemplate.execute(status -> bookRepository.findAllWithDetailsByIdBetween(fromId, toId)
+                .stream()
+                .map(mapper)
+                .toList());
+    }
+}
@@ -0,0 +1,94 @@
+package com.bookmanagement.utils;
+
+import com.bookmanagement.entity.Book;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for book listings.
+ * Holds the sort property and direction, the last row's sort key and its id as a tie-breaker.
+ */
+public record BookCursor(
+        String property,
+        Sort.Direction direction,
+        Comparable<?> value,
+        Long id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Builds the cursor pointing just after the given book for the given sort order
+     */
+    public static BookCursor after(Book book, Sort.Order order) {
+        return new BookCursor(order.getProperty(), order.getDirection(), sortKeyOf(book, order.getProperty()), book.getId());
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}
+     */
+    public static BookCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length < 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+
+            String property = parts[0];
+            Sort.Direction direction = Sort.Direction.fromString(parts[1]);
+            Long id = Long.valueOf(parts[2]);
+            Comparable<?> value = parts.length == 4 ? parseSortKey(property, parts[3]) : null;
+
+            return new BookCursor(property, direction, value, id);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+
+    public String encode() {
+        StringBuilder raw = new StringBuilder()
+                .append(property).append(SEPARATOR)
+                .append(direction.name()).append(SEPARATOR)
+                .append(id);
+        if (value != null) {
+            raw.append(SEPARATOR).append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks that this cursor was issued for the same sort order
+     */
+    public boolean matches(Sort.Order order) {
+        return property.equals(order.getProperty()) && direction == order.getDirection();
+    }
+
+    private static Comparable<?> sortKeyOf(Book book, String property) {
+        return switch (property) {
+            case "id" -> book.getId();
+            case "title" -> book.getTitle();
+            case "isbn" -> book.getIsbn();
+            case "publishedDate" -> book.getPublishedDate();
+            case "createdAt" -> book.getCreatedAt();
+            case "updatedAt" -> book.getUpdatedAt();
+            default -> throw new IllegalArgumentException("Invalid sort property: " + property);
+        };
+    }
+
+    private static Comparable<?> parseSortKey(String property, String raw) {
+        return switch (property) {
+            case "id" -> Long.valueOf(raw);
+            case "title", "isbn" -> raw;
+            case "publishedDate" -> LocalDate.parse(raw);
+            case "createdAt", "updatedAt" -> LocalDateTime.parse(raw);
+            default -> throw new IllegalArgumentException("Invalid sort property: " + property);
+        };
+    }
+}
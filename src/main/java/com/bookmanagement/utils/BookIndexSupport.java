@@ -0,0 +1,52 @@
+package com.bookmanagement.utils;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared rebuild bookkeeping for in-memory indexes derived from the book table.
+ * A rebuild loads into a fresh structure and swaps it in; books changed while it ran
+ * may have been applied to the old structure, so they are refreshed again afterwards.
+ */
+public abstract class BookIndexSupport {
+
+    private volatile boolean rebuilding;
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Runs a full rebuild, which must build and swap in the new structure, then replays concurrent changes
+     */
+    protected synchronized void rebuildWith(Runnable buildAndSwap) {
+        rebuilding = true;
+        try {
+            buildAndSwap.run();
+        } finally {
+            rebuilding = false;
+        }
+
+        changedDuringRebuild.forEach(this::refresh);
+        changedDuringRebuild.clear();
+    }
+
+    /**
+     * Applies a committed change to one book
+     */
+    protected void bookChanged(Long bookId) {
+        noteChange(bookId);
+        refresh(bookId);
+    }
+
+    /**
+     * Records a change that the caller applies itself, so a running rebuild does not lose it
+     */
+    protected void noteChange(Long bookId) {
+        if (rebuilding) {
+            changedDuringRebuild.add(bookId);
+        }
+    }
+
+    /**
+     * Re-reads one book from the database into the live structure, or drops it if it is gone
+     */
+    protected abstract void refresh(Long bookId);
+}
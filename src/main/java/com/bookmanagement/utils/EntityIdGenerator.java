@@ -0,0 +1,34 @@
+package com.bookmanagement.utils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.Generator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out ids from an entity's own id generator, for rows written with plain JDBC.
+ * With a pooled sequence most ids come from the in-memory block, shared with regular JPA inserts.
+ */
+@Component
+public class EntityIdGenerator {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public long nextId(Class<?> entityType) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        SessionFactoryImplementor sessionFactory = session.getFactory();
+        Generator generator = sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(entityType)
+                .getGenerator();
+        if (!(generator instanceof BeforeExecutionGenerator beforeExecution)) {
+            throw new IllegalStateException(entityType.getSimpleName() + " ids are not generated before insert");
+        }
+        Object id = beforeExecution.generate(session, null, null, EventType.INSERT);
+        return ((Number) id).longValue();
+    }
+}
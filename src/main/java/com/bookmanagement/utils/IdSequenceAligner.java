@@ -0,0 +1,58 @@
+package com.bookmanagement.utils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves every entity id sequence past the ids already in its table.
+ * Tables created when ids were IDENTITY columns get their sequences from the schema update starting at 1,
+ * so without this the first pooled block would collide with existing rows. Runs before any startup insert.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceAligner {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequences() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        SequenceSupport sequenceSupport = sessionFactory.getJdbcServices().getDialect().getSequenceSupport();
+
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                    && persister instanceof AbstractEntityPersister entityPersister) {
+                align(generator.getDatabaseStructure(), entityPersister, sequenceSupport);
+            }
+        });
+    }
+
+    private void align(DatabaseStructure sequence, AbstractEntityPersister persister, SequenceSupport sequenceSupport) {
+        String sequenceName = sequence.getPhysicalName().render();
+        Long maxId = jdbcTemplate.queryForObject(
+                "SELECT MAX(" + persister.getIdentifierColumnNames()[0] + ") FROM " + persister.getTableName(), Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        // a pooled sequence value V hands out the ids V - increment + 1 .. V
+        int increment = sequence.getIncrementSize();
+        Long next = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(sequenceName), Long.class);
+        if (next != null && next - increment < maxId) {
+            long restart = maxId + increment;
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequenceName + " RESTART WITH " + restart);
+            log.info("Moved sequence {} past existing id {} (restarts at {})", sequenceName, maxId, restart);
+        }
+    }
+}
@@ -1,10 +1,22 @@
 package com.bookmanagement.utils;
 
+import com.bookmanagement.enums.TotalType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PagedResponse<T>(
         List<T> content,
         int page,
         int size,
-        long total
-) {}
+        Long total,
+        TotalType totalType,
+        boolean hasNext,
+        String nextCursor
+) {
+
+    public PagedResponse(List<T> content, int page, int size, long total) {
+        this(content, page, size, total, TotalType.EXACT, (long) (page + 1) * size < total, null);
+    }
+}
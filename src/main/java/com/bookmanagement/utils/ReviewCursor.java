@@ -0,0 +1,69 @@
+package com.bookmanagement.utils;
+
+import com.bookmanagement.dto.ReviewDTO;
+import com.bookmanagement.dto.UserReviewDTO;
+import com.bookmanagement.enums.ReviewSort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for review listings.
+ * Holds the ordering, the last row's rating (for rating orders only), its creation time and its id as a tie-breaker.
+ */
+public record ReviewCursor(
+        ReviewSort sort,
+        Integer rating,
+        LocalDateTime createdAt,
+        Long id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Builds the cursor pointing just after the given review for the given ordering
+     */
+    public static ReviewCursor after(ReviewDTO review, ReviewSort sort) {
+        return new ReviewCursor(sort, sort == ReviewSort.NEWEST ? null : review.getRating(), review.getCreatedAt(), review.getId());
+    }
+
+    /**
+     * Builds the newest-first cursor pointing just after the given row of a user's reviews
+     */
+    public static ReviewCursor after(UserReviewDTO review) {
+        return new ReviewCursor(ReviewSort.NEWEST, null, review.getCreatedAt(), review.getId());
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}
+     */
+    public static ReviewCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+
+            ReviewSort sort = ReviewSort.valueOf(parts[0]);
+            Long id = Long.valueOf(parts[1]);
+            LocalDateTime createdAt = LocalDateTime.parse(parts[2]);
+            Integer rating = parts[3].isEmpty() ? null : Integer.valueOf(parts[3]);
+            if ((rating == null) != (sort == ReviewSort.NEWEST)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+
+            return new ReviewCursor(sort, rating, createdAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + createdAt + SEPARATOR + (rating != null ? rating : "");
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+package com.bookmanagement.benchmark;
+
+import com.bookmanagement.entity.Author;
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.search.IndexedBook;
+import com.bookmanagement.search.InvertedIndex;
+import com.bookmanagement.search.SearchHit;
+import com.bookmanagement.search.SearchQuery;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the in-memory search index with the SQL LIKE scan it replaces,
+ * over a synthetic catalogue in an in-memory H2 database.
+ *
+ * <pre>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.bookmanagement.benchmark.BookSearchBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "shadow", "river", "empire", "garden", "silent", "winter", "dragon", "glass", "kingdom", "ocean",
+            "stone", "forgotten", "crimson", "night", "letters", "machine", "summer", "island", "secret", "storm"
+    };
+
+    @Param({"10000", "100000"})
+    public int books;
+
+    @Param({"winter", "drag*"})
+    public String query;
+
+    private InvertedIndex index;
+    private Connection connection;
+    private PreparedStatement like;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Author> authors = new ArrayList<>();
+        for (long id = 1; id <= books / 10; id++) {
+            authors.add(Author.builder().id(id).name(words(random, 2)).bio(words(random, 12)).build());
+        }
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:search-benchmark;DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS books");
+            ddl.execute("CREATE TABLE books (id BIGINT PRIMARY KEY, title VARCHAR(255), author_name VARCHAR(255), author_bio VARCHAR(1000))");
+        }
+
+        index = new InvertedIndex();
+        List<IndexedBook> documents = new ArrayList<>(books);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO books VALUES (?, ?, ?, ?)")) {
+            for (long id = 1; id <= books; id++) {
+                Author author = authors.get(random.nextInt(authors.size()));
+                Book book = Book.builder().id(id).title(words(random, 1 + random.nextInt(5))).author(author).build();
+                documents.add(IndexedBook.of(book));
+
+                insert.setLong(1, id);
+                insert.setString(2, book.getTitle());
+                insert.setString(3, author.getName());
+                insert.setString(4, author.getBio());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        index.upsertAll(documents);
+
+        like = connection.prepareStatement("SELECT id, title FROM books "
+                + "WHERE LOWER(title) LIKE ? OR LOWER(author_name) LIKE ? OR LOWER(author_bio) LIKE ? "
+                + "ORDER BY title LIMIT 20");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        like.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public List<SearchHit> invertedIndex() {
+        return index.search(SearchQuery.parse(query), 20);
+    }
+
+    @Benchmark
+    public int sqlLike() throws SQLException {
+        String pattern = "%" + query.replace("*", "") + "%";
+        for (int i = 1; i <= 3; i++) {
+            like.setString(i, pattern);
+        }
+        int rows = 0;
+        try (ResultSet resultSet = like.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BookSearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
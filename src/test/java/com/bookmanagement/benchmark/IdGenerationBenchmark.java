@@ -0,0 +1,204 @@
+package com.bookmanagement.benchmark;
+
+import jakarta.persistence.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares book and review inserts through Hibernate with IDENTITY ids (one round trip per row)
+ * and pooled sequence ids with JDBC batching (one round trip per batch), in an in-memory H2 database.
+ * Scores are rows per second. The entities mirror the book and review columns, with each id strategy
+ * mapped onto its own tables. An in-memory database has no network latency, so a real server
+ * shows a larger gap than these numbers.
+ *
+ * <pre>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.bookmanagement.benchmark.IdGenerationBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(IdGenerationBenchmark.ROWS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    static final int ROWS = 1000;
+
+    @Param({"IDENTITY", "SEQUENCE"})
+    public String ids;
+
+    private SessionFactory sessionFactory;
+    private Class<? extends BookRow> bookType;
+    private Class<? extends ReviewRow> reviewType;
+    private Object reviewedBookId;
+    private final AtomicLong isbns = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(IdentityBook.class)
+                .addAnnotatedClass(IdentityReview.class)
+                .addAnnotatedClass(SequenceBook.class)
+                .addAnnotatedClass(SequenceReview.class)
+                .setProperty(AvailableSettings.URL, "jdbc:h2:mem:id-benchmark;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                // the same batching settings as application.properties
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.ORDER_UPDATES, "true")
+                .buildSessionFactory();
+
+        bookType = ids.equals("IDENTITY") ? IdentityBook.class : SequenceBook.class;
+        reviewType = ids.equals("IDENTITY") ? IdentityReview.class : SequenceReview.class;
+        reviewedBookId = sessionFactory.fromTransaction(session -> {
+            BookRow book = newBook();
+            session.persist(book);
+            return book.id();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void insertBooks() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS; i++) {
+                session.persist(newBook());
+            }
+        });
+    }
+
+    @Benchmark
+    public void insertReviews() {
+        sessionFactory.inTransaction(session -> {
+            BookRow book = session.getReference(bookType, reviewedBookId);
+            for (int i = 0; i < ROWS; i++) {
+                session.persist(newReview(book, i));
+            }
+        });
+    }
+
+    private BookRow newBook() {
+        try {
+            BookRow book = bookType.getDeclaredConstructor().newInstance();
+            book.title = "Benchmark book";
+            book.isbn = Long.toString(isbns.incrementAndGet());
+            book.publishedDate = LocalDate.of(2001, 1, 1);
+            book.createdAt = LocalDateTime.now();
+            return book;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ReviewRow newReview(BookRow book, int i) {
+        try {
+            ReviewRow review = reviewType.getDeclaredConstructor().newInstance();
+            review.rating = 1 + i % 5;
+            review.comment = "Benchmark review";
+            review.setBook(book);
+            review.createdAt = LocalDateTime.now();
+            return review;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @MappedSuperclass
+    public abstract static class BookRow {
+        String title;
+        @Column(unique = true)
+        String isbn;
+        LocalDate publishedDate;
+        double rating;
+        LocalDateTime createdAt;
+
+        abstract Object id();
+    }
+
+    @MappedSuperclass
+    public abstract static class ReviewRow {
+        int rating;
+        String comment;
+        LocalDateTime createdAt;
+
+        abstract void setBook(BookRow book);
+    }
+
+    @Entity
+    @Table(name = "identity_books")
+    public static class IdentityBook extends BookRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @Override
+        Object id() {
+            return id;
+        }
+    }
+
+    @Entity
+    @Table(name = "identity_reviews")
+    public static class IdentityReview extends ReviewRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        IdentityBook book;
+
+        @Override
+        void setBook(BookRow book) {
+            this.book = (IdentityBook) book;
+        }
+    }
+
+    @Entity
+    @Table(name = "sequence_books")
+    public static class SequenceBook extends BookRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequence_books_seq")
+        @SequenceGenerator(name = "sequence_books_seq", sequenceName = "sequence_books_seq", allocationSize = 50)
+        Long id;
+
+        @Override
+        Object id() {
+            return id;
+        }
+    }
+
+    @Entity
+    @Table(name = "sequence_reviews")
+    public static class SequenceReview extends ReviewRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequence_reviews_seq")
+        @SequenceGenerator(name = "sequence_reviews_seq", sequenceName = "sequence_reviews_seq", allocationSize = 50)
+        Long id;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        SequenceBook book;
+
+        @Override
+        void setBook(BookRow book) {
+            this.book = (SequenceBook) book;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(IdGenerationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
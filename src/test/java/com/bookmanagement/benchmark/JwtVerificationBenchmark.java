@@ -0,0 +1,94 @@
+package com.bookmanagement.benchmark;
+
+import com.bookmanagement.security.JwtAuthenticationFilter;
+import com.bookmanagement.security.JwtService;
+import com.bookmanagement.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating a bearer token per request with and without the verified-token cache, for clients that
+ * reuse their tokens: {@code cacheEntries} 0 verifies the HS256 signature and parses the claims on every request.
+ * {@code verifyToken} measures the token alone, {@code authenticateRequest} the whole stateless filter pass.
+ *
+ * <pre>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.bookmanagement.benchmark.JwtVerificationBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final int CLIENTS = 1000;
+
+    @Param({"0", "10000"})
+    public int cacheEntries;
+
+    private VerifiedTokenCache cache;
+    private JwtAuthenticationFilter filter;
+    private String[] tokens;
+    private MockHttpServletRequest[] requests;
+
+    @State(Scope.Thread)
+    public static class Client {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtService jwtService = new JwtService(SECRET, TimeUnit.HOURS.toMillis(1));
+        cache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), cacheEntries);
+        // the user store is never consulted for tokens with a roles claim
+        filter = new JwtAuthenticationFilter(jwtService, cache, username -> {
+            throw new IllegalStateException("Unexpected user lookup");
+        }, true);
+
+        tokens = new String[CLIENTS];
+        requests = new MockHttpServletRequest[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            UserDetails user = User.withUsername("reader" + i).password("").authorities("ROLE_USER").build();
+            tokens[i] = jwtService.generateToken(Map.of(JwtService.ROLES_CLAIM, List.of("USER")), user);
+            requests[i] = new MockHttpServletRequest("GET", "/api/books");
+            requests[i].setServletPath("/api/books");
+            requests[i].addHeader("Authorization", "Bearer " + tokens[i]);
+        }
+    }
+
+    @Benchmark
+    public Claims verifyToken(Client client) {
+        return cache.getOrVerify(tokens[client.next++ % CLIENTS]);
+    }
+
+    @Benchmark
+    public Object authenticateRequest(Client client) throws ServletException, IOException {
+        try {
+            filter.doFilter(requests[client.next++ % CLIENTS], new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtVerificationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookmanagement.benchmark;
+
+import com.bookmanagement.config.RateLimitConfig;
+import com.bookmanagement.ratelimit.RateLimitFilter;
+import com.bookmanagement.ratelimit.TokenBucketLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a rate limit check for requests under their limit, spread over {@code keys} buckets; run with
+ * {@code -t} threads to measure clients contending for the same buckets. {@code tryAcquire} measures the token
+ * bucket alone, {@code filterRequest} the whole filter pass including policy matching.
+ *
+ * <pre>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.bookmanagement.benchmark.RateLimitBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    // high enough that no request is rejected, so every check takes a token
+    private static final int CAPACITY = 1_000_000_000;
+
+    @Param({"1", "1000"})
+    public int keys;
+
+    private TokenBucketLimiter limiter;
+    private RateLimitFilter filter;
+    private String[] keyNames;
+    private MockHttpServletRequest[] requests;
+
+    @State(Scope.Thread)
+    public static class Client {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        limiter = new TokenBucketLimiter(CAPACITY, Duration.ofDays(1), 100_000, Clock.systemUTC());
+        RateLimitConfig config = new RateLimitConfig();
+        filter = new RateLimitFilter(List.of(
+                config.loginRateLimit(CAPACITY, Duration.ofDays(1)),
+                config.reviewRateLimit(CAPACITY, Duration.ofDays(1)),
+                config.writeRateLimit(CAPACITY, Duration.ofDays(1))),
+                100_000, new ObjectMapper(), new SimpleMeterRegistry());
+
+        keyNames = new String[keys];
+        requests = new MockHttpServletRequest[keys];
+        for (int i = 0; i < keys; i++) {
+            keyNames[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+            requests[i] = new MockHttpServletRequest("POST", "/api/auth/login");
+            requests[i].setServletPath("/api/auth/login");
+            requests[i].setRemoteAddr("10.0." + (i / 256) + "." + (i % 256));
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire(Client client) {
+        return limiter.tryAcquire(keyNames[client.next++ % keys]);
+    }
+
+    @Benchmark
+    public int filterRequest(Client client) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(requests[client.next++ % keys], response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RateLimitBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.bookmanagement.bitmap;
+
+import com.bookmanagement.enums.MatchMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MembershipBitmaps Tests")
+class MembershipBitmapsTest {
+
+    private MembershipBitmaps bitmaps;
+
+    @BeforeEach
+    void setUp() {
+        bitmaps = new MembershipBitmaps();
+        bitmaps.upsertAll(List.of(
+                new BookMembership(1L, 100L, new long[]{10L}),
+                new BookMembership(2L, 100L, new long[]{10L, 20L}),
+                new BookMembership(3L, 200L, new long[]{20L}),
+                new BookMembership(4L, 200L, new long[]{10L, 20L, 30L})
+        ));
+    }
+
+    @Test
+    @DisplayName("Should union categories in ANY mode and intersect them in ALL mode")
+    void testResolve_CategoryModes() {
+        assertThat(ids(bitmaps.resolve(Set.of(), Set.of(10L, 30L), MatchMode.ANY))).containsExactly(1L, 2L, 4L);
+        assertThat(ids(bitmaps.resolve(Set.of(), Set.of(10L, 20L), MatchMode.ALL))).containsExactly(2L, 4L);
+        assertThat(ids(bitmaps.resolve(Set.of(), Set.of(10L, 99L), MatchMode.ALL))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should intersect authors with categories")
+    void testResolve_AuthorsAndCategories() {
+        assertThat(ids(bitmaps.resolve(Set.of(200L), Set.of(10L), MatchMode.ANY))).containsExactly(4L);
+        assertThat(ids(bitmaps.resolve(Set.of(100L, 200L), Set.of(), MatchMode.ANY))).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should move a book when its author and categories change")
+    void testUpsert_ReplacesMembership() {
+        bitmaps.upsert(new BookMembership(1L, 200L, new long[]{30L}));
+        bitmaps.remove(4L);
+
+        assertThat(ids(bitmaps.resolve(Set.of(100L), Set.of(), MatchMode.ANY))).containsExactly(2L);
+        assertThat(ids(bitmaps.resolve(Set.of(), Set.of(30L), MatchMode.ANY))).containsExactly(1L);
+        assertThat(bitmaps.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should count books per author and category within a base set")
+    void testCountWithin() {
+        Roaring64Bitmap base = Roaring64Bitmap.bitmapOf(2L, 3L, 4L);
+
+        assertThat(bitmaps.countByAuthor(null)).isEqualTo(Map.of(100L, 2L, 200L, 2L));
+        assertThat(bitmaps.countByAuthor(base)).isEqualTo(Map.of(100L, 1L, 200L, 2L));
+        assertThat(bitmaps.countByCategory(base)).isEqualTo(Map.of(10L, 2L, 20L, 3L, 30L, 1L));
+        assertThat(bitmaps.countByCategory(Roaring64Bitmap.bitmapOf(1L))).isEqualTo(Map.of(10L, 1L));
+    }
+
+    @Test
+    @DisplayName("Should page in both directions by offset and after a keyset position")
+    void testPage() {
+        Roaring64Bitmap ids = Roaring64Bitmap.bitmapOf(3L, 5L, 8L, 13L, 21L);
+
+        assertThat(MembershipBitmaps.page(ids, true, null, 1, 2)).containsExactly(5L, 8L);
+        assertThat(MembershipBitmaps.page(ids, false, null, 1, 2)).containsExactly(13L, 8L);
+        assertThat(MembershipBitmaps.page(ids, true, 8L, 0, 5)).containsExactly(13L, 21L);
+        assertThat(MembershipBitmaps.page(ids, false, 8L, 0, 5)).containsExactly(5L, 3L);
+        assertThat(MembershipBitmaps.page(ids, true, null, 5, 2)).isEmpty();
+    }
+
+    private List<Long> ids(Roaring64Bitmap bitmap) {
+        return Arrays.stream(bitmap.toArray()).boxed().toList();
+    }
+}
@@ -0,0 +1,163 @@
+package com.bookmanagement.cache;
+
+import com.bookmanagement.dto.BookPaginationDTO;
+import com.bookmanagement.entity.Author;
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.entity.Category;
+import com.bookmanagement.enums.MatchMode;
+import com.bookmanagement.event.BookChangedEvent;
+import com.bookmanagement.event.BookChangedEvent.ChangeType;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.specification.BookFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookPageCache Tests")
+class BookPageCacheTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
+    private static final BookFilter ALL_BOOKS = filter(Set.of(), Set.of(), null);
+    private static final BookFilter AUTHOR_1 = filter(Set.of(1L), Set.of(), null);
+    private static final BookFilter AUTHOR_2 = filter(Set.of(2L), Set.of(), null);
+    private static final BookFilter TOP_RATED = filter(Set.of(), Set.of(), 4.0);
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookPageCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new BookPageCache(bookRepository, meterRegistry, 10);
+    }
+
+    @Test
+    @DisplayName("Should count hits and misses and publish them as cache meters")
+    void testGet_Metrics() {
+        cache.put(ALL_BOOKS, FIRST_PAGE, page(1L, 2L), cache.writes());
+
+        assertThat(cache.get(ALL_BOOKS, FIRST_PAGE)).isPresent();
+        assertThat(cache.get(ALL_BOOKS, PageRequest.of(1, 10))).isEmpty();
+        assertThat(cache.get(AUTHOR_1, FIRST_PAGE)).isEmpty();
+
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.weight").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used pages once the row budget is exceeded")
+    void testPut_WeightBound() {
+        cache.put(AUTHOR_1, FIRST_PAGE, page(1L, 2L, 3L), cache.writes());
+        cache.put(AUTHOR_2, FIRST_PAGE, page(4L, 5L, 6L), cache.writes());
+        cache.get(AUTHOR_1, FIRST_PAGE);
+
+        cache.put(ALL_BOOKS, FIRST_PAGE, page(1L, 2L, 3L, 4L), cache.writes());
+
+        assertThat(cache.get(AUTHOR_2, FIRST_PAGE)).isEmpty();
+        assertThat(cache.get(AUTHOR_1, FIRST_PAGE)).isPresent();
+        assertThat(cache.weight()).isEqualTo(9);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not store a page loaded across a write")
+    void testPut_StaleLoad() {
+        long loadedAt = cache.writes();
+        cache.invalidate();
+
+        cache.put(ALL_BOOKS, FIRST_PAGE, page(1L), loadedAt);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should only evict pages holding a re-rated book or filtering by rating")
+    void testOnBookChanged_RatingChange() {
+        when(bookRepository.findByIdWithDetails(7L)).thenReturn(Optional.of(book(7L, 1L, 2.5)));
+        // room for every page, so only the rating change evicts
+        cache = new BookPageCache(bookRepository, new SimpleMeterRegistry(), 100);
+        BookFilter topRatedOfAuthor2 = filter(Set.of(2L), Set.of(), 4.0);
+        cache.put(ALL_BOOKS, FIRST_PAGE, page(1L), cache.writes());
+        cache.put(AUTHOR_1, FIRST_PAGE, page(1L), cache.writes());
+        cache.put(AUTHOR_1, PageRequest.of(1, 10), page(7L), cache.writes());
+        cache.put(TOP_RATED, FIRST_PAGE, page(3L), cache.writes());
+        cache.put(topRatedOfAuthor2, FIRST_PAGE, page(2L), cache.writes());
+
+        cache.onBookChanged(new BookChangedEvent(7L, ChangeType.RATING_CHANGED));
+
+        // the book may have moved into or out of the top-rated range
+        assertThat(cache.get(AUTHOR_1, PageRequest.of(1, 10))).isEmpty();
+        assertThat(cache.get(TOP_RATED, FIRST_PAGE)).isEmpty();
+        // neither holding the book nor filtered by rating, or filtered by another author
+        assertThat(cache.get(ALL_BOOKS, FIRST_PAGE)).isPresent();
+        assertThat(cache.get(AUTHOR_1, FIRST_PAGE)).isPresent();
+        assertThat(cache.get(topRatedOfAuthor2, FIRST_PAGE)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should keep pages whose rating range excludes a new book")
+    void testOnBookChanged_Created() {
+        when(bookRepository.findByIdWithDetails(7L)).thenReturn(Optional.of(book(7L, 1L, 2.5)));
+        cache.put(ALL_BOOKS, FIRST_PAGE, page(1L), cache.writes());
+        cache.put(TOP_RATED, FIRST_PAGE, page(3L), cache.writes());
+
+        cache.onBookChanged(new BookChangedEvent(7L, ChangeType.CREATED));
+
+        assertThat(cache.get(ALL_BOOKS, FIRST_PAGE)).isEmpty();
+        assertThat(cache.get(TOP_RATED, FIRST_PAGE)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should clear every page when a book is updated or deleted")
+    void testOnBookChanged_Updated() {
+        cache.put(AUTHOR_1, FIRST_PAGE, page(1L), cache.writes());
+        cache.put(AUTHOR_2, FIRST_PAGE, page(2L), cache.writes());
+
+        cache.onBookChanged(new BookChangedEvent(1L, ChangeType.UPDATED));
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.weight()).isZero();
+        verifyNoInteractions(bookRepository);
+    }
+
+    private static BookFilter filter(Set<Long> authorIds, Set<Long> categoryIds, Double ratingMin) {
+        return new BookFilter(authorIds, categoryIds, MatchMode.ANY, ratingMin, null, null, null);
+    }
+
+    private static Page<BookPaginationDTO> page(Long... ids) {
+        return new PageImpl<>(Arrays.stream(ids).map(id -> BookPaginationDTO.builder().id(id).build()).toList());
+    }
+
+    private static Book book(Long id, Long authorId, double rating) {
+        return Book.builder()
+                .id(id)
+                .title("Book " + id)
+                .author(Author.builder().id(authorId).build())
+                .categories(new HashSet<>(List.of(Category.builder().id(10L).build())))
+                .rating(rating)
+                .build();
+    }
+}
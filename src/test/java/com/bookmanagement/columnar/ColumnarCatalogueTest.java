@@ -0,0 +1,139 @@
+package com.bookmanagement.columnar;
+
+import com.bookmanagement.columnar.ColumnarCatalogue.ScanResult;
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.enums.MatchMode;
+import com.bookmanagement.specification.BookFilter;
+import com.bookmanagement.utils.BookCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ColumnarCatalogue Tests")
+class ColumnarCatalogueTest {
+
+    private static final BookFilter NO_FILTER = new BookFilter(Set.of(), Set.of(), MatchMode.ANY, null, null, null, null);
+
+    private ColumnarCatalogue catalogue;
+
+    @BeforeEach
+    void setUp() {
+        // loaded out of id order on purpose
+        catalogue = ColumnarCatalogue.of(List.of(
+                row(3L, 4.0, LocalDate.of(2005, 1, 1), 100L, 10L),
+                row(1L, 2.0, LocalDate.of(2010, 1, 1), 100L, 10L, 20L),
+                row(4L, 5.0, null, 200L, 20L),
+                row(2L, 3.5, LocalDate.of(2005, 1, 1), 200L, 10L)
+        ), 1);
+    }
+
+    @Test
+    @DisplayName("Should sort by id in both directions and count every match")
+    void testScan_ById() {
+        assertThat(catalogue.scan(NO_FILTER, "id", true, null, 1, 2)).isEqualTo(new ScanResult(List.of(2L, 3L), 4));
+        assertThat(catalogue.scan(NO_FILTER, "id", false, null, 0, 3).ids()).containsExactly(4L, 3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should sort by date with nulls last and ties broken by id in the same direction")
+    void testScan_ByPublishedDate() {
+        assertThat(catalogue.scan(NO_FILTER, "publishedDate", true, null, 0, 10).ids()).containsExactly(2L, 3L, 1L, 4L);
+        assertThat(catalogue.scan(NO_FILTER, "publishedDate", false, null, 0, 10).ids()).containsExactly(1L, 3L, 2L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should apply rating, date, author and category filters")
+    void testScan_Filters() {
+        BookFilter rated = new BookFilter(Set.of(), Set.of(), MatchMode.ANY, 3.5, 4.5, null, null);
+        BookFilter dated = new BookFilter(Set.of(), Set.of(), MatchMode.ANY, null, null, LocalDate.of(2000, 1, 1), null);
+        BookFilter members = new BookFilter(Set.of(100L), Set.of(10L, 20L), MatchMode.ALL, null, null, null, null);
+
+        assertThat(catalogue.scan(rated, "id", true, null, 0, 10).ids()).containsExactly(2L, 3L);
+        assertThat(catalogue.scan(dated, "id", true, null, 0, 10).ids()).containsExactly(1L, 2L, 3L);
+        assertThat(catalogue.scan(members, "id", true, null, 0, 10).ids()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should resume after a keyset cursor, including one for a deleted book")
+    void testScan_Cursor() {
+        Book third = Book.builder().id(3L).publishedDate(LocalDate.of(2005, 1, 1)).build();
+        BookCursor cursor = BookCursor.after(third, Sort.Order.asc("publishedDate"));
+        catalogue.remove(3L);
+
+        ScanResult result = catalogue.scan(NO_FILTER, "publishedDate", true, cursor, 0, 10);
+
+        assertThat(result.ids()).containsExactly(1L, 4L);
+        assertThat(result.total()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep slots in id order across inserts, updates and compaction")
+    void testUpsertAndRemove() {
+        catalogue.upsert(row(10L, 1.0, null, 300L, 30L));
+        catalogue.upsert(row(0L, 1.0, null, 300L, 30L));
+        catalogue.upsert(row(1L, 4.9, LocalDate.of(2010, 1, 1), 300L, 30L));
+        for (long id = 11; id < 3000; id++) {
+            catalogue.upsert(row(id, 1.0, null, 100L, 10L));
+            catalogue.remove(id);
+        }
+
+        BookFilter author = new BookFilter(Set.of(300L), Set.of(), MatchMode.ANY, null, null, null, null);
+        assertThat(catalogue.scan(author, "id", true, null, 0, 10).ids()).containsExactly(0L, 1L, 10L);
+        assertThat(catalogue.size()).isEqualTo(6);
+        assertThat(catalogue.footprintBytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should match a parallel scan against a sequential one")
+    void testScan_Parallel() {
+        List<CatalogueRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 50_000; id++) {
+            rows.add(row(id, id % 50 / 10.0, LocalDate.ofEpochDay(id % 3650), 100L + id % 7, 10L + id % 5));
+        }
+        BookFilter filter = new BookFilter(Set.of(101L, 103L), Set.of(12L), MatchMode.ANY, 1.5, null, LocalDate.ofEpochDay(100), null);
+
+        ScanResult parallel = ColumnarCatalogue.of(rows, 1).scan(filter, "publishedDate", false, null, 500, 50);
+        ScanResult sequential = ColumnarCatalogue.of(rows, Integer.MAX_VALUE).scan(filter, "publishedDate", false, null, 500, 50);
+
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(parallel.ids()).hasSize(50);
+    }
+
+    @Test
+    @DisplayName("Should page across chunks as if every match had been sorted")
+    void testScan_PagesAcrossChunks() {
+        List<CatalogueRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 40_000; id++) {
+            rows.add(row(id, id % 50 / 10.0, id % 11 == 0 ? null : LocalDate.ofEpochDay(id % 97), 100L + id % 3, 10L));
+        }
+        ColumnarCatalogue large = ColumnarCatalogue.of(rows, Integer.MAX_VALUE);
+        BookFilter filter = new BookFilter(Set.of(101L), Set.of(), MatchMode.ANY, 1.0, null, null, null);
+        List<CatalogueRow> matching = rows.stream().filter(row -> row.authorId() == 101L && row.rating() >= 1.0).toList();
+        Comparator<CatalogueRow> byDate = Comparator.comparing(CatalogueRow::publishedDate,
+                Comparator.nullsLast(Comparator.<LocalDate>naturalOrder()));
+
+        assertThat(large.scan(filter, "id", true, null, 20_000 / 3, 30))
+                .isEqualTo(new ScanResult(page(matching, Comparator.comparingLong(CatalogueRow::bookId), 20_000 / 3), matching.size()));
+        assertThat(large.scan(filter, "id", false, null, 9_000, 30).ids())
+                .isEqualTo(page(matching, Comparator.comparingLong(CatalogueRow::bookId).reversed(), 9_000));
+        assertThat(large.scan(filter, "publishedDate", true, null, 4_000, 30).ids())
+                .isEqualTo(page(matching, byDate.thenComparingLong(CatalogueRow::bookId), 4_000));
+    }
+
+    private static List<Long> page(List<CatalogueRow> rows, Comparator<CatalogueRow> order, int offset) {
+        return rows.stream().sorted(order).skip(offset).limit(30).map(CatalogueRow::bookId).toList();
+    }
+
+    private CatalogueRow row(long id, double rating, LocalDate publishedDate, long authorId, long... categoryIds) {
+        return new CatalogueRow(id, rating, publishedDate, authorId, categoryIds);
+    }
+}
@@ -0,0 +1,164 @@
+package com.bookmanagement.facet;
+
+import com.bookmanagement.entity.Author;
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.entity.Category;
+import com.bookmanagement.enums.MatchMode;
+import com.bookmanagement.event.BookChangedEvent;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.specification.BookFilter;
+import com.bookmanagement.utils.BookChunkLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookFacetIndex Tests")
+class BookFacetIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookChunkLoader bookChunkLoader;
+
+    @InjectMocks
+    private BookFacetIndex bookFacetIndex;
+
+    private Author author1;
+    private Author author2;
+    private Category fiction;
+    private Category history;
+
+    @BeforeEach
+    void setUp() {
+        author1 = Author.builder().id(1L).name("Author One").build();
+        author2 = Author.builder().id(2L).name("Author Two").build();
+        fiction = Category.builder().id(10L).name("Fiction").build();
+        history = Category.builder().id(20L).name("History").build();
+
+        load(book(1L, author1, 4.5, LocalDate.of(2001, 5, 1), fiction));
+        load(book(2L, author1, 3.0, LocalDate.of(2001, 9, 1), fiction, history));
+        load(book(3L, author2, 5.0, LocalDate.of(2010, 1, 1), history));
+        load(book(4L, author2, 0.0, null, fiction));
+    }
+
+    @Test
+    @DisplayName("Should count every facet without filters")
+    void testCount_NoFilter() {
+        // Act
+        FacetCounts counts = bookFacetIndex.count(filter(null, null, null, null));
+
+        // Assert
+        assertThat(counts.total()).isEqualTo(4);
+        assertThat(counts.categories()).isEqualTo(Map.of(10L, 3L, 20L, 2L));
+        assertThat(counts.authors()).isEqualTo(Map.of(1L, 2L, 2L, 2L));
+        assertThat(counts.ratings()).isEqualTo(Map.of("0-1", 1L, "3-4", 1L, "4-5", 2L));
+        assertThat(counts.publicationYears()).isEqualTo(Map.of(2001, 2L, 2010, 1L));
+    }
+
+    @Test
+    @DisplayName("Should count a facet with every filter except its own")
+    void testCount_CategoryFilter() {
+        // Act
+        FacetCounts counts = bookFacetIndex.count(filter(null, 20L, null, null));
+
+        // Assert
+        assertThat(counts.total()).isEqualTo(2);
+        assertThat(counts.categories()).isEqualTo(Map.of(10L, 3L, 20L, 2L));
+        assertThat(counts.authors()).isEqualTo(Map.of(1L, 1L, 2L, 1L));
+        assertThat(counts.publicationYears()).isEqualTo(Map.of(2001, 1L, 2010, 1L));
+    }
+
+    @Test
+    @DisplayName("Should require every category in ALL mode")
+    void testCount_AllCategories() {
+        // Act
+        FacetCounts counts = bookFacetIndex.count(
+                new BookFilter(Set.of(), Set.of(10L, 20L), MatchMode.ALL, null, null, null, null));
+
+        // Assert
+        assertThat(counts.total()).isEqualTo(1);
+        assertThat(counts.authors()).isEqualTo(Map.of(1L, 1L));
+    }
+
+    @Test
+    @DisplayName("Should exclude undated books from a date range")
+    void testCount_PublishedRange() {
+        // Act
+        FacetCounts counts = bookFacetIndex.count(
+                new BookFilter(Set.of(1L), Set.of(), MatchMode.ANY, 4.0, null, LocalDate.of(2000, 1, 1), null));
+
+        // Assert
+        assertThat(counts.total()).isEqualTo(1);
+        assertThat(counts.authors()).isEqualTo(Map.of(1L, 1L, 2L, 1L));
+        assertThat(counts.ratings()).isEqualTo(Map.of("3-4", 1L, "4-5", 1L));
+    }
+
+    @Test
+    @DisplayName("Should count within a closed rating range")
+    void testCount_RatingRange() {
+        // Act
+        FacetCounts counts = bookFacetIndex.count(filter(null, null, 3.0, 4.5));
+
+        // Assert
+        assertThat(counts.total()).isEqualTo(2);
+        assertThat(counts.authors()).isEqualTo(Map.of(1L, 2L));
+        assertThat(counts.categories()).isEqualTo(Map.of(10L, 2L, 20L, 1L));
+        assertThat(counts.ratings()).isEqualTo(Map.of("0-1", 1L, "3-4", 1L, "4-5", 2L));
+        assertThat(counts.publicationYears()).isEqualTo(Map.of(2001, 2L));
+    }
+
+    @Test
+    @DisplayName("Should apply rating changes and deletions")
+    void testOnBookChanged() {
+        // Arrange
+        load(book(1L, author1, 2.0, LocalDate.of(2001, 5, 1), fiction));
+        when(bookRepository.findByIdWithDetails(3L)).thenReturn(Optional.empty());
+
+        // Act
+        bookFacetIndex.onBookChanged(new BookChangedEvent(3L, BookChangedEvent.ChangeType.DELETED));
+        FacetCounts counts = bookFacetIndex.count(filter(null, null, null, null));
+
+        // Assert
+        assertThat(bookFacetIndex.size()).isEqualTo(3);
+        assertThat(counts.ratings()).isEqualTo(Map.of("0-1", 1L, "2-3", 1L, "3-4", 1L));
+        assertThat(counts.categories()).isEqualTo(Map.of(10L, 3L, 20L, 1L));
+    }
+
+    private void load(Book book) {
+        when(bookRepository.findByIdWithDetails(book.getId())).thenReturn(Optional.of(book));
+        bookFacetIndex.onBookChanged(new BookChangedEvent(book.getId(), BookChangedEvent.ChangeType.RATING_CHANGED));
+    }
+
+    private BookFilter filter(Long authorId, Long categoryId, Double ratingMin, Double ratingMax) {
+        return new BookFilter(idsOf(authorId), idsOf(categoryId), MatchMode.ANY, ratingMin, ratingMax, null, null);
+    }
+
+    private Set<Long> idsOf(Long id) {
+        return id != null ? Set.of(id) : Set.of();
+    }
+
+    private Book book(Long id, Author author, double rating, LocalDate publishedDate, Category... categories) {
+        return Book.builder()
+                .id(id)
+                .author(author)
+                .rating(rating)
+                .publishedDate(publishedDate)
+                .categories(new HashSet<>(Set.of(categories)))
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.bookmanagement.facet;
+
+import com.bookmanagement.enums.MatchMode;
+import com.bookmanagement.specification.BookFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FacetBitmaps Tests")
+class FacetBitmapsTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(1950, 1, 1);
+
+    private final Random random = new Random(42);
+    private final List<FacetedBook> books = new ArrayList<>();
+    private FacetBitmaps bitmaps;
+
+    @BeforeEach
+    void setUp() {
+        // free-form average ratings and dates spread over decades, some undated
+        for (long id = 1; id <= 5_000; id++) {
+            double rating = Math.round(random.nextDouble() * 5 * 1000) / 1000.0;
+            LocalDate published = random.nextInt(20) == 0 ? null : FIRST_DAY.plusDays(random.nextInt(365 * 70));
+            books.add(new FacetedBook(id, 1 + id % 7, new long[]{10 + id % 3}, rating, published));
+        }
+        books.add(new FacetedBook(5_001, 1, new long[]{10}, 5.0, LocalDate.of(1990, 12, 31)));
+        books.add(new FacetedBook(5_002, 1, new long[]{10}, 2.5, LocalDate.of(1991, 1, 1)));
+        bitmaps = new FacetBitmaps();
+        bitmaps.upsertAll(books);
+    }
+
+    @Test
+    @DisplayName("Should match every book in a rating range, including the step edges")
+    void testCount_RatingRanges() {
+        assertTotal(filter(null, null, null, null));
+        assertTotal(filter(2.5, 2.5, null, null));
+        assertTotal(filter(2.5, 5.0, null, null));
+        assertTotal(filter(1.234, 3.75, null, null));
+        assertTotal(filter(null, 0.4, null, null));
+        assertTotal(filter(4.9, null, null, null));
+        assertTotal(filter(6.0, null, null, null));
+        assertTotal(filter(3.0, 2.0, null, null));
+        for (int i = 0; i < 50; i++) {
+            double a = random.nextDouble() * 5;
+            double b = random.nextDouble() * 5;
+            assertTotal(filter(Math.min(a, b), Math.max(a, b), null, null));
+        }
+    }
+
+    @Test
+    @DisplayName("Should match every book in a date range, including month and year edges")
+    void testCount_PublishedRanges() {
+        assertTotal(filter(null, null, LocalDate.of(1991, 1, 1), null));
+        assertTotal(filter(null, null, null, LocalDate.of(1990, 12, 31)));
+        assertTotal(filter(null, null, LocalDate.of(1960, 1, 1), LocalDate.of(1989, 12, 31)));
+        assertTotal(filter(null, null, LocalDate.of(1960, 3, 15), LocalDate.of(1960, 3, 15)));
+        assertTotal(filter(null, null, LocalDate.of(1960, 3, 15), LocalDate.of(1960, 11, 2)));
+        assertTotal(filter(null, null, LocalDate.of(1900, 1, 1), LocalDate.of(2100, 1, 1)));
+        assertTotal(filter(null, null, LocalDate.of(2030, 1, 1), null));
+        for (int i = 0; i < 50; i++) {
+            LocalDate a = FIRST_DAY.plusDays(random.nextInt(365 * 72) - 365);
+            LocalDate b = FIRST_DAY.plusDays(random.nextInt(365 * 72) - 365);
+            assertTotal(filter(null, null, a.isBefore(b) ? a : b, a.isBefore(b) ? b : a));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep coarse bitmaps in step with updates and removals")
+    void testCount_AfterChanges() {
+        // Arrange
+        for (int i = 0; i < 500; i++) {
+            FacetedBook book = books.get(random.nextInt(books.size()));
+            if (i % 2 == 0) {
+                bitmaps.remove(book.bookId());
+                books.remove(book);
+            } else {
+                FacetedBook moved = new FacetedBook(book.bookId(), book.authorId(), book.categoryIds(),
+                        random.nextInt(11) / 2.0, FIRST_DAY.plusDays(random.nextInt(365 * 70)));
+                bitmaps.upsert(moved);
+                books.set(books.indexOf(book), moved);
+            }
+        }
+
+        // Act & Assert
+        assertTotal(filter(1.5, 4.0, LocalDate.of(1955, 6, 1), LocalDate.of(2001, 2, 28)));
+        assertTotal(filter(0.0, 0.5, LocalDate.of(1970, 1, 1), LocalDate.of(1979, 12, 31)));
+        assertThat(bitmaps.size()).isEqualTo(books.size());
+    }
+
+    private void assertTotal(BookFilter filter) {
+        long expected = books.stream().filter(book -> book.matchesRating(filter) && book.matchesPublished(filter)).count();
+        assertThat(bitmaps.count(filter).total()).as(filter.toString()).isEqualTo(expected);
+    }
+
+    private static BookFilter filter(Double ratingMin, Double ratingMax, LocalDate publishedStart, LocalDate publishedEnd) {
+        return new BookFilter(Set.of(), Set.of(), MatchMode.ANY, ratingMin, ratingMax, publishedStart, publishedEnd);
+    }
+}
@@ -0,0 +1,122 @@
+package com.bookmanagement.importer;
+
+import com.bookmanagement.dto.NewBookDTO;
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.importer.BookImportWriter.ChunkResult;
+import com.bookmanagement.repository.AuthorRepository;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.repository.CategoryRepository;
+import com.bookmanagement.utils.EntityIdGenerator;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookImportWriter Tests")
+class BookImportWriterTest {
+
+    private static final String DUNE = "9780441172719";
+    private static final String EARTHSEA = "9780547773742";
+    private static final String HOBBIT = "9780261102217";
+    private static final String HUNGER_GAMES = "9780439023528";
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityIdGenerator entityIdGenerator;
+
+    private BookImportWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new BookImportWriter(bookRepository, authorRepository, categoryRepository,
+                jdbcTemplate, entityIdGenerator, Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should resolve references once per chunk and batch insert only valid, new books")
+    void testWrite() {
+        // Arrange
+        when(authorRepository.findExistingIds(any())).thenReturn(Set.of(1L));
+        when(categoryRepository.findExistingIds(any())).thenReturn(Set.of(10L, 11L));
+        when(bookRepository.findExistingIsbns(any())).thenReturn(Set.of(HOBBIT));
+        when(entityIdGenerator.nextId(Book.class)).thenReturn(100L);
+
+        List<ImportRow> rows = List.of(
+                row(2, "Dune", DUNE, 1L, Set.of(10L, 11L)),
+                row(3, "Dune again", DUNE, 1L, Set.of(10L)),
+                row(4, "The Hobbit", HOBBIT, 1L, Set.of(10L)),
+                row(5, "Earthsea", EARTHSEA, 9L, Set.of(10L)),
+                row(6, "Hunger Games", HUNGER_GAMES, 1L, Set.of(99L)),
+                row(7, "", "not-an-isbn", 1L, Set.of(10L)),
+                ImportRow.unparseable(8, "Malformed JSON: oops"));
+
+        // Act
+        ChunkResult result = writer.write(rows);
+
+        // Assert
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).extracting(ImportError::line, ImportError::message).containsExactly(
+                tuple(3L, "Book with ISBN " + DUNE + " already exists"),
+                tuple(4L, "Book with ISBN " + HOBBIT + " already exists"),
+                tuple(5L, "Author not found with id: 9"),
+                tuple(6L, "Category not found with id: 99"),
+                tuple(7L, "Invalid ISBN format; Title is required"),
+                tuple(8L, "Malformed JSON: oops"));
+
+        verify(authorRepository).findExistingIds(Set.of(1L, 9L));
+        ArgumentCaptor<Collection<Object>> books = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO books"), books.capture(), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(books.getValue()).hasSize(1);
+        ArgumentCaptor<Collection<long[]>> links = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO book_categories"), links.capture(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(links.getValue()).extracting(link -> link[0]).containsOnly(100L);
+    }
+
+    @Test
+    @DisplayName("Should not touch the database for a chunk without valid records")
+    void testWrite_NothingValid() {
+        // Act
+        ChunkResult result = writer.write(List.of(ImportRow.unparseable(2, "Expected 5 fields but found 2")));
+
+        // Assert
+        assertThat(result.imported()).isZero();
+        assertThat(result.errors()).hasSize(1);
+        verifyNoInteractions(authorRepository, categoryRepository, bookRepository, jdbcTemplate, entityIdGenerator);
+    }
+
+    private ImportRow row(long line, String title, String isbn, Long authorId, Set<Long> categoryIds) {
+        return ImportRow.parsed(line, NewBookDTO.builder()
+                .title(title)
+                .isbn(isbn)
+                .authorId(authorId)
+                .categoryIds(categoryIds)
+                .build());
+    }
+}
@@ -0,0 +1,122 @@
+package com.bookmanagement.importer;
+
+import com.bookmanagement.enums.ImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ImportRowReader Tests")
+class ImportRowReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read CSV columns by header name, including quoted fields")
+    void testCsv() throws IOException {
+        List<ImportRow> rows = readAll(ImportFormat.CSV, """
+                isbn,title,authorId,categoryIds,publishedDate
+                978-0-441-17271-9,"Dune, Book One",1,1;2,1965-08-01
+
+                9780547773742,"The ""Earthsea"" Cycle",2,3,
+                """, 10);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).book().getTitle()).isEqualTo("Dune, Book One");
+        assertThat(rows.get(0).book().getCategoryIds()).containsExactly(1L, 2L);
+        assertThat(rows.get(0).book().getPublishedDate()).isEqualTo(LocalDate.of(1965, 8, 1));
+        assertThat(rows.get(1).line()).isEqualTo(4);
+        assertThat(rows.get(1).book().getTitle()).isEqualTo("The \"Earthsea\" Cycle");
+        assertThat(rows.get(1).book().getPublishedDate()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep a quoted CSV field spanning lines in one record")
+    void testCsv_MultilineField() throws IOException {
+        List<ImportRow> rows = readAll(ImportFormat.CSV, """
+                title,isbn,publishedDate,authorId,categoryIds
+                "First line
+                second line",111,,1,1
+                Next,222,,1,1
+                """, 10);
+
+        assertThat(rows).extracting(row -> row.book().getTitle()).containsExactly("First line\nsecond line", "Next");
+        assertThat(rows).extracting(ImportRow::line).containsExactly(2L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should report malformed CSV records without stopping")
+    void testCsv_MalformedRecords() throws IOException {
+        List<ImportRow> rows = readAll(ImportFormat.CSV, """
+                title,isbn,publishedDate,authorId,categoryIds
+                Short,111
+                Bad id,222,,abc,1
+                Bad date,333,yesterday,1,1
+                Fine,444,,1,1
+                """, 10);
+
+        assertThat(rows).extracting(ImportRow::parseError).satisfiesExactly(
+                error -> assertThat(error).startsWith("Expected 5 fields"),
+                error -> assertThat(error).startsWith("Malformed value"),
+                error -> assertThat(error).startsWith("Malformed value"),
+                error -> assertThat(error).isNull());
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV header without the required columns")
+    void testCsv_MissingColumns() throws IOException {
+        Path file = write("title,isbn\nDune,111\n");
+
+        try (ImportRowReader reader = ImportRowReader.open(file, ImportFormat.CSV, objectMapper)) {
+            assertThatThrownBy(() -> reader.nextChunk(10))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("authorId");
+        }
+    }
+
+    @Test
+    @DisplayName("Should read NDJSON in chunks and report malformed lines")
+    void testNdjson_Chunks() throws IOException {
+        Path file = write("""
+                {"title":"Dune","isbn":"111","authorId":1,"categoryIds":[1],"publishedDate":"1965-08-01"}
+                {"title":"Emma",
+                {"title":"Ulysses","isbn":"333","authorId":2,"categoryIds":[2,3]}
+                """);
+
+        try (ImportRowReader reader = ImportRowReader.open(file, ImportFormat.NDJSON, objectMapper)) {
+            List<ImportRow> first = reader.nextChunk(2);
+            List<ImportRow> second = reader.nextChunk(2);
+
+            assertThat(first).hasSize(2);
+            assertThat(first.get(0).book().getPublishedDate()).isEqualTo(LocalDate.of(1965, 8, 1));
+            assertThat(first.get(1).parseError()).startsWith("Malformed JSON");
+            assertThat(second).singleElement().satisfies(row -> {
+                assertThat(row.line()).isEqualTo(3);
+                assertThat(row.book().getCategoryIds()).containsExactlyInAnyOrder(2L, 3L);
+            });
+            assertThat(reader.nextChunk(2)).isEmpty();
+        }
+    }
+
+    private List<ImportRow> readAll(ImportFormat format, String content, int chunkSize) throws IOException {
+        try (ImportRowReader reader = ImportRowReader.open(write(content), format, objectMapper)) {
+            return reader.nextChunk(chunkSize);
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(tempDir.resolve("import-" + System.nanoTime()), content);
+    }
+}
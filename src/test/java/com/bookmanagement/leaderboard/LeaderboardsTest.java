@@ -0,0 +1,148 @@
+package com.bookmanagement.leaderboard;
+
+import com.bookmanagement.enums.LeaderboardType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Leaderboards Tests")
+class LeaderboardsTest {
+
+    private static final long FANTASY = 10L;
+    private static final long SCIENCE_FICTION = 11L;
+
+    private Leaderboards leaderboards;
+
+    @BeforeEach
+    void setUp() {
+        leaderboards = Leaderboards.of(List.of(
+                book(1L, Set.of(FANTASY), 5, 1),
+                book(2L, Set.of(FANTASY), 450, 100),
+                book(3L, Set.of(SCIENCE_FICTION), 160, 40),
+                book(4L, Set.of(FANTASY, SCIENCE_FICTION), 60, 20),
+                book(5L, Set.of(SCIENCE_FICTION), 0, 0)
+        ), 3, 10, 3.0);
+    }
+
+    @Test
+    @DisplayName("Should rank by weighted rating so a single perfect review does not win")
+    void testTopRated_BayesianWeighting() {
+        // prior mean (5 + 450 + 160 + 60) / 161 = 4.19
+        assertThat(leaderboards.priorMean()).isCloseTo(675.0 / 161, within(1e-9));
+        assertThat(leaderboards.top(LeaderboardType.TOP_RATED, null, 10))
+                .extracting(ranked -> ranked.book().bookId())
+                .containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should rank by review count and leave out books without reviews")
+    void testMostReviewed() {
+        assertThat(leaderboards.top(LeaderboardType.MOST_REVIEWED, null, 10))
+                .extracting(ranked -> ranked.book().bookId())
+                .containsExactly(2L, 3L, 4L);
+        assertThat(leaderboards.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should keep separate boards per category")
+    void testTop_ByCategory() {
+        assertThat(leaderboards.top(LeaderboardType.TOP_RATED, SCIENCE_FICTION, 10))
+                .extracting(ranked -> ranked.book().bookId())
+                .containsExactly(3L, 4L);
+        assertThat(leaderboards.top(LeaderboardType.MOST_REVIEWED, FANTASY, 2))
+                .extracting(ranked -> ranked.book().bookId())
+                .containsExactly(2L, 4L);
+        assertThat(leaderboards.top(LeaderboardType.TOP_RATED, 99L, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should re-rank on rating changes and drop books that lose their reviews")
+    void testPut_RatingChange() {
+        leaderboards.put(book(5L, Set.of(SCIENCE_FICTION), 1000, 200));
+        leaderboards.put(book(2L, Set.of(FANTASY), 0, 0));
+
+        assertThat(leaderboards.top(LeaderboardType.MOST_REVIEWED, null, 10))
+                .extracting(ranked -> ranked.book().bookId())
+                .containsExactly(5L, 3L, 4L);
+        assertThat(leaderboards.top(LeaderboardType.TOP_RATED, FANTASY, 10))
+                .extracting(ranked -> ranked.book().bookId())
+                .containsExactly(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should move a book between category boards when its categories change")
+    void testPut_CategoryChange() {
+        leaderboards.put(book(3L, Set.of(FANTASY), 160, 40));
+
+        assertThat(leaderboards.top(LeaderboardType.MOST_REVIEWED, SCIENCE_FICTION, 10))
+                .extracting(ranked -> ranked.book().bookId())
+                .containsExactly(4L);
+        assertThat(leaderboards.top(LeaderboardType.MOST_REVIEWED, FANTASY, 10))
+                .extracting(ranked -> ranked.book().bookId())
+                .containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should stay exact after random updates that push books out of and back into the bounded boards")
+    void testPut_MatchesFullSort() {
+        Random random = new Random(42);
+        Map<Long, RatedBook> books = new HashMap<>();
+        for (long id = 1; id <= 200; id++) {
+            books.put(id, randomBook(random, id));
+        }
+        Leaderboards bounded = Leaderboards.of(books.values(), 5, 10, 3.0);
+
+        for (int i = 0; i < 2000; i++) {
+            long id = 1 + random.nextInt(200);
+            if (random.nextInt(10) == 0) {
+                books.remove(id);
+                bounded.remove(id);
+            } else {
+                RatedBook book = randomBook(random, id);
+                books.put(id, book);
+                bounded.put(book);
+            }
+        }
+
+        for (LeaderboardType type : LeaderboardType.values()) {
+            for (Long categoryId : new Long[]{null, 1L, 2L, 3L}) {
+                List<RankedBook> expected = new ArrayList<>();
+                for (RatedBook book : books.values()) {
+                    if (book.reviewCount() > 0 && (categoryId == null || book.categoryIds().contains(categoryId))) {
+                        expected.add(new RankedBook(book, bounded.weightedRating(book)));
+                    }
+                }
+                expected.sort(RankedBook.ranking(type));
+                assertThat(bounded.top(type, categoryId, 5))
+                        .as("%s in category %s", type, categoryId)
+                        .containsExactlyElementsOf(expected.subList(0, Math.min(5, expected.size())));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should cap results at top-k")
+    void testTop_Limit() {
+        assertThat(leaderboards.top(LeaderboardType.MOST_REVIEWED, null, 100)).hasSize(3);
+        assertThat(leaderboards.top(LeaderboardType.MOST_REVIEWED, null, 1)).hasSize(1);
+    }
+
+    private static RatedBook randomBook(Random random, long id) {
+        long reviews = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(50);
+        long sum = reviews == 0 ? 0 : reviews + random.nextLong(4 * reviews + 1);
+        return book(id, Set.of(1 + (long) random.nextInt(3)), sum, reviews);
+    }
+
+    private static RatedBook book(long id, Set<Long> categoryIds, long ratingSum, long reviewCount) {
+        return new RatedBook(id, "Book " + id, "Author", categoryIds, ratingSum, reviewCount);
+    }
+}
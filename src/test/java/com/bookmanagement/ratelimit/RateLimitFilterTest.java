@@ -0,0 +1,125 @@
+package com.bookmanagement.ratelimit;
+
+import com.bookmanagement.config.RateLimitConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitConfig config = new RateLimitConfig();
+        List<RateLimitPolicy> policies = List.of(
+                config.loginRateLimit(2, Duration.ofMinutes(1)),
+                config.reviewRateLimit(1, Duration.ofMinutes(1)),
+                config.writeRateLimit(3, Duration.ofMinutes(1)));
+        filter = new RateLimitFilter(policies, 100, new ObjectMapper().findAndRegisterModules(), meterRegistry,
+                Clock.systemUTC());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once a client exceeds the login limit")
+    void testLogin_LimitedPerAddress() throws Exception {
+        // Act
+        int first = send(request("POST", "/api/auth/login", "10.0.0.1")).getStatus();
+        int second = send(request("POST", "/api/auth/login", "10.0.0.1")).getStatus();
+        MockHttpServletResponse third = send(request("POST", "/api/auth/login", "10.0.0.1"));
+        int otherClient = send(request("POST", "/api/auth/login", "10.0.0.2")).getStatus();
+
+        // Assert
+        assertThat(List.of(first, second, otherClient)).containsOnly(200);
+        assertThat(third.getStatus()).isEqualTo(429);
+        assertThat(third.getHeader("Retry-After")).isEqualTo("30");
+        assertThat(third.getContentAsString()).contains("\"status\":429");
+        assertThat(meterRegistry.get("ratelimit.requests").tag("policy", "login").tag("result", "rejected")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should limit reviews per user, not per address")
+    void testReviews_LimitedPerUser() throws Exception {
+        // Act
+        authenticate("alice");
+        int alice = send(request("POST", "/api/books/7/reviews", "10.0.0.1")).getStatus();
+        int aliceAgain = send(request("POST", "/api/books/8/reviews", "10.0.0.9")).getStatus();
+        authenticate("bob");
+        int bob = send(request("POST", "/api/books/7/reviews", "10.0.0.1")).getStatus();
+
+        // Assert
+        assertThat(alice).isEqualTo(200);
+        assertThat(aliceAgain).isEqualTo(429);
+        assertThat(bob).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should count a request against the first matching policy only")
+    void testFirstMatchingPolicy() throws Exception {
+        // Arrange
+        authenticate("alice");
+        send(request("POST", "/api/books/7/reviews", "10.0.0.1"));
+
+        // Act: the review used the review bucket, so the write bucket is still full
+        int[] writes = new int[3];
+        for (int i = 0; i < writes.length; i++) {
+            writes[i] = send(request("PUT", "/api/books/" + i, "10.0.0.1")).getStatus();
+        }
+        int overLimit = send(request("DELETE", "/api/authors/1", "10.0.0.1")).getStatus();
+
+        // Assert
+        assertThat(writes).containsOnly(200);
+        assertThat(overLimit).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should not limit requests outside every policy")
+    void testReads_NotLimited() throws Exception {
+        // Act & Assert
+        for (int i = 0; i < 20; i++) {
+            assertThat(send(request("GET", "/api/books", "10.0.0.1")).getStatus()).isEqualTo(200);
+        }
+        assertThat(meterRegistry.get("ratelimit.keys").tag("policy", "writes").gauge().value()).isZero();
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        request.setRemoteAddr(address);
+        return request;
+    }
+}
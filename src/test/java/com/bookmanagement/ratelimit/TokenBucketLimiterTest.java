@@ -0,0 +1,138 @@
+package com.bookmanagement.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TokenBucketLimiter Tests")
+class TokenBucketLimiterTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    @DisplayName("Should allow a burst up to the capacity and then report the wait for the next token")
+    void testTryAcquire_Burst() {
+        // Arrange: 5 requests per 10 seconds, one token every 2 seconds
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, Duration.ofSeconds(10), 100, clock);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("alice")).isZero();
+        }
+        long wait = limiter.tryAcquire("alice");
+
+        // Assert
+        assertThat(wait).isEqualTo(2_000);
+        assertThat(limiter.stats()).isEqualTo(new TokenBucketLimiter.Stats(5, 1, 0));
+    }
+
+    @Test
+    @DisplayName("Should refill tokens evenly over the period")
+    void testTryAcquire_Refill() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, Duration.ofSeconds(10), 100, clock);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("alice");
+        }
+
+        // Act
+        clock.advanceMillis(2_000);
+        long first = limiter.tryAcquire("alice");
+        long second = limiter.tryAcquire("alice");
+
+        // Assert
+        assertThat(first).isZero();
+        assertThat(second).isEqualTo(2_000);
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per key")
+    void testTryAcquire_PerKey() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofMinutes(1), 100, clock);
+
+        // Act & Assert
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+        assertThat(limiter.tryAcquire("bob")).isZero();
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should charge keys beyond the bound to one shared bucket")
+    void testTryAcquire_Bounded() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, Duration.ofMinutes(1), 3, clock);
+
+        // Act: a flood of distinct keys
+        int allowed = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (limiter.tryAcquire("attacker" + i) == 0) {
+                allowed++;
+            }
+        }
+
+        // Assert: three tracked keys with two tokens each, and the shared bucket's two
+        assertThat(limiter.size()).isEqualTo(3);
+        assertThat(allowed).isEqualTo(3 + 2);
+        assertThat(limiter.stats().overflowed()).isEqualTo(1_000 - 3);
+    }
+
+    @Test
+    @DisplayName("Should drop full buckets to make room for new keys")
+    void testTryAcquire_SweepsFullBuckets() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, Duration.ofMinutes(1), 3, clock);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("old" + i);
+        }
+
+        // Act: the old buckets have refilled
+        clock.advanceMillis(60_000);
+        long wait = limiter.tryAcquire("new");
+
+        // Assert
+        assertThat(wait).isZero();
+        assertThat(limiter.size()).isEqualTo(1);
+        assertThat(limiter.stats().overflowed()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject a policy without capacity")
+    void testConstructor_Invalid() {
+        // Act & Assert
+        assertThatThrownBy(() -> new TokenBucketLimiter(0, Duration.ofMinutes(1), 10, clock))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.now();
+
+        void advanceMillis(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
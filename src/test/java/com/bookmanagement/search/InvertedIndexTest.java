@@ -0,0 +1,104 @@
+package com.bookmanagement.search;
+
+import com.bookmanagement.entity.Author;
+import com.bookmanagement.entity.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("InvertedIndex Tests")
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+    private Author tolkien;
+    private Author herbert;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        tolkien = Author.builder().id(1L).name("J.R.R. Tolkien").bio("English writer and philologist").build();
+        herbert = Author.builder().id(2L).name("Frank Herbert").bio("American science fiction writer").build();
+
+        index.upsertAll(List.of(
+                book(1L, "The Lord of the Rings", tolkien),
+                book(2L, "The Hobbit", tolkien),
+                book(3L, "Dune", herbert),
+                book(4L, "Children of Dune", herbert)
+        ));
+    }
+
+    @Test
+    @DisplayName("Should fold case and accents when tokenizing")
+    void testTokenize() {
+        assertThat(Tokenizer.tokenize("Éléments de Géométrie, 2nd-ed."))
+                .containsExactly("elements", "de", "geometrie", "2nd", "ed");
+    }
+
+    @Test
+    @DisplayName("Should rank a title match above an author bio match")
+    void testSearch_FieldWeights() {
+        index.upsert(book(5L, "Science of Writing", tolkien));
+
+        List<SearchHit> hits = index.search(SearchQuery.parse("science"), 10);
+
+        assertThat(hits).extracting(SearchHit::bookId).startsWith(5L).contains(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should rank the shorter title higher for the same term")
+    void testSearch_LengthNormalization() {
+        List<SearchHit> hits = index.search(SearchQuery.parse("dune"), 10);
+
+        assertThat(hits).extracting(SearchHit::bookId).containsExactly(3L, 4L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    @DisplayName("Should only match phrases with adjacent terms")
+    void testSearch_Phrase() {
+        assertThat(index.search(SearchQuery.parse("\"lord of the rings\""), 10))
+                .extracting(SearchHit::bookId).containsExactly(1L);
+        assertThat(index.search(SearchQuery.parse("\"rings lord\""), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should expand prefix terms")
+    void testSearch_Prefix() {
+        List<SearchHit> hits = index.search(SearchQuery.parse("hob*"), 10);
+
+        assertThat(hits).extracting(SearchHit::bookId).containsExactly(2L);
+        assertThat(hits.get(0).authorName()).isEqualTo("J.R.R. Tolkien");
+    }
+
+    @Test
+    @DisplayName("Should honour the result limit")
+    void testSearch_Limit() {
+        assertThat(index.search(SearchQuery.parse("the dune"), 2)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should stop matching removed and replaced books")
+    void testRemoveAndUpsert() {
+        index.remove(3L);
+        index.upsert(book(2L, "There and Back Again", tolkien));
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search(SearchQuery.parse("dune"), 10)).extracting(SearchHit::bookId).containsExactly(4L);
+        assertThat(index.search(SearchQuery.parse("hobbit"), 10)).isEmpty();
+        assertThat(index.search(SearchQuery.parse("again"), 10)).extracting(SearchHit::bookId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should return nothing for a query without terms")
+    void testSearch_EmptyQuery() {
+        assertThat(index.search(SearchQuery.parse(" \"\" -- "), 10)).isEmpty();
+    }
+
+    private IndexedBook book(Long id, String title, Author author) {
+        return IndexedBook.of(Book.builder().id(id).title(title).author(author).build());
+    }
+}
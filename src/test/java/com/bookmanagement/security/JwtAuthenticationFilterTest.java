@@ -0,0 +1,135 @@
+package com.bookmanagement.security;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private final JwtService jwtService = new JwtService(SECRET, 60_000);
+
+    private final UserDetails alice = User.withUsername("alice")
+            .password("hash")
+            .authorities(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate from the roles claim without loading the user in stateless mode")
+    void testStateless_NoUserLookup() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken(
+                Map.of(JwtService.ROLES_CLAIM, JwtService.roleNames(alice.getAuthorities())), alice);
+
+        // Act
+        filter(true).doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.getName()).isEqualTo("alice");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Should load the user for a token without a roles claim")
+    void testStateless_LegacyTokenFallsBack() throws Exception {
+        // Arrange
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(alice);
+
+        // Act
+        filter(true).doFilter(request(jwtService.generateToken(alice)), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities()).hasSize(2);
+        verify(userDetailsService).loadUserByUsername("alice");
+    }
+
+    @Test
+    @DisplayName("Should load the user on every request when not stateless")
+    void testStateful_LoadsUser() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken(Map.of(JwtService.ROLES_CLAIM, List.of("ADMIN")), alice);
+        UserDetails demoted = User.withUsername("alice").password("hash").authorities("ROLE_USER").build();
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(demoted);
+
+        // Act
+        filter(false).doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert: the database, not the claim, decides
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key")
+    void testStateless_ForeignSignature() {
+        // Arrange
+        JwtService other = new JwtService("5A7134743777217A25432A462D4A614E645267556B58703273357638792F423F", 60_000);
+        String token = other.generateToken(Map.of(JwtService.ROLES_CLAIM, List.of("ADMIN")), alice);
+
+        // Act & Assert
+        assertThatThrownBy(() -> filter(true).doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain()))
+                .isInstanceOf(JwtException.class);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void testStateless_Expired() {
+        // Arrange
+        String token = new JwtService(SECRET, -1_000)
+                .generateToken(Map.of(JwtService.ROLES_CLAIM, List.of("USER")), alice);
+
+        // Act & Assert
+        assertThatThrownBy(() -> filter(true).doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain()))
+                .isInstanceOf(JwtException.class);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    private JwtAuthenticationFilter filter(boolean stateless) {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), 100);
+        return new JwtAuthenticationFilter(jwtService, cache, userDetailsService, stateless);
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.setServletPath("/api/books");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
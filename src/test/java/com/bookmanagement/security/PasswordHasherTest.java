@@ -0,0 +1,85 @@
+package com.bookmanagement.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PasswordHasher Tests")
+class PasswordHasherTest {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private ThreadPoolTaskExecutor executor;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.initialize();
+        passwordHasher = new PasswordHasher(executor, passwordEncoder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash on the hashing executor")
+    void testEncode() {
+        // Act
+        String hash = passwordHasher.encode("secret");
+        String thread = passwordHasher.call(() -> Thread.currentThread().getName());
+
+        // Assert
+        assertThat(passwordEncoder.matches("secret", hash)).isTrue();
+        assertThat(thread).startsWith("password-hashing-");
+    }
+
+    @Test
+    @DisplayName("Should rethrow a failed authentication as it is")
+    void testCall_RethrowsRuntimeException() {
+        // Act & Assert
+        assertThatThrownBy(() -> passwordHasher.call(() -> {
+            throw new BadCredentialsException("Bad credentials");
+        })).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject work once the queue is full")
+    void testCall_QueueFull() throws Exception {
+        // Arrange: the only thread is busy and the only queue slot is taken
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> passwordHasher.call(() -> {
+            started.countDown();
+            release.await();
+            return "done";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("queued"));
+        while (executor.getQueueSize() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> passwordHasher.encode("rejected")).isInstanceOf(TaskRejectedException.class);
+        release.countDown();
+        assertThat(busy.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).startsWith("$2a$");
+    }
+}
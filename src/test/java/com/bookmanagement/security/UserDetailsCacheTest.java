@@ -0,0 +1,171 @@
+package com.bookmanagement.security;
+
+import com.bookmanagement.entity.Role;
+import com.bookmanagement.entity.User;
+import com.bookmanagement.event.UserChangedEvent;
+import com.bookmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserDetailsCache Tests")
+class UserDetailsCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserDetailsCache cache;
+    private CustomUserDetailsService userDetailsService;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserDetailsCache(meterRegistry, 10, Duration.ofMinutes(5), clock);
+        userDetailsService = new CustomUserDetailsService(userRepository, cache);
+        alice = User.builder().id(1L).username("alice").email("alice@example.com").password("hash").build();
+        alice.addRole(Role.builder().id(1L).name("USER").build());
+    }
+
+    @Test
+    @DisplayName("Should load a user once and serve later lookups from the cache")
+    void testLoadUserByUsername_Cached() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+
+        // Act
+        userDetailsService.loadUserByUsername("alice");
+        UserDetails second = userDetailsService.loadUserByUsername("alice");
+
+        // Assert
+        assertThat(second.getPassword()).isEqualTo("hash");
+        assertThat((AuthenticatedUser) second).extracting(AuthenticatedUser::getId, AuthenticatedUser::getEmail)
+                .containsExactly(1L, "alice@example.com");
+        assertThat(second.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+        verify(userRepository, times(1)).findByUsername("alice");
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "userDetails").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("cache.size").tag("cache", "userDetails").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should keep the cached password when a returned user has its credentials erased")
+    void testGet_ReturnsCopies() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        UserDetails loaded = userDetailsService.loadUserByUsername("alice");
+
+        // Act: what the authentication manager does after a login
+        ((CredentialsContainer) loaded).eraseCredentials();
+        ((CredentialsContainer) userDetailsService.loadUserByUsername("alice")).eraseCredentials();
+
+        // Assert
+        assertThat(userDetailsService.loadUserByUsername("alice").getPassword()).isEqualTo("hash");
+    }
+
+    @Test
+    @DisplayName("Should reload a user after the TTL")
+    void testLoadUserByUsername_Expired() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        userDetailsService.loadUserByUsername("alice");
+
+        // Act
+        clock.advance(Duration.ofMinutes(6));
+        userDetailsService.loadUserByUsername("alice");
+
+        // Assert
+        verify(userRepository, times(2)).findByUsername("alice");
+        assertThat(cache.stats().hits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict a changed user so the next lookup sees the change")
+    void testOnUserChanged_Evicts() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        userDetailsService.loadUserByUsername("alice");
+
+        // Act
+        cache.onUserChanged(new UserChangedEvent(1L, "alice"));
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.empty());
+
+        // Assert
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("alice"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop a user loaded before a change committed")
+    void testPut_StaleGeneration() {
+        // Arrange
+        long generation = cache.generation();
+        UserDetails stale = org.springframework.security.core.userdetails.User.withUsername("alice")
+                .password("old-hash").authorities("ROLE_ADMIN").build();
+
+        // Act: the change commits while the old row is being loaded
+        cache.invalidate("alice");
+        cache.put(stale, generation);
+
+        // Assert
+        assertThat(cache.get("alice")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stay within its bound")
+    void testPut_Bounded() {
+        // Act
+        for (int i = 0; i < 25; i++) {
+            cache.put(org.springframework.security.core.userdetails.User.withUsername("user" + i)
+                    .password("hash").authorities("ROLE_USER").build(), cache.generation());
+        }
+
+        // Assert
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.stats().evictions()).isEqualTo(25 - cache.size());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.bookmanagement.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("VerifiedTokenCache Tests")
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = spy(new JwtService(SECRET, 60_000));
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve its claims from the cache afterwards")
+    void testGetOrVerify_Hit() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, meterRegistry, 10, clock);
+        String token = token("alice");
+
+        // Act
+        Claims first = cache.getOrVerify(token);
+        Claims second = cache.getOrVerify(token);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(second.getSubject()).isEqualTo("alice");
+        verify(jwtService, times(1)).parseToken(token);
+        assertThat(cache.stats()).isEqualTo(new VerifiedTokenCache.Stats(1, 1, 1, 0));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "verifiedTokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should stop serving claims once the token expires")
+    void testGetOrVerify_Expiry() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, meterRegistry, 10, clock);
+        String token = token("alice");
+        cache.getOrVerify(token);
+
+        // Act: past exp by the cache clock, while the parser still accepts it
+        clock.advanceMillis(61_000);
+        cache.getOrVerify(token);
+
+        // Assert
+        verify(jwtService, times(2)).parseToken(token);
+        assertThat(cache.stats().hits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that fail verification")
+    void testGetOrVerify_Invalid() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, meterRegistry, 10, clock);
+        String tampered = token("alice") + "x";
+
+        // Act & Assert
+        assertThatThrownBy(() -> cache.getOrVerify(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> cache.getOrVerify(tampered)).isInstanceOf(JwtException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stay within its bound, dropping expired tokens first")
+    void testGetOrVerify_Bounded() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, meterRegistry, 10, clock);
+        for (int i = 0; i < 8; i++) {
+            cache.getOrVerify(token("old" + i));
+        }
+        clock.advanceMillis(61_000);
+
+        // Act
+        for (int i = 0; i < 25; i++) {
+            cache.getOrVerify(token("user" + i));
+        }
+
+        // Assert
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.stats().evictions()).isEqualTo(8 + 25 - cache.size());
+        assertThat(meterRegistry.get("cache.size").tag("cache", "verifiedTokens").gauge().value())
+                .isEqualTo(cache.size());
+    }
+
+    @Test
+    @DisplayName("Should verify every time when disabled")
+    void testGetOrVerify_Disabled() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, meterRegistry, 0, clock);
+        String token = token("alice");
+
+        // Act
+        cache.getOrVerify(token);
+        cache.getOrVerify(token);
+
+        // Assert
+        verify(jwtService, times(2)).parseToken(token);
+        assertThat(cache.size()).isZero();
+    }
+
+    private String token(String username) {
+        return jwtService.generateToken(User.withUsername(username).password("").authorities("ROLE_USER").build());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.now();
+
+        void advanceMillis(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -2,13 +2,23 @@ package com.bookmanagement.service;
 
 import com.bookmanagement.dto.AllAuthorDTO;
 import com.bookmanagement.dto.AuthorDTO;
+import com.bookmanagement.dto.BookPaginationDTO;
+import com.bookmanagement.dto.BookSummaryDTO;
+import com.bookmanagement.dto.GetAllBookParamsDTO;
+import com.bookmanagement.dto.GetAllAuthorParamsDTO;
 import com.bookmanagement.dto.NewAuthorDTO;
 import com.bookmanagement.entity.Author;
 import com.bookmanagement.entity.Book;
+import com.bookmanagement.enums.TotalType;
 import com.bookmanagement.exception.*;
 import com.bookmanagement.mapper.AuthorMapper;
+import com.bookmanagement.mapper.BookMapper;
 import com.bookmanagement.repository.AuthorRepository;
+import com.bookmanagement.repository.BookRepository;
 import com.bookmanagement.service.impl.AuthorServiceImpl;
+import com.bookmanagement.utils.AuthorCursor;
+import com.bookmanagement.utils.BookCursor;
+import com.bookmanagement.utils.PagedResponse;
 
 
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +28,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 
 import java.util.*;
@@ -25,6 +39,9 @@ import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -35,9 +52,21 @@ class AuthorServiceTest {
    @Mock
    private AuthorRepository authorRepository;
   
+   @Mock
+   private BookRepository bookRepository;
+  
+   @Mock
+   private BookService bookService;
+  
    @Mock
    private AuthorMapper authorMapper;
   
+   @Mock
+   private BookMapper bookMapper;
+
+   @Mock
+   private ApplicationEventPublisher eventPublisher;
+  
    @InjectMocks
    private AuthorServiceImpl authorService;
   
@@ -79,40 +108,112 @@ class AuthorServiceTest {
    }
   
    @Test
-   @DisplayName("Should get all authors successfully")
+   @DisplayName("Should get a page of authors with book counts and an exact total")
    void testGetAllAuthors_Success() {
        // Arrange
-       when(authorRepository.findAll()).thenReturn(List.of(author));
+       when(authorRepository.findPage(any(), any(), eq(0L), eq(21))).thenReturn(List.of(author));
+       when(authorRepository.count(any(Specification.class))).thenReturn(1L);
+       when(bookRepository.countByAuthorIds(List.of(1L))).thenReturn(List.<Object[]>of(new Object[]{1L, 3L}));
        when(authorMapper.toAllDTO(author)).thenReturn(allAuthorDTO);
       
        // Act
-       List<AllAuthorDTO> result = authorService.getAllAuthors();
+       PagedResponse<AllAuthorDTO> result = authorService.getAllAuthors(new GetAllAuthorParamsDTO(null, null, null, null, null));
       
        // Assert
-       assertThat(result).hasSize(1);
-       assertThat(result.get(0).getName()).isEqualTo("Robert C. Martin");
-       verify(authorRepository, times(1)).findAll();
+       assertThat(result.content()).hasSize(1);
+       assertThat(result.content().get(0).getName()).isEqualTo("Robert C. Martin");
+       assertThat(result.content().get(0).getBookCount()).isEqualTo(3L);
+       assertThat(result.content().get(0).getBooks()).isNull();
+       assertThat(result.total()).isEqualTo(1L);
+       assertThat(result.totalType()).isEqualTo(TotalType.EXACT);
+       assertThat(result.hasNext()).isFalse();
+       verify(bookRepository, never()).findTitlesByAuthorIds(any());
    }
   
    @Test
-   @DisplayName("Should return empty list when no authors exist")
+   @DisplayName("Should return an empty page without counting books when no authors exist")
    void testGetAllAuthors_EmptyList() {
        // Arrange
-       when(authorRepository.findAll()).thenReturn(Collections.emptyList());
+       when(authorRepository.findPage(any(), any(), anyLong(), anyInt())).thenReturn(Collections.emptyList());
       
        // Act
-       List<AllAuthorDTO> result = authorService.getAllAuthors();
+       PagedResponse<AllAuthorDTO> result = authorService.getAllAuthors(new GetAllAuthorParamsDTO(2, 10, "Rob", null, null));
       
        // Assert
-       assertThat(result).isEmpty();
+       assertThat(result.content()).isEmpty();
+       assertThat(result.page()).isEqualTo(2);
+       verify(authorRepository).findPage(any(), any(), eq(20L), eq(11));
+       verifyNoInteractions(bookRepository);
+   }
+  
+   @Test
+   @DisplayName("Should seek after the cursor without a total and hand out the next cursor")
+   void testGetAllAuthors_Cursor() {
+       // Arrange
+       Author next = Author.builder().id(2L).name("Ursula K. Le Guin").build();
+       Author beyond = Author.builder().id(3L).name("Zadie Smith").build();
+       when(authorRepository.findPage(any(), any(), eq(0L), eq(2))).thenReturn(List.of(next, beyond));
+       when(bookRepository.countByAuthorIds(List.of(2L))).thenReturn(List.of());
+       when(authorMapper.toAllDTO(next)).thenReturn(AllAuthorDTO.builder().id(2L).name(next.getName()).build());
+       String cursor = AuthorCursor.after(author).encode();
+      
+       // Act
+       PagedResponse<AllAuthorDTO> result = authorService.getAllAuthors(new GetAllAuthorParamsDTO(null, 1, null, cursor, null));
+      
+       // Assert
+       assertThat(result.content()).extracting(AllAuthorDTO::getId).containsExactly(2L);
+       assertThat(result.content().get(0).getBookCount()).isZero();
+       assertThat(result.total()).isNull();
+       assertThat(result.totalType()).isEqualTo(TotalType.OMITTED);
+       assertThat(result.hasNext()).isTrue();
+       assertThat(AuthorCursor.decode(result.nextCursor())).isEqualTo(new AuthorCursor("Ursula K. Le Guin", 2L));
+       verify(authorRepository, never()).count(any(Specification.class));
+   }
+  
+   @Test
+   @DisplayName("Should fill the books of each author when books are expanded")
+   void testGetAllAuthors_ExpandBooks() {
+       // Arrange
+       when(authorRepository.findPage(any(), any(), anyLong(), anyInt())).thenReturn(List.of(author));
+       when(authorRepository.count(any(Specification.class))).thenReturn(1L);
+       when(bookRepository.countByAuthorIds(List.of(1L))).thenReturn(List.<Object[]>of(new Object[]{1L, 2L}));
+       when(bookRepository.findTitlesByAuthorIds(List.of(1L))).thenReturn(List.of(
+               new Object[]{1L, 10L, "Clean Code"},
+               new Object[]{1L, 11L, "Clean Architecture"}));
+       when(authorMapper.toAllDTO(author)).thenReturn(allAuthorDTO);
+      
+       // Act
+       PagedResponse<AllAuthorDTO> result = authorService.getAllAuthors(new GetAllAuthorParamsDTO(null, null, null, null, "books"));
+      
+       // Assert
+       assertThat(result.content().get(0).getBooks())
+               .extracting(book -> book.getTitle())
+               .containsExactly("Clean Code", "Clean Architecture");
+   }
+  
+   @Test
+   @DisplayName("Should reject unknown expansions, oversized pages and page with cursor")
+   void testGetAllAuthors_InvalidParams() {
+       String cursor = AuthorCursor.after(author).encode();
+      
+       assertThatThrownBy(() -> authorService.getAllAuthors(new GetAllAuthorParamsDTO(null, null, null, null, "reviews")))
+               .isInstanceOf(IllegalArgumentException.class);
+       assertThatThrownBy(() -> authorService.getAllAuthors(new GetAllAuthorParamsDTO(null, 101, null, null, null)))
+               .isInstanceOf(IllegalArgumentException.class);
+       assertThatThrownBy(() -> authorService.getAllAuthors(new GetAllAuthorParamsDTO(1, null, null, cursor, null)))
+               .isInstanceOf(IllegalArgumentException.class);
+       verifyNoInteractions(authorRepository, bookRepository);
    }
   
    @Test
    @DisplayName("Should get author by ID successfully")
    void testGetAuthorById_Success() {
        // Arrange
-       when(authorRepository.findByIdWithBooks(1L)).thenReturn(Optional.of(author));
+       Book book = Book.builder().id(10L).title("Clean Code").build();
+       when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
        when(authorMapper.toDTO(author)).thenReturn(authorDTO);
+       when(bookRepository.findByAuthorIdOrderById(eq(1L), any(Pageable.class))).thenReturn(List.of(book));
+       when(bookMapper.toSummaryDTO(book)).thenReturn(BookSummaryDTO.builder().id(10L).title("Clean Code").build());
       
        // Act
        AuthorDTO result = authorService.getAuthorById(1L);
@@ -120,13 +221,75 @@ class AuthorServiceTest {
        // Assert
        assertThat(result).isNotNull();
        assertThat(result.getName()).isEqualTo("Robert C. Martin");
+       assertThat(result.getBooks()).extracting(BookSummaryDTO::getTitle).containsExactly("Clean Code");
+       assertThat(result.getBookCount()).isEqualTo(1L);
+       assertThat(result.getBooksNextCursor()).isNull();
+       verify(bookRepository, never()).countByAuthorId(any());
+   }
+  
+   @Test
+   @DisplayName("Should embed only the first page of books with the total and a cursor for the rest")
+   void testGetAuthorById_CapsBooks() {
+       // Arrange
+       List<Book> firstPage = new ArrayList<>();
+       for (long id = 1; id <= 20; id++) {
+           firstPage.add(Book.builder().id(id).title("Book " + id).build());
+       }
+       ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+       when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
+       when(authorMapper.toDTO(author)).thenReturn(authorDTO);
+       when(bookRepository.findByAuthorIdOrderById(eq(1L), pageable.capture())).thenReturn(firstPage);
+       when(bookRepository.countByAuthorId(1L)).thenReturn(2500L);
+      
+       // Act
+       AuthorDTO result = authorService.getAuthorById(1L);
+      
+       // Assert
+       assertThat(pageable.getValue().getPageSize()).isEqualTo(20);
+       assertThat(result.getBooks()).hasSize(20);
+       assertThat(result.getBookCount()).isEqualTo(2500L);
+       BookCursor cursor = BookCursor.decode(result.getBooksNextCursor());
+       assertThat(cursor.id()).isEqualTo(20L);
+   }
+  
+   @Test
+   @DisplayName("Should page an author's books through the book listing filtered to the author")
+   void testGetBooksByAuthorId_Success() {
+       // Arrange
+       PagedResponse<BookPaginationDTO> page = new PagedResponse<>(List.<BookPaginationDTO>of(), 0, 10, 0L);
+       ArgumentCaptor<GetAllBookParamsDTO> params = ArgumentCaptor.forClass(GetAllBookParamsDTO.class);
+       when(authorRepository.existsById(1L)).thenReturn(true);
+       when(bookService.getAllBooksByCursor(params.capture())).thenReturn(page);
+      
+       // Act
+       PagedResponse<BookPaginationDTO> result = authorService.getBooksByAuthorId(1L, 10, "title,desc", "abc");
+      
+       // Assert
+       assertThat(result).isSameAs(page);
+       assertThat(params.getValue().authorId()).isEqualTo(1L);
+       assertThat(params.getValue().size()).isEqualTo(10);
+       assertThat(params.getValue().sortBy()).isEqualTo("title,desc");
+       assertThat(params.getValue().cursor()).isEqualTo("abc");
+   }
+  
+   @Test
+   @DisplayName("Should throw ResourceNotFoundException when listing books of a missing author")
+   void testGetBooksByAuthorId_NotFound() {
+       // Arrange
+       when(authorRepository.existsById(999L)).thenReturn(false);
+      
+       // Act & Assert
+       assertThatThrownBy(() -> authorService.getBooksByAuthorId(999L, null, null, null))
+               .isInstanceOf(ResourceNotFoundException.class)
+               .hasMessageContaining("Author not found with id: 999");
+       verifyNoInteractions(bookService);
    }
   
    @Test
    @DisplayName("Should throw ResourceNotFoundException when author not found")
    void testGetAuthorById_NotFound() {
        // Arrange
-       when(authorRepository.findByIdWithBooks(999L)).thenReturn(Optional.empty());
+       when(authorRepository.findById(999L)).thenReturn(Optional.empty());
       
        // Act & Assert
        assertThatThrownBy(() -> authorService.getAuthorById(999L))
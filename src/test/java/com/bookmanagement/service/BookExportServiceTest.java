@@ -0,0 +1,99 @@
+package com.bookmanagement.service;
+
+import com.bookmanagement.dto.BookExportDTO;
+import com.bookmanagement.dto.GetAllBookParamsDTO;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.service.impl.BookExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookExportService Tests")
+class BookExportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookExportServiceImpl bookExportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        bookExportService = new BookExportServiceImpl(bookRepository, objectMapper, 2);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON line per book across batches")
+    void testExportBooks() throws IOException {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<List<BookExportDTO>> consumer = invocation.getArgument(2);
+            consumer.accept(List.of(row(1L, "Dune"), row(2L, "Emma")));
+            consumer.accept(List.of(row(3L, "Ulysses")));
+            return null;
+        }).when(bookRepository).forEachExportBatch(any(Specification.class), eq(2), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        bookExportService.exportBooks(new GetAllBookParamsDTO(null, null, null, 1L, null, null, null, null, null), out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"id\":1", "\"title\":\"Dune\"", "\"categoryIds\":[10]");
+        assertThat(lines[2]).contains("\"title\":\"Ulysses\"");
+    }
+
+    @Test
+    @DisplayName("Should surface write failures as IOException")
+    void testExportBooks_ClientGone() {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<List<BookExportDTO>> consumer = invocation.getArgument(2);
+            consumer.accept(List.of(row(1L, "Dune")));
+            return null;
+        }).when(bookRepository).forEachExportBatch(any(Specification.class), anyInt(), any());
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act & Assert
+        assertThatThrownBy(() -> bookExportService.exportBooks(
+                new GetAllBookParamsDTO(null, null, null, null, null, null, null, null, null), broken))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+
+    private BookExportDTO row(Long id, String title) {
+        return BookExportDTO.builder()
+                .id(id)
+                .title(title)
+                .publishedDate(LocalDate.of(2001, 1, 1))
+                .rating(4.0)
+                .authorId(7L)
+                .categoryIds(List.of(10L))
+                .build();
+    }
+}
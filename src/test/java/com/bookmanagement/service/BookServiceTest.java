@@ -1,11 +1,22 @@
 package com.bookmanagement.service;
 
+import com.bookmanagement.bitmap.BookBitmapIndex;
+import com.bookmanagement.cache.BookCountCache;
+import com.bookmanagement.cache.BookCountCache.CachedCount;
+import com.bookmanagement.cache.BookPageCache;
+import com.bookmanagement.columnar.ColumnarBookEngine;
+import com.bookmanagement.columnar.ColumnarCatalogue.ScanResult;
 import com.bookmanagement.dto.*;
 import com.bookmanagement.entity.*;
+import com.bookmanagement.enums.MatchMode;
+import com.bookmanagement.enums.TotalType;
+import com.bookmanagement.event.BookChangedEvent;
 import com.bookmanagement.exception.*;
 import com.bookmanagement.mapper.BookMapper;
 import com.bookmanagement.repository.*;
 import com.bookmanagement.service.impl.BookServiceImpl;
+import com.bookmanagement.specification.BookFilter;
+import com.bookmanagement.utils.BookCursor;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +25,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -41,6 +54,21 @@ class BookServiceTest {
     @Mock
     private BookMapper bookMapper;
     
+    @Mock
+    private BookCountCache bookCountCache;
+    
+    @Mock
+    private BookPageCache bookPageCache;
+    
+    @Mock
+    private BookBitmapIndex bookBitmapIndex;
+    
+    @Mock
+    private ColumnarBookEngine columnarBookEngine;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private BookServiceImpl bookService;
     
@@ -141,8 +169,10 @@ void testGetAllBooks_Success() {
             //.author(AuthorSummaryDTO.builder().id(1L).name("Robert C. Martin").build())
             .build();
 
-    when(bookRepository.findAll(any(Specification.class), any(Pageable.class)))
-            .thenReturn(bookPage);
+    when(bookRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+            .thenReturn(List.of(1L));
+    when(bookRepository.findAllWithDetailsByIdIn(List.of(1L)))
+            .thenReturn(bookPage.getContent());
 
     // Mock the correct mapper method (toPaginationDTO, not toDTO)
     when(bookMapper.toPaginationDTO(any(Book.class)))
@@ -165,7 +195,11 @@ void testGetAllBooks_Success() {
     //assertThat(result.getContent().get(0).getAuthor()).isEqualTo(AuthorSummaryDTO.builder().id(1L).name("Robert C. Martin").build());
 
     verify(bookRepository, times(1))
-            .findAll(any(Specification.class), any(Pageable.class));
+            .findIds(any(Specification.class), any(Sort.class), eq(0L), eq(20));
+    verify(bookRepository, times(1))
+            .findAllWithDetailsByIdIn(List.of(1L));
+    // a short first page already tells the total
+    verify(bookRepository, never()).count(any(Specification.class));
 
     verify(bookMapper, times(1))
             .toPaginationDTO(any(Book.class));
@@ -188,8 +222,10 @@ void testGetAllBooks_Success() {
             //.author(AuthorSummaryDTO.builder().id(1L).name("Robert C. Martin").build())
             .build();
 
-    when(bookRepository.findAll(any(Specification.class), any(Pageable.class)))
-            .thenReturn(bookPage);
+    when(bookRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+            .thenReturn(List.of(1L));
+    when(bookRepository.findAllWithDetailsByIdIn(List.of(1L)))
+            .thenReturn(bookPage.getContent());
 
     // Mock the correct mapper method (toPaginationDTO, not toDTO)
     when(bookMapper.toPaginationDTO(any(Book.class)))
@@ -204,16 +240,15 @@ void testGetAllBooks_Success() {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getTotalElements()).isEqualTo(1);
-        verify(bookRepository, times(1)).findAll(any(Specification.class), any(Pageable.class));
+        verify(bookRepository, times(1)).findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt());
     }
     
     @Test
     @DisplayName("Should return empty page when no books found")
     void testGetAllBooks_EmptyResult() {
         // Arrange
-        Page<Book> emptyPage = new PageImpl<>(Collections.emptyList());
-        when(bookRepository.findAll(any(Specification.class), any(Pageable.class)))
-                .thenReturn(emptyPage);
+        when(bookRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+                .thenReturn(Collections.emptyList());
         
         GetAllBookParamsDTO getAllBookParamsDTO = new GetAllBookParamsDTO(
                 0, 20, null, null, null, null, null, null, null
@@ -225,6 +260,304 @@ void testGetAllBooks_Success() {
         assertThat(result).isNotNull();
         assertThat(result.getTotalElements()).isZero();
         assertThat(result.getContent()).isEmpty();
+        verify(bookRepository, never()).findAllWithDetailsByIdIn(any());
+    }
+    
+    @Test
+    @DisplayName("Should skip the count query when a fresh total is cached")
+    void testGetAllBooks_CachedTotal() {
+        // Arrange
+        when(bookCountCache.get(any())).thenReturn(Optional.of(new CachedCount(42, true)));
+        when(bookRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt())).thenReturn(List.of(1L));
+        when(bookRepository.findAllWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(book));
+        when(bookMapper.toPaginationDTO(book)).thenReturn(bookPaginationDTO);
+        
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(1, 1, null, 1L, null, null, null, null, null);
+        
+        // Act
+        Page<BookPaginationDTO> result = bookService.getAllBooks(params);
+        
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(42);
+        assertThat(result.getContent()).containsExactly(bookPaginationDTO);
+        verify(bookRepository, never()).count(any(Specification.class));
+        verify(bookCountCache, never()).put(any(), anyLong(), anyLong());
+    }
+    
+    @Test
+    @DisplayName("Should cache the total counted by the offset listing")
+    void testGetAllBooks_StoresTotal() {
+        // Arrange
+        when(bookCountCache.generation()).thenReturn(3L);
+        when(bookRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt())).thenReturn(List.of(1L));
+        when(bookRepository.findAllWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(book));
+        when(bookRepository.count(any(Specification.class))).thenReturn(5L);
+        when(bookMapper.toPaginationDTO(book)).thenReturn(bookPaginationDTO);
+        
+        // ratingMin 0 filters nothing, so it normalizes away
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(0, 1, null, 1L, 0.0, null, null, null, null);
+        
+        // Act
+        Page<BookPaginationDTO> result = bookService.getAllBooks(params);
+        
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        verify(bookCountCache).put(new BookFilter(Set.of(), Set.of(1L), MatchMode.ANY, null, null, null, null), 5L, 3L);
+    }
+    
+    @Test
+    @DisplayName("Should serve a cached page without touching the database")
+    void testGetAllBooks_CachedPage() {
+        // Arrange
+        Page<BookPaginationDTO> cachedPage = new PageImpl<>(List.of(bookPaginationDTO));
+        when(bookPageCache.get(any(), any())).thenReturn(Optional.of(cachedPage));
+        
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(0, 10, null, 1L, null, null, null, null, null);
+        
+        // Act
+        Page<BookPaginationDTO> result = bookService.getAllBooks(params);
+        
+        // Assert
+        assertThat(result).isSameAs(cachedPage);
+        verifyNoInteractions(bookRepository, bookBitmapIndex, columnarBookEngine);
+        verify(bookPageCache, never()).put(any(), any(), any(), anyLong());
+    }
+    
+    @Test
+    @DisplayName("Should keep accepting offset page sizes above the slice and cursor limit")
+    void testGetAllBooks_LargeSize() {
+        // Arrange
+        Page<BookPaginationDTO> cachedPage = new PageImpl<>(List.of(bookPaginationDTO));
+        when(bookPageCache.get(any(), any())).thenReturn(Optional.of(cachedPage));
+        
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(0, 500, null, null, null, null, null, null, null);
+        
+        // Act
+        bookService.getAllBooks(params);
+        
+        // Assert
+        verify(bookPageCache).get(any(), argThat(pageable -> pageable.getPageSize() == 500));
+    }
+    
+    @Test
+    @DisplayName("Should cache a loaded page under its normalized filter")
+    void testGetAllBooks_StoresPage() {
+        // Arrange
+        when(bookPageCache.writes()).thenReturn(7L);
+        when(bookRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt())).thenReturn(List.of(1L));
+        when(bookRepository.findAllWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(book));
+        when(bookMapper.toPaginationDTO(book)).thenReturn(bookPaginationDTO);
+        
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(0, 10, null, 1L, 0.0, 5.0, null, null, null);
+        
+        // Act
+        Page<BookPaginationDTO> result = bookService.getAllBooks(params);
+        
+        // Assert
+        BookFilter filter = new BookFilter(Set.of(), Set.of(1L), MatchMode.ANY, null, null, null, null);
+        verify(bookPageCache).put(eq(filter), eq(result.getPageable()), eq(result), eq(7L));
+    }
+    
+    @Test
+    @DisplayName("Should page author and category filters from the bitmap index without SQL")
+    void testGetAllBooks_BitmapPage() {
+        // Arrange
+        when(bookBitmapIndex.resolve(any())).thenReturn(Optional.of(Roaring64Bitmap.bitmapOf(1L, 4L, 9L)));
+        book.setId(4L);
+        when(bookRepository.findAllWithDetailsByIdIn(List.of(4L))).thenReturn(List.of(book));
+        when(bookMapper.toPaginationDTO(book)).thenReturn(bookPaginationDTO);
+        
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(1, 1, null, null, null, null, null, null, null, null,
+                null, List.of(1L, 2L), MatchMode.ALL);
+        
+        // Act
+        Page<BookPaginationDTO> result = bookService.getAllBooks(params);
+        
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getContent()).containsExactly(bookPaginationDTO);
+        verify(bookRepository, never()).findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+        verify(bookRepository, never()).count(any(Specification.class));
+    }
+    
+    @Test
+    @DisplayName("Should inline bitmap ids into the query when range filters also apply")
+    void testGetAllBooks_BitmapWithRangeFilter() {
+        // Arrange
+        when(bookBitmapIndex.resolve(any())).thenReturn(Optional.of(Roaring64Bitmap.bitmapOf(1L, 4L)));
+        when(bookBitmapIndex.maxInlinedIds()).thenReturn(100);
+        when(bookRepository.findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt())).thenReturn(List.of(1L));
+        when(bookRepository.findAllWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(book));
+        when(bookRepository.count(any(Specification.class))).thenReturn(1L);
+        when(bookMapper.toPaginationDTO(book)).thenReturn(bookPaginationDTO);
+        
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(0, 1, null, 1L, 3.0, null, null, null, null);
+        
+        // Act
+        Page<BookPaginationDTO> result = bookService.getAllBooks(params);
+        
+        // Assert
+        assertThat(result.getContent()).containsExactly(bookPaginationDTO);
+        verify(bookRepository).findIds(any(Specification.class), any(Sort.class), eq(0L), eq(1));
+    }
+    
+    @Test
+    @DisplayName("Should serve the page and exact total from the columnar engine when it is on")
+    void testGetAllBooks_ColumnarScan() {
+        // Arrange
+        when(columnarBookEngine.scan(any(), any(Sort.class), isNull(), eq(20L), eq(20)))
+                .thenReturn(Optional.of(new ScanResult(List.of(1L), 21)));
+        when(bookRepository.findAllWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(book));
+        when(bookMapper.toPaginationDTO(book)).thenReturn(bookPaginationDTO);
+        
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(1, 20, null, null, 2.5, null, null, null, "publishedDate,desc");
+        
+        // Act
+        Page<BookPaginationDTO> result = bookService.getAllBooks(params);
+        
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(21);
+        assertThat(result.getContent()).containsExactly(bookPaginationDTO);
+        verify(bookRepository, never()).findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+        verify(bookRepository, never()).count(any(Specification.class));
+        verifyNoInteractions(bookBitmapIndex, bookCountCache);
+    }
+    
+    @Test
+    @DisplayName("Should return an empty page without SQL when no book matches the bitmaps")
+    void testGetAllBooks_BitmapEmpty() {
+        // Arrange
+        when(bookBitmapIndex.resolve(any())).thenReturn(Optional.of(new Roaring64Bitmap()));
+        
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(0, 10, 7L, null, 3.0, null, null, null, "title");
+        
+        // Act
+        Page<BookPaginationDTO> result = bookService.getAllBooks(params);
+        
+        // Assert
+        assertThat(result.getTotalElements()).isZero();
+        verifyNoMoreInteractions(bookRepository);
+    }
+    
+    // ==================== SLICE PAGINATION TESTS ====================
+    
+    @Test
+    @DisplayName("Should list a slice without counting and flag stale totals as estimates")
+    void testGetAllBooksSlice_EstimatedTotal() {
+        // Arrange
+        Book second = Book.builder().id(2L).title("Refactoring").build();
+        when(bookRepository.findIds(any(Specification.class), any(Sort.class), eq(0L), eq(2))).thenReturn(List.of(1L, 2L));
+        when(bookRepository.findAllWithDetailsByIdIn(List.of(1L, 2L))).thenReturn(List.of(second, book));
+        when(bookCountCache.get(any())).thenReturn(Optional.of(new CachedCount(10, false)));
+        when(bookMapper.toPaginationDTO(book)).thenReturn(bookPaginationDTO);
+        
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(0, 1, null, null, null, null, null, null, null);
+        
+        // Act
+        var result = bookService.getAllBooksSlice(params);
+        
+        // Assert
+        assertThat(result.content()).containsExactly(bookPaginationDTO);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.total()).isEqualTo(10);
+        assertThat(result.totalType()).isEqualTo(TotalType.ESTIMATED);
+        verify(bookRepository, never()).count(any(Specification.class));
+    }
+    
+    @Test
+    @DisplayName("Should omit the total when none is cached")
+    void testGetAllBooksSlice_OmittedTotal() {
+        // Arrange
+        when(bookRepository.findIds(any(Specification.class), any(Sort.class), eq(60L), eq(21))).thenReturn(List.of());
+        
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(3, 20, null, null, null, null, null, null, null);
+        
+        // Act
+        var result = bookService.getAllBooksSlice(params);
+        
+        // Assert
+        assertThat(result.content()).isEmpty();
+        assertThat(result.page()).isEqualTo(3);
+        assertThat(result.total()).isNull();
+        assertThat(result.totalType()).isEqualTo(TotalType.OMITTED);
+        assertThat(result.hasNext()).isFalse();
+    }
+    
+    // ==================== KEYSET PAGINATION TESTS ====================
+    
+    @Test
+    @DisplayName("Should return next cursor when more books exist")
+    void testGetAllBooksByCursor_HasNextPage() {
+        // Arrange
+        Book second = Book.builder().id(2L).title("Refactoring").isbn("978-0201485677").build();
+        when(bookRepository.findIds(any(Specification.class), any(Sort.class), eq(0L), eq(2))).thenReturn(List.of(1L, 2L));
+        when(bookRepository.findAllWithDetailsByIdIn(List.of(1L, 2L))).thenReturn(List.of(second, book));
+        when(bookMapper.toPaginationDTO(book)).thenReturn(bookPaginationDTO);
+        
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(
+                null, 1, null, null, null, null, null, null, "title,asc", null
+        );
+        
+        // Act
+        var result = bookService.getAllBooksByCursor(params);
+        
+        // Assert
+        assertThat(result.content()).containsExactly(bookPaginationDTO);
+        assertThat(result.total()).isNull();
+        assertThat(result.nextCursor()).isNotNull();
+        
+        BookCursor cursor = BookCursor.decode(result.nextCursor());
+        assertThat(cursor.property()).isEqualTo("title");
+        assertThat(cursor.value()).isEqualTo("Clean Code");
+        assertThat(cursor.id()).isEqualTo(1L);
+    }
+    
+    @Test
+    @DisplayName("Should return no cursor on the last page")
+    void testGetAllBooksByCursor_LastPage() {
+        // Arrange
+        String cursor = new BookCursor("id", Sort.Direction.ASC, 1L, 1L).encode();
+        when(bookRepository.findIds(any(Specification.class), any(Sort.class), eq(0L), eq(21))).thenReturn(List.of(1L));
+        when(bookRepository.findAllWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(book));
+        when(bookMapper.toPaginationDTO(book)).thenReturn(bookPaginationDTO);
+        
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(
+                null, 20, null, null, null, null, null, null, null, cursor
+        );
+        
+        // Act
+        var result = bookService.getAllBooksByCursor(params);
+        
+        // Assert
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.nextCursor()).isNull();
+    }
+    
+    @Test
+    @DisplayName("Should reject a cursor issued for another sort order")
+    void testGetAllBooksByCursor_SortMismatch() {
+        // Arrange
+        String cursor = new BookCursor("title", Sort.Direction.ASC, "Clean Code", 1L).encode();
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(
+                null, 20, null, null, null, null, null, null, "isbn", cursor
+        );
+        
+        // Act & Assert
+        assertThatThrownBy(() -> bookService.getAllBooksByCursor(params))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(bookRepository, never()).findIds(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+    }
+    
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void testGetAllBooksByCursor_InvalidCursor() {
+        GetAllBookParamsDTO params = new GetAllBookParamsDTO(
+                null, 20, null, null, null, null, null, null, null, "not-a-cursor"
+        );
+        
+        assertThatThrownBy(() -> bookService.getAllBooksByCursor(params))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
     }
     
     // ==================== GET BOOK BY ID TESTS ====================
@@ -271,6 +604,35 @@ void testGetAllBooks_Success() {
                 .isInstanceOf(Exception.class);
     }
     
+    @Test
+    @DisplayName("Should read the rating histogram from the book row")
+    void testGetRatingHistogram_Success() {
+        // Arrange
+        RatingHistogram histogram = RatingHistogram.builder().fiveStars(2L).oneStar(1L).build();
+        RatingHistogramDTO histogramDTO = RatingHistogramDTO.builder().reviewCount(3L).build();
+        when(bookRepository.findRatingHistogramById(1L)).thenReturn(Optional.of(histogram));
+        when(bookMapper.toRatingHistogramDTO(histogram)).thenReturn(histogramDTO);
+        
+        // Act
+        RatingHistogramDTO result = bookService.getRatingHistogram(1L);
+        
+        // Assert
+        assertThat(result.getReviewCount()).isEqualTo(3L);
+        verify(bookRepository, never()).findByIdWithDetails(any());
+    }
+    
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException for the histogram of a missing book")
+    void testGetRatingHistogram_NotFound() {
+        // Arrange
+        when(bookRepository.findRatingHistogramById(999L)).thenReturn(Optional.empty());
+        
+        // Act & Assert
+        assertThatThrownBy(() -> bookService.getRatingHistogram(999L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Book not found with id: 999");
+    }
+    
     // ==================== CREATE BOOK TESTS ====================
     
     @Test
@@ -296,6 +658,7 @@ void testGetAllBooks_Success() {
         verify(authorRepository, times(1)).findById(1L);
         verify(categoryRepository, times(1)).findById(1L);
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(eventPublisher).publishEvent(new BookChangedEvent(1L, BookChangedEvent.ChangeType.CREATED));
     }
     
     @Test
@@ -498,6 +861,7 @@ void testGetAllBooks_Success() {
         // Assert
         verify(bookRepository, times(1)).existsById(1L);
         verify(bookRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(new BookChangedEvent(1L, BookChangedEvent.ChangeType.DELETED));
     }
     
     @Test
@@ -522,4 +886,20 @@ void testGetAllBooks_Success() {
         assertThatThrownBy(() -> bookService.deleteBook(null))
                 .isInstanceOf(Exception.class);
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Should reject slice and cursor page sizes outside 1..100")
+    void testGetAllBooksSliceAndCursor_InvalidSize() {
+        // Act & Assert
+        for (int size : new int[]{0, -1, 101}) {
+            GetAllBookParamsDTO params = new GetAllBookParamsDTO(null, size, null, null, null, null, null, null, null);
+            assertThatThrownBy(() -> bookService.getAllBooksByCursor(params))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("between 1 and 100");
+            assertThatThrownBy(() -> bookService.getAllBooksSlice(params))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("between 1 and 100");
+        }
+        verifyNoInteractions(bookRepository);
+    }
+}
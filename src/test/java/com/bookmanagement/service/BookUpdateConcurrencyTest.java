@@ -0,0 +1,121 @@
+package com.bookmanagement.service;
+
+import com.bookmanagement.bitmap.BookBitmapIndex;
+import com.bookmanagement.cache.BookCountCache;
+import com.bookmanagement.cache.BookPageCache;
+import com.bookmanagement.columnar.ColumnarBookEngine;
+import com.bookmanagement.dto.NewBookDTO;
+import com.bookmanagement.entity.Author;
+import com.bookmanagement.entity.Book;
+import com.bookmanagement.mapper.BookMapperImpl;
+import com.bookmanagement.repository.AuthorRepository;
+import com.bookmanagement.repository.BookRepository;
+import com.bookmanagement.service.impl.BookServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Runs a book edit against an in-memory database while a review commits its rating in between, so an edit
+ * writing back the aggregates it loaded shows up as a lost review
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({BookServiceImpl.class, BookMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Book update concurrency Tests")
+class BookUpdateConcurrencyTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @SpyBean
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private BookCountCache bookCountCache;
+
+    @MockBean
+    private BookPageCache bookPageCache;
+
+    @MockBean
+    private BookBitmapIndex bookBitmapIndex;
+
+    @MockBean
+    private ColumnarBookEngine columnarBookEngine;
+
+    private TransactionTemplate transactionTemplate;
+    private Author author;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            author = Author.builder().name("Ursula K. Le Guin").email("concurrency@example.com").build();
+            entityManager.persist(author);
+            book = Book.builder().title("The Dispossessed").isbn("9780061054884").author(author).build();
+            entityManager.persist(book);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            bookRepository.deleteAllInBatch();
+            authorRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep a rating committed between loading and saving an edited book")
+    void testUpdateBook_KeepsConcurrentRating() {
+        // Arrange: the author lookup runs after the book is loaded, so a review commits its five stars there
+        TransactionTemplate review = new TransactionTemplate(transactionManager);
+        review.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        doAnswer(invocation -> {
+            review.executeWithoutResult(status -> bookRepository.applyReviewRating(book.getId(), 5, 0));
+            return Optional.ofNullable(entityManager.find(Author.class, invocation.getArgument(0)));
+        }).when(authorRepository).findById(any());
+        NewBookDTO edit = NewBookDTO.builder().title("The Dispossessed: An Ambiguous Utopia").authorId(author.getId()).build();
+
+        // Act
+        bookService.updateBook(book.getId(), edit);
+
+        // Assert
+        Book stored = transactionTemplate.execute(status -> bookRepository.findById(book.getId()).orElseThrow());
+        assertThat(stored.getTitle()).isEqualTo("The Dispossessed: An Ambiguous Utopia");
+        assertThat(stored.getReviewCount()).isEqualTo(1);
+        assertThat(stored.getRatingSum()).isEqualTo(5);
+        assertThat(stored.getRating()).isEqualTo(5.0);
+        assertThat(stored.getRatingHistogram().getFiveStars()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,150 @@
+package com.bookmanagement.service;
+
+import com.bookmanagement.dto.BookMinimalDTO;
+import com.bookmanagement.dto.UserReviewDTO;
+import com.bookmanagement.entity.User;
+import com.bookmanagement.exception.ResourceNotFoundException;
+import com.bookmanagement.repository.ReviewRepository;
+import com.bookmanagement.repository.UserRepository;
+import com.bookmanagement.security.AuthenticatedUser;
+import com.bookmanagement.service.impl.ReviewExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReviewExportService Tests")
+class ReviewExportServiceTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private ReviewExportServiceImpl reviewExportService;
+
+    private final UserDetails reader = new AuthenticatedUser(1L, "reader", "reader@example.com", "secret",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    private final UserDetails admin = new AuthenticatedUser(2L, "admin", "admin@example.com", "secret",
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        reviewExportService = new ReviewExportServiceImpl(reviewRepository, userRepository, objectMapper, 2);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON line per review across batches")
+    void testExportReviewsByUserId() throws IOException {
+        // Arrange
+        when(userRepository.existsById(1L)).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<List<UserReviewDTO>> consumer = invocation.getArgument(3);
+            consumer.accept(List.of(row(3L, "Dune"), row(2L, "Emma")));
+            consumer.accept(List.of(row(1L, "Ulysses")));
+            return null;
+        }).when(reviewRepository).forEachUserReviewBatch(any(Specification.class), any(Sort.class), eq(2), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        reviewExportService.exportReviewsByUserId(1L, reader, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"id\":3", "\"book\":{\"id\":30,\"title\":\"Dune\"}").doesNotContain("user");
+        assertThat(lines[2]).contains("\"title\":\"Ulysses\"");
+    }
+
+    @Test
+    @DisplayName("Should fail before writing anything when the user does not exist")
+    void testExportReviewsByUserId_UserNotFound() {
+        // Arrange
+        when(userRepository.existsById(99L)).thenReturn(false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        assertThatThrownBy(() -> reviewExportService.exportReviewsByUserId(99L, admin, out))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(out.size()).isZero();
+        verifyNoInteractions(reviewRepository);
+    }
+
+    @Test
+    @DisplayName("Should refuse to export another user's reviews before writing anything")
+    void testExportReviewsByUserId_OtherUser() {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        assertThatThrownBy(() -> reviewExportService.exportReviewsByUserId(3L, reader, out))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThat(out.size()).isZero();
+        verifyNoInteractions(reviewRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("Should let an admin export any user's reviews")
+    void testExportReviewsByUserId_Admin() throws IOException {
+        // Arrange
+        when(userRepository.existsById(3L)).thenReturn(true);
+
+        // Act
+        reviewExportService.exportReviewsByUserId(3L, admin, new ByteArrayOutputStream());
+
+        // Assert
+        verify(reviewRepository).forEachUserReviewBatch(any(Specification.class), any(Sort.class), eq(2), any());
+    }
+
+    @Test
+    @DisplayName("Should match a principal without an id by username")
+    void testExportReviewsByUserId_StatelessPrincipal() throws IOException {
+        // Arrange: stateless tokens build the principal from claims, without the user id
+        UserDetails fromClaims = org.springframework.security.core.userdetails.User.withUsername("reader")
+                .password("")
+                .roles("USER")
+                .build();
+        when(userRepository.findByUsername("reader")).thenReturn(Optional.of(User.builder().id(1L).username("reader").build()));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        reviewExportService.exportReviewsByUserId(1L, fromClaims, out);
+        assertThatThrownBy(() -> reviewExportService.exportReviewsByUserId(3L, fromClaims, out))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private UserReviewDTO row(Long id, String title) {
+        return UserReviewDTO.builder()
+                .id(id)
+                .rating(4)
+                .comment("Worth it")
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .book(BookMinimalDTO.builder().id(id * 10).title(title).build())
+                .build();
+    }
+}
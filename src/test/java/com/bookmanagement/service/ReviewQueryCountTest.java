@@ -0,0 +1,141 @@
+package com.bookmanagement.service;
+
+import com.bookmanagement.dto.ReviewDTO;
+import com.bookmanagement.dto.UpdateReviewDTO;
+import com.bookmanagement.entity.*;
+import com.bookmanagement.enums.ReviewSort;
+import com.bookmanagement.mapper.ReviewMapperImpl;
+import com.bookmanagement.service.impl.ReviewServiceImpl;
+import com.bookmanagement.utils.PagedResponse;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Counts the statements behind review responses against an in-memory database, so a lazy association
+ * touched per review shows up as a count that grows with the page size
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({ReviewServiceImpl.class, ReviewMapperImpl.class})
+@DisplayName("Review query count Tests")
+class ReviewQueryCountTest {
+
+    private static final int REVIEWS = 30;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Book book;
+    private Long firstReviewId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        Role role = Role.builder().name("ROLE_QUERY_COUNT").build();
+        entityManager.persist(role);
+        Author author = Author.builder().name("Ursula K. Le Guin").email("query-count@example.com").build();
+        entityManager.persist(author);
+        book = Book.builder().title("The Dispossessed").isbn("9780061054884").author(author).build();
+        entityManager.persist(book);
+
+        // every review by a different user, each with roles, so per-review loading cannot hide in the cache
+        for (int i = 0; i < REVIEWS; i++) {
+            User user = User.builder()
+                    .username("reader" + i)
+                    .email("reader" + i + "@example.com")
+                    .password("secret")
+                    .build();
+            user.getRoles().add(role);
+            entityManager.persist(user);
+            Review review = Review.builder().book(book).user(user).rating(1 + i % 5).comment("Review " + i).build();
+            entityManager.persist(review);
+            if (firstReviewId == null) {
+                firstReviewId = review.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should read a page of reviews with a statement count independent of the page size")
+    void testGetReviewsByBookId_StatementsDoNotGrowWithPageSize() {
+        // Act
+        long small = statementsFor(() -> reviewService.getReviewsByBookId(book.getId(), 2, ReviewSort.NEWEST, null));
+        long large = statementsFor(() -> reviewService.getReviewsByBookId(book.getId(), REVIEWS, ReviewSort.NEWEST, null));
+
+        // Assert
+        assertThat(large).isEqualTo(small).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should read a page of a user's reviews with a statement count independent of the page size")
+    void testGetReviewsByUserId_StatementsDoNotGrowWithPageSize() {
+        // Arrange: one user reviewing many different books
+        Review first = entityManager.find(Review.class, firstReviewId);
+        for (int i = 0; i < REVIEWS; i++) {
+            Book other = Book.builder().title("Book " + i).isbn("isbn-" + i).author(first.getBook().getAuthor()).build();
+            entityManager.persist(other);
+            entityManager.persist(Review.builder().book(other).user(first.getUser()).rating(4).comment("Again").build());
+        }
+        entityManager.flush();
+        Long userId = first.getUser().getId();
+
+        // Act
+        long small = statementsFor(() -> reviewService.getReviewsByUserId(userId, 2, null));
+        long large = statementsFor(() -> reviewService.getReviewsByUserId(userId, REVIEWS, null));
+
+        // Assert
+        assertThat(large).isEqualTo(small).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fill the book title and username of every review")
+    void testGetReviewsByBookId_Projection() {
+        // Act
+        PagedResponse<ReviewDTO> page = reviewService.getReviewsByBookId(book.getId(), REVIEWS, ReviewSort.HIGHEST, null);
+
+        // Assert
+        assertThat(page.content()).hasSize(REVIEWS);
+        assertThat(page.content()).allSatisfy(review -> {
+            assertThat(review.getBook().getTitle()).isEqualTo("The Dispossessed");
+            assertThat(review.getUser().getUsername()).startsWith("reader");
+        });
+        assertThat(page.content().get(0).getRating()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should load a review with its book and user in one statement when updating a comment")
+    void testUpdateReview_SingleSelect() {
+        // Act
+        long statements = statementsFor(() -> {
+            reviewService.updateReview(firstReviewId, UpdateReviewDTO.builder().comment("Edited").build());
+            entityManager.flush();
+        });
+
+        // Assert: the select and the update
+        assertThat(statements).isEqualTo(2);
+    }
+
+    private long statementsFor(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
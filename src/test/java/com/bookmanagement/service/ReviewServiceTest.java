@@ -3,11 +3,18 @@ package com.bookmanagement.service;
 import com.bookmanagement.dto.NewReviewDTO;
 import com.bookmanagement.dto.ReviewDTO;
 import com.bookmanagement.dto.UpdateReviewDTO;
+import com.bookmanagement.dto.UserReviewDTO;
 import com.bookmanagement.entity.*;
+import com.bookmanagement.enums.ReviewSort;
+import com.bookmanagement.enums.TotalType;
+import com.bookmanagement.event.BookChangedEvent;
 import com.bookmanagement.exception.ResourceNotFoundException;
 import com.bookmanagement.mapper.ReviewMapper;
 import com.bookmanagement.repository.*;
 import com.bookmanagement.service.impl.ReviewServiceImpl;
+import com.bookmanagement.specification.ReviewSpecification;
+import com.bookmanagement.utils.PagedResponse;
+import com.bookmanagement.utils.ReviewCursor;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,11 +23,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +51,9 @@ class ReviewServiceTest {
     @Mock
     private ReviewMapper reviewMapper;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private ReviewServiceImpl reviewService;
     
@@ -90,18 +105,102 @@ class ReviewServiceTest {
     }
     
     @Test
-    @DisplayName("Should get reviews by book ID successfully")
+    @DisplayName("Should get the first page of reviews by book ID with the stored review count as total")
     void testGetReviewsByBookId_Success() {
         // Arrange
-        when(reviewRepository.findByBookId(1L)).thenReturn(List.of(review));
-        when(reviewMapper.toDTO(review)).thenReturn(reviewDTO);
+        when(bookRepository.findReviewCountById(1L)).thenReturn(Optional.of(1L));
+        when(reviewRepository.findPage(any(), eq(ReviewSpecification.sortOf(ReviewSort.NEWEST)), eq(21)))
+                .thenReturn(List.of(reviewDTO));
         
         // Act
-        List<ReviewDTO> result = reviewService.getReviewsByBookId(1L);
+        PagedResponse<ReviewDTO> result = reviewService.getReviewsByBookId(1L, null, null, null);
         
         // Assert
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getRating()).isEqualTo(5);
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.content().get(0).getRating()).isEqualTo(5);
+        assertThat(result.total()).isEqualTo(1L);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+    }
+    
+    @Test
+    @DisplayName("Should return a cursor after the last review when another page exists")
+    void testGetReviewsByBookId_NextCursor() {
+        // Arrange
+        ReviewDTO older = ReviewDTO.builder().id(2L).rating(3)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0)).build();
+        reviewDTO.setCreatedAt(LocalDateTime.of(2024, 2, 1, 12, 0));
+        when(bookRepository.findReviewCountById(1L)).thenReturn(Optional.of(2L));
+        when(reviewRepository.findPage(any(), eq(ReviewSpecification.sortOf(ReviewSort.HIGHEST)), eq(2)))
+                .thenReturn(List.of(reviewDTO, older));
+        
+        // Act
+        PagedResponse<ReviewDTO> result = reviewService.getReviewsByBookId(1L, 1, ReviewSort.HIGHEST, null);
+        
+        // Assert
+        assertThat(result.content()).containsExactly(reviewDTO);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(ReviewCursor.decode(result.nextCursor()))
+                .isEqualTo(new ReviewCursor(ReviewSort.HIGHEST, 5, LocalDateTime.of(2024, 2, 1, 12, 0), 1L));
+    }
+    
+    @Test
+    @DisplayName("Should reject a cursor issued for another sort order")
+    void testGetReviewsByBookId_CursorSortMismatch() {
+        // Arrange
+        String cursor = new ReviewCursor(ReviewSort.NEWEST, null, LocalDateTime.of(2024, 1, 1, 0, 0), 1L).encode();
+        when(bookRepository.findReviewCountById(1L)).thenReturn(Optional.of(1L));
+        
+        // Act & Assert
+        assertThatThrownBy(() -> reviewService.getReviewsByBookId(1L, null, ReviewSort.LOWEST, cursor))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(reviewRepository, never()).findPage(any(), any(), anyInt());
+    }
+    
+    @Test
+    @DisplayName("Should throw exception when listing reviews of a missing book")
+    void testGetReviewsByBookId_BookNotFound() {
+        // Arrange
+        when(bookRepository.findReviewCountById(99L)).thenReturn(Optional.empty());
+        
+        // Act & Assert
+        assertThatThrownBy(() -> reviewService.getReviewsByBookId(99L, null, null, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+    
+    @Test
+    @DisplayName("Should page a user's reviews newest first without a total")
+    void testGetReviewsByUserId_Success() {
+        // Arrange
+        UserReviewDTO newer = UserReviewDTO.builder().id(7L).rating(4)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 9, 0)).build();
+        UserReviewDTO older = UserReviewDTO.builder().id(3L).rating(2)
+                .createdAt(LocalDateTime.of(2024, 4, 1, 9, 0)).build();
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(reviewRepository.findUserReviewPage(any(), eq(ReviewSpecification.sortOf(ReviewSort.NEWEST)), eq(2)))
+                .thenReturn(List.of(newer, older));
+        
+        // Act
+        PagedResponse<UserReviewDTO> result = reviewService.getReviewsByUserId(1L, 1, null);
+        
+        // Assert
+        assertThat(result.content()).containsExactly(newer);
+        assertThat(result.total()).isNull();
+        assertThat(result.totalType()).isEqualTo(TotalType.OMITTED);
+        assertThat(ReviewCursor.decode(result.nextCursor()))
+                .isEqualTo(new ReviewCursor(ReviewSort.NEWEST, null, LocalDateTime.of(2024, 5, 1, 9, 0), 7L));
+    }
+    
+    @Test
+    @DisplayName("Should throw exception when listing reviews of a missing user")
+    void testGetReviewsByUserId_UserNotFound() {
+        // Arrange
+        when(userRepository.existsById(99L)).thenReturn(false);
+        
+        // Act & Assert
+        assertThatThrownBy(() -> reviewService.getReviewsByUserId(99L, null, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(reviewRepository);
     }
     
     @Test
@@ -112,7 +211,6 @@ class ReviewServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(reviewMapper.toEntity(newReviewDTO)).thenReturn(review);
         when(reviewRepository.save(any(Review.class))).thenReturn(review);
-        when(bookRepository.save(any(Book.class))).thenReturn(book);
         when(reviewMapper.toDTO(review)).thenReturn(reviewDTO);
         
         // Act
@@ -121,7 +219,9 @@ class ReviewServiceTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getRating()).isEqualTo(5);
-        verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookRepository).applyReviewRating(1L, 5, 0);
+        verify(bookRepository, never()).save(any(Book.class));
+        verify(eventPublisher).publishEvent(new BookChangedEvent(1L, BookChangedEvent.ChangeType.RATING_CHANGED));
     }
     
     @Test
@@ -140,9 +240,8 @@ class ReviewServiceTest {
     @DisplayName("Should update review successfully")
     void testUpdateReview_Success() {
         // Arrange
-        when(reviewRepository.findById(1L)).thenReturn(Optional.of(review));
+        when(reviewRepository.findByIdWithDetails(1L)).thenReturn(Optional.of(review));
         when(reviewRepository.save(any(Review.class))).thenReturn(review);
-        when(bookRepository.save(any(Book.class))).thenReturn(book);
         when(reviewMapper.toDTO(review)).thenReturn(reviewDTO);
         
         UpdateReviewDTO updateReviewDTO = UpdateReviewDTO.builder().rating(4).comment("Updated").build();
@@ -152,6 +251,26 @@ class ReviewServiceTest {
         
         // Assert
         assertThat(result).isNotNull();
+        verify(bookRepository).applyReviewRating(1L, 4, 5);
+        verify(eventPublisher).publishEvent(new BookChangedEvent(1L, BookChangedEvent.ChangeType.RATING_CHANGED));
+    }
+    
+    @Test
+    @DisplayName("Should leave the rating aggregates alone when only the comment changes")
+    void testUpdateReview_CommentOnly() {
+        // Arrange
+        when(reviewRepository.findByIdWithDetails(1L)).thenReturn(Optional.of(review));
+        when(reviewRepository.save(any(Review.class))).thenReturn(review);
+        when(reviewMapper.toDTO(review)).thenReturn(reviewDTO);
+        
+        UpdateReviewDTO updateReviewDTO = UpdateReviewDTO.builder().comment("Updated").build();
+        
+        // Act
+        reviewService.updateReview(1L, updateReviewDTO);
+        
+        // Assert
+        verify(bookRepository, never()).applyReviewRating(anyLong(), anyInt(), anyInt());
+        verifyNoInteractions(eventPublisher);
     }
     
     @Test
@@ -159,13 +278,12 @@ class ReviewServiceTest {
     void testDeleteReview_Success() {
         // Arrange
         when(reviewRepository.findById(1L)).thenReturn(Optional.of(review));
-        when(bookRepository.save(any(Book.class))).thenReturn(book);
         
         // Act
         reviewService.deleteReview(1L);
         
         // Assert
         verify(reviewRepository, times(1)).deleteById(1L);
-        verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookRepository).applyReviewRating(1L, 0, 5);
     }
 }
\ No newline at end of file
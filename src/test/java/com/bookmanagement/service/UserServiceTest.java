@@ -3,20 +3,24 @@ package com.bookmanagement.service;
 import com.bookmanagement.dto.*;
 import com.bookmanagement.entity.Role;
 import com.bookmanagement.entity.User;
+import com.bookmanagement.event.UserChangedEvent;
 import com.bookmanagement.exception.*;
 import com.bookmanagement.mapper.UserMapper;
 import com.bookmanagement.repository.RoleRepository;
 import com.bookmanagement.repository.UserRepository;
+import com.bookmanagement.security.PasswordHasher;
 import com.bookmanagement.service.impl.UserServiceImpl;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.*;
 
@@ -38,7 +42,13 @@ class UserServiceTest {
     private UserMapper userMapper;
     
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
     
     @InjectMocks
     private UserServiceImpl userService;
@@ -128,7 +138,7 @@ class UserServiceTest {
         when(userRepository.findByEmail(userDTO.getEmail())).thenReturn(Optional.empty());
         when(roleRepository.findByName("USER")).thenReturn(Optional.of(userRole));
         when(userMapper.toEntity(any(NewUserDTO.class))).thenReturn(user);
-        when(passwordEncoder.encode(userDTO.getPassword())).thenReturn("encodedPassword");
+        when(passwordHasher.encode(userDTO.getPassword())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(userMapper.toResponseDTO(user)).thenReturn(userResponseDTO);
         
@@ -138,7 +148,12 @@ class UserServiceTest {
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getUsername()).isEqualTo("testuser");
-        verify(passwordEncoder, times(1)).encode(userDTO.getPassword());
+        // hashed before the transaction, which then commits
+        InOrder inOrder = inOrder(passwordHasher, transactionManager, userRepository);
+        inOrder.verify(passwordHasher).encode(userDTO.getPassword());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).save(user);
+        inOrder.verify(transactionManager).commit(any());
     }
     
     @Test
@@ -176,23 +191,50 @@ class UserServiceTest {
         
         UpdateUserDTO updateUserDTO = UpdateUserDTO.builder().username("newusername").build();
         
+        String previousUsername = user.getUsername();
+        
         // Act
         UserResponseDTO result = userService.updateUser(1L, updateUserDTO);
         
         // Assert
         assertThat(result).isNotNull();
+        verify(eventPublisher).publishEvent(new UserChangedEvent(user.getId(), previousUsername));
+        verifyNoInteractions(passwordHasher);
+    }
+    
+    @Test
+    @DisplayName("Should hash a new password before the update transaction begins")
+    void testUpdateUser_Password() {
+        // Arrange
+        when(passwordHasher.encode("newPassword")).thenReturn("newHash");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userMapper.toResponseDTO(user)).thenReturn(userResponseDTO);
+        
+        UpdateUserDTO updateUserDTO = UpdateUserDTO.builder().password("newPassword").build();
+        
+        // Act
+        userService.updateUser(1L, updateUserDTO);
+        
+        // Assert
+        assertThat(user.getPassword()).isEqualTo("newHash");
+        InOrder inOrder = inOrder(passwordHasher, transactionManager);
+        inOrder.verify(passwordHasher).encode("newPassword");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(transactionManager).commit(any());
     }
     
     @Test
     @DisplayName("Should delete user successfully")
     void testDeleteUser_Success() {
         // Arrange
-        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         
         // Act
         userService.deleteUser(1L);
         
         // Assert
-        verify(userRepository, times(1)).deleteById(1L);
+        verify(userRepository, times(1)).delete(user);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, user.getUsername()));
     }
 }
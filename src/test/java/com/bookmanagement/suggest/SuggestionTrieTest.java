@@ -0,0 +1,95 @@
+package com.bookmanagement.suggest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SuggestionTrie Tests")
+class SuggestionTrieTest {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie(3);
+        trie.upsertAll(List.of(
+                new Suggestion(1L, "The Hobbit", "978-0-261-10221-7", 4.2),
+                new Suggestion(2L, "The Hunger Games", "978-0-439-02352-8", 4.5),
+                new Suggestion(3L, "The Help", "978-0-399-15534-5", 3.9),
+                new Suggestion(4L, "Thérèse Raquin", "978-0-140-44120-6", 3.1),
+                new Suggestion(5L, "Dune", "978-0-441-17271-9", 4.8)
+        ));
+    }
+
+    @Test
+    @DisplayName("Should return prefix matches best rated first")
+    void testSuggest_Ranking() {
+        assertThat(trie.suggest("the h", 10)).extracting(Suggestion::bookId).containsExactly(2L, 1L, 3L);
+        assertThat(trie.suggest("THE HU", 10)).extracting(Suggestion::bookId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should cap suggestions at the limit and at top-k")
+    void testSuggest_Limit() {
+        assertThat(trie.suggest("the", 2)).extracting(Suggestion::bookId).containsExactly(2L, 1L);
+        assertThat(trie.suggest("the", 10)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should fold accents and match ISBNs without hyphens")
+    void testSuggest_Normalization() {
+        assertThat(trie.suggest("therese", 10)).extracting(Suggestion::bookId).containsExactly(4L);
+        assertThat(trie.suggest("9780441", 10)).extracting(Suggestion::bookId).containsExactly(5L);
+        assertThat(trie.suggest("978-0-441", 10)).extracting(Suggestion::bookId).containsExactly(5L);
+    }
+
+    @Test
+    @DisplayName("Should return nothing for an unknown prefix")
+    void testSuggest_NoMatch() {
+        assertThat(trie.suggest("xyz", 10)).isEmpty();
+        assertThat(trie.suggest("the hobbits", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reorder suggestions when a rating changes")
+    void testUpsert_RatingChange() {
+        trie.upsert(new Suggestion(3L, "The Help", "978-0-399-15534-5", 5.0));
+
+        assertThat(trie.suggest("the h", 10)).extracting(Suggestion::bookId).containsExactly(3L, 2L, 1L);
+        assertThat(trie.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should drop old keys when a title changes")
+    void testUpsert_TitleChange() {
+        trie.upsert(new Suggestion(1L, "There and Back Again", "978-0-261-10221-7", 4.2));
+
+        assertThat(trie.suggest("the hob", 10)).isEmpty();
+        assertThat(trie.suggest("there a", 10)).extracting(Suggestion::bookId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should keep the remaining keys reachable after removing books")
+    void testRemove() {
+        trie.remove(2L);
+        trie.remove(3L);
+
+        assertThat(trie.size()).isEqualTo(3);
+        assertThat(trie.suggest("the h", 10)).extracting(Suggestion::bookId).containsExactly(1L);
+        assertThat(trie.suggest("the hu", 10)).isEmpty();
+        assertThat(trie.suggest("th", 10)).extracting(Suggestion::bookId).containsExactly(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should list a book once even when title and ISBN share the prefix")
+    void testSuggest_Dedupe() {
+        trie.upsert(new Suggestion(6L, "978 Stories", "978-1-000-00000-0", 5.0));
+
+        assertThat(trie.suggest("978", 10)).extracting(Suggestion::bookId).startsWith(6L).doesNotHaveDuplicates();
+        assertThat(trie.footprintBytes()).isPositive();
+    }
+}
@@ -0,0 +1,45 @@
+package com.bookmanagement.utils;
+
+import com.bookmanagement.entity.Author;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AuthorCursor Tests")
+class AuthorCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip the position after an author")
+    void testEncodeDecode() {
+        AuthorCursor cursor = AuthorCursor.after(Author.builder().id(7L).name("Le Guin").build());
+
+        assertThat(AuthorCursor.decode(cursor.encode())).isEqualTo(new AuthorCursor("Le Guin", 7L));
+    }
+
+    @Test
+    @DisplayName("Should keep separators inside the name")
+    void testEncodeDecode_SeparatorInName() {
+        AuthorCursor cursor = new AuthorCursor("Smith | Jones", 3L);
+
+        assertThat(AuthorCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens")
+    void testDecode_Invalid() {
+        String missingName = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("12".getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("x|Le Guin".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> AuthorCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AuthorCursor.decode(missingName)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AuthorCursor.decode(badId))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
@@ -0,0 +1,69 @@
+package com.bookmanagement.utils;
+
+import com.bookmanagement.entity.Book;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BookCursor Tests")
+class BookCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip a date sort key")
+    void testEncodeDecode_PublishedDate() {
+        Book book = Book.builder().id(7L).publishedDate(LocalDate.of(2008, 8, 1)).build();
+
+        BookCursor cursor = BookCursor.after(book, Sort.Order.desc("publishedDate"));
+        BookCursor decoded = BookCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.value()).isEqualTo(LocalDate.of(2008, 8, 1));
+    }
+
+    @Test
+    @DisplayName("Should round-trip a null sort key")
+    void testEncodeDecode_NullValue() {
+        Book book = Book.builder().id(3L).build();
+
+        BookCursor decoded = BookCursor.decode(BookCursor.after(book, Sort.Order.asc("updatedAt")).encode());
+
+        assertThat(decoded.value()).isNull();
+        assertThat(decoded.id()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Should keep separators inside titles")
+    void testEncodeDecode_TitleWithSeparator() {
+        Book book = Book.builder().id(1L).title("Either | Or").build();
+
+        BookCursor decoded = BookCursor.decode(BookCursor.after(book, Sort.Order.asc("title")).encode());
+
+        assertThat(decoded.value()).isEqualTo("Either | Or");
+    }
+
+    @Test
+    @DisplayName("Should match only the sort order it was issued for")
+    void testMatches() {
+        BookCursor cursor = new BookCursor("createdAt", Sort.Direction.ASC, LocalDateTime.of(2024, 1, 1, 0, 0), 1L);
+
+        assertThat(cursor.matches(Sort.Order.asc("createdAt"))).isTrue();
+        assertThat(cursor.matches(Sort.Order.desc("createdAt"))).isFalse();
+        assertThat(cursor.matches(Sort.Order.asc("title"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown sort properties")
+    void testDecode_UnknownProperty() {
+        String token = Base64.getUrlEncoder().encodeToString("rating|ASC|1|4.5".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> BookCursor.decode(token))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
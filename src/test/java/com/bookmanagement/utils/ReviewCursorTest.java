@@ -0,0 +1,51 @@
+package com.bookmanagement.utils;
+
+import com.bookmanagement.dto.ReviewDTO;
+import com.bookmanagement.enums.ReviewSort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ReviewCursor Tests")
+class ReviewCursorTest {
+
+    private final ReviewDTO review = ReviewDTO.builder()
+            .id(42L)
+            .rating(4)
+            .createdAt(LocalDateTime.of(2024, 3, 5, 10, 15, 30, 123_000_000))
+            .build();
+
+    @Test
+    @DisplayName("Should round-trip a newest-first position without the rating")
+    void testEncodeDecode_Newest() {
+        ReviewCursor cursor = ReviewCursor.after(review, ReviewSort.NEWEST);
+        ReviewCursor decoded = ReviewCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.rating()).isNull();
+        assertThat(decoded.createdAt()).isEqualTo(review.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should round-trip a rating position")
+    void testEncodeDecode_Highest() {
+        ReviewCursor decoded = ReviewCursor.decode(ReviewCursor.after(review, ReviewSort.HIGHEST).encode());
+
+        assertThat(decoded).isEqualTo(new ReviewCursor(ReviewSort.HIGHEST, 4, review.getCreatedAt(), 42L));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens")
+    void testDecode_Invalid() {
+        String missingRating = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("LOWEST|1|2024-01-01T00:00|".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> ReviewCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ReviewCursor.decode(missingRating)).isInstanceOf(IllegalArgumentException.class);
+    }
+}